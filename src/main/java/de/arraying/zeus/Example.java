@@ -4,6 +4,7 @@ import de.arraying.zeus.backend.ZeusException;
 import de.arraying.zeus.backend.annotations.ZeusMethod;
 import de.arraying.zeus.runtime.ZeusRuntime;
 import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.runtime.ZeusScript;
 import de.arraying.zeus.runtime.ZeusTask;
 import de.arraying.zeus.utils.ZeusVariableUtil;
 import de.arraying.zeus.variable.VariableType;
@@ -74,8 +75,10 @@ public class Example {
             // be printed to the console, but it's essentially up to you.
             // Should you not want an error handler, you can set the parameter to null.
             // See the example.zeus file for the actual code.
-            ZeusTask task = runtime.evaluate(new File("example.zeus"), Throwable::printStackTrace);
-
+            // Should you want to run the same code more than once, compile it first and evaluate the script instead.
+            // A compiled script is only tokenized once and can be evaluated as often as you want, even concurrently.
+            ZeusScript script = runtime.compile(new File("example.zeus"));
+            ZeusTask task = runtime.evaluate(script, Throwable::printStackTrace);
         } catch(ZeusException exception) { // Exceptions can occur during the building process, too.
             exception.printStackTrace();
         }
@@ -26,7 +26,9 @@ public enum Keyword {
     CONTROL_END("end"),
     CONDITIONAL_IF("if"),
     CONDITIONAL_ELSE("else"),
-    CONDITIONAL_ELSE_IF("elif");
+    CONDITIONAL_ELSE_IF("elif"),
+    LOOP_WHILE("while"),
+    LOOP_FOR("for");
 
     /**
      * Checks whether or not a provided identifier is a keyword.
@@ -0,0 +1,146 @@
+package de.arraying.zeus.backend;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public final class MethodTarget {
+
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    static {
+        try {
+            WRAP_EXCEPTION = MethodHandles.lookup().findStatic(MethodTarget.class, "wrapException",
+                    MethodType.methodType(Object.class, Throwable.class));
+        } catch(NoSuchMethodException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final Method method;
+    private final Object container;
+    private final MethodHandle handle;
+
+    /**
+     * Creates a new method target and binds the method to its container.
+     * The resulting handle always takes an array of parameters and returns an object, regardless of the
+     * actual method signature, so that every invocation can use the same exact call site.
+     * @param method The method.
+     * @param container The instance of the class that declares the method.
+     * @throws IllegalStateException If the method is not accessible, which is checked when it is registered.
+     */
+    MethodTarget(Method method, Object container) {
+        this.method = method;
+        this.container = container;
+        try {
+            this.handle = bind(method, container);
+        } catch(IllegalAccessException exception) {
+            throw new IllegalStateException("The method " + method.getName() + " is not accessible.", exception);
+        }
+    }
+
+    /**
+     * Checks whether or not a method can be bound, for example a public method of a non-public class can not.
+     * @param method The method.
+     * @throws ZeusException If the method is not accessible.
+     */
+    public static void checkAccess(Method method)
+            throws ZeusException {
+        try {
+            MethodHandles.lookup().unreflect(method);
+        } catch(IllegalAccessException exception) {
+            throw new ZeusException("The provided method (" + method.getName() + ", " + method.getParameterCount() + " parameters) is not accessible.");
+        }
+    }
+
+    /**
+     * Gets the method.
+     * @return The method.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the method container.
+     * @return The instance the method is invoked on.
+     */
+    public Object getContainer() {
+        return container;
+    }
+
+    /**
+     * Invokes the method.
+     * @param parameters An array of parameters. For variable argument methods, these are the variable arguments.
+     * @param lineNumber The current line number, used in exception handling.
+     * @return The return value, or null if the method does not return anything.
+     * @throws ZeusException If the invocation fails.
+     */
+    public Object invoke(Object[] parameters, int lineNumber)
+            throws ZeusException {
+        try {
+            return (Object) handle.invokeExact(parameters);
+        } catch(InvocationTargetException exception) {
+            throw new ZeusException("Invoking the method caused an error.", lineNumber);
+        } catch(Error error) {
+            throw error;
+        } catch(Throwable throwable) {
+            throw new ZeusException("Encountered " + throwable.toString(), lineNumber);
+        }
+    }
+
+    /**
+     * Binds the method to the container and adapts it to take an array of parameters and return an object.
+     * Exceptions thrown by the method itself are wrapped in an invocation target exception, in order to
+     * tell them apart from exceptions caused by parameters of the wrong type.
+     * @param method The method.
+     * @param container The method container.
+     * @return The method handle.
+     * @throws IllegalAccessException If the method is not accessible.
+     */
+    private static MethodHandle bind(Method method, Object container)
+            throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if(method.isVarArgs()) {
+            handle = handle.asFixedArity();
+        }
+        handle = handle.bindTo(container);
+        MethodType type = handle.type();
+        MethodHandle wrap = WRAP_EXCEPTION.asType(MethodType.methodType(type.returnType(), Throwable.class));
+        handle = MethodHandles.catchException(handle, Throwable.class,
+                MethodHandles.dropArguments(wrap, 1, type.parameterList()));
+        if(!method.isVarArgs()) {
+            handle = handle.asSpreader(Object[].class, method.getParameterCount());
+        }
+        return handle.asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    /**
+     * Wraps an exception thrown by an invoked method.
+     * @param throwable The exception.
+     * @return Nothing, always throws.
+     * @throws InvocationTargetException Always.
+     */
+    private static Object wrapException(Throwable throwable)
+            throws InvocationTargetException {
+        throw new InvocationTargetException(throwable);
+    }
+
+}
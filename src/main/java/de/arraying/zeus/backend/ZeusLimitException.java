@@ -0,0 +1,91 @@
+package de.arraying.zeus.backend;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusLimitException extends ZeusException {
+
+    /**
+     * The resources a task can be limited in.
+     */
+    public enum Limit {
+
+        /**
+         * The amount of statements evaluated.
+         */
+        STATEMENTS("statements evaluated"),
+
+        /**
+         * The amount of methods invoked.
+         */
+        INVOCATIONS("methods invoked"),
+
+        /**
+         * The amount of bytes of all strings returned by methods, two bytes per character.
+         */
+        STRING_BYTES("string bytes allocated"),
+
+        /**
+         * The amount of variables declared, predefined variables are not included.
+         */
+        VARIABLES("variables declared");
+
+        private final String description;
+
+        /**
+         * Sets the description used in exception messages.
+         * @param description The description.
+         */
+        Limit(String description) {
+            this.description = description;
+        }
+
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final Limit limit;
+    private final long maximum;
+
+    /**
+     * Creates a new limit exception.
+     * It is thrown once a task exceeds one of its limits, which aborts the task.
+     * @param limit The limit that was exceeded.
+     * @param maximum The maximum.
+     * @param lineNumber The line number.
+     */
+    public ZeusLimitException(Limit limit, long maximum, int lineNumber) {
+        super("The task exceeded the maximum amount of " + limit.description + " (" + maximum + ").", lineNumber);
+        this.limit = limit;
+        this.maximum = maximum;
+    }
+
+    /**
+     * Gets the limit that was exceeded.
+     * @return The limit.
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the maximum of the limit.
+     * @return The maximum.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+}
@@ -1,16 +1,13 @@
 package de.arraying.zeus.backend;
 
+import de.arraying.zeus.backend.expression.CallExpression;
+import de.arraying.zeus.backend.expression.Expression;
 import de.arraying.zeus.impl.ZeusTaskImpl;
 import de.arraying.zeus.token.Token;
 import de.arraying.zeus.utils.ZeusVariableUtil;
-import de.arraying.zeus.variable.ZeusVariable;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  * Copyright 2017 Arraying
@@ -70,6 +67,7 @@ public class ZeusMethod {
 
     /**
      * Processes the method.
+     * The line is parsed into an expression tree once, subsequent invocations reuse that tree.
      * @param task The current task, used to retrieve variables and methods.
      * @param rawTokens An array of all the line's tokens.
      * @param lineNumber The current line number, used in exception handling.
@@ -78,88 +76,11 @@ public class ZeusMethod {
      */
     public static ZeusMethod processMethod(ZeusTaskImpl task, Token[] rawTokens, int lineNumber)
             throws ZeusException {
-        Token[] tokens = Arrays.copyOfRange(rawTokens, 2, rawTokens.length-1);
-        List<Object> parameters = new LinkedList<>();
-        boolean expectingComma = false;
-        for(int i = 0; i < tokens.length; i++) {
-            Token token = tokens[i];
-            if(expectingComma) {
-                if(!isComma(token)) {
-                    throw new ZeusException("Expected comma in the parameters of the method invocation.", lineNumber);
-                } else {
-                    expectingComma = false;
-                    continue;
-                }
-            }
-            Object value;
-            if(token.getType() == Patterns.IDENTIFIER) {
-                int next = nextBracket(i, tokens);
-                if(i + 1 < tokens.length
-                        &&isBracket(tokens[i + 1], true)
-                        && next != -1) {
-                    Token[] method = Arrays.copyOfRange(tokens, i, next + 1);
-                    ZeusMethod result = processMethod(task, method, lineNumber);
-                    if(result.getReturnValue() == null) {
-                        throw new ZeusException("The embedded method provided in the method illegally returned null.", lineNumber);
-                    }
-                    value = result.getReturnValue();
-                    i = next;
-                } else {
-                    ZeusVariable variable = task.getVariable(token.getToken());
-                    if(variable == null) {
-                        throw new ZeusException("The variable \"" + token.getToken() + "\" defined in the method parameters does not exist.", lineNumber);
-                    }
-                    value = variable.value();
-                }
-            } else {
-                if(!token.getType().isDataType()) {
-                    throw new ZeusException("Expected a type value, found other token instead (\"" + token.getToken() + "\").", lineNumber);
-                }
-                Object givenValue = ZeusVariableUtil.getVariableValue(token);
-                if(givenValue == null) {
-                    throw new ZeusException("The value given as one of the method parameters is invalid (\"" + token.getToken() + "\").", lineNumber);
-                }
-                value = givenValue;
-            }
-            parameters.add(value);
-            expectingComma = true;
-        }
-        String identifier = rawTokens[0].getToken();
-        Method method = task.getMethod(identifier, parameters.size());
-        if(method == null) {
-            method = task.getMethod(identifier, ZeusMethods.VARARGS_INDEX);
-            if(method == null) {
-                throw new ZeusException("A method with the identifier \"" + identifier + "\" and " + parameters.size() + " parameter(s) does not exist.", lineNumber);
-            }
-        }
-        try {
-            Object[] params = parameters.toArray(new Object[parameters.size()]);
-            Object invocationObject = task.getMethodContainer(method);
-            if(invocationObject == null) {
-                throw new ZeusException("Internal error; method container returned null.", lineNumber);
-            }
-            Object returnValue;
-            if(!method.isVarArgs()) {
-                returnValue = method.invoke(invocationObject, (Object[]) params);
-            } else {
-                returnValue = method.invoke(invocationObject, (Object) params);
-            }
-            return new ZeusMethod(returnValue);
-        } catch(IllegalAccessException | IllegalArgumentException exception) {
-            throw new ZeusException("Encountered " + exception.toString(), lineNumber);
-        } catch(InvocationTargetException exception) {
-            throw new ZeusException("Invoking the method caused an error.", lineNumber);
+        Expression expression = task.getExpression(rawTokens, 0, lineNumber);
+        if(!(expression instanceof CallExpression)) {
+            throw new ZeusException("Expected a method invocation.", lineNumber);
         }
-    }
-
-    /**
-     * Whether or not the provided token is a comma.
-     * @param token The token.
-     * @return True if it is, false otherwise.
-     */
-    private static boolean isComma(Token token) {
-        return token.getType() == Patterns.TOKEN
-                && token.getToken().equals(",");
+        return new ZeusMethod(expression.evaluate(task));
     }
 
     /**
@@ -174,28 +95,6 @@ public class ZeusMethod {
                 && token.getToken().equals(bracket);
     }
 
-    /**
-     * Gets the next closed bracket.
-     * @param current The current index concerning the token iteration during method processing.
-     * @param tokens An array of tokens (sub array).
-     * @return The index of the next bracket, or -1 if it does not exist.
-     */
-    private static int nextBracket(int current, Token[] tokens) {
-        int open = 0;
-        int closed = 0;
-        for(int i = current; i < tokens.length; i++) {
-            Token token = tokens[i];
-            if(isBracket(token, true)) {
-                open++;
-            }
-            if(isBracket(token, false)
-                    && ++closed >= open) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
     private final Object returnValue;
 
     /**
@@ -27,19 +27,20 @@ public class ZeusMethods {
      */
     static final int VARARGS_INDEX = -1;
 
-    private final Map<String, Map<Integer, Method>> methods = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, MethodTarget>> methods = new ConcurrentHashMap<>();
     private final Map<Method, Object> methodContainers;
 
     /**
      * Creates a method collection object.
+     * Every method is bound to its container once, here.
      * @param methods A set of all registered methods.
      * @param methodContainers A map of all method containers.
      */
     public ZeusMethods(Set<Method> methods, Map<Method, Object> methodContainers) {
+        this.methodContainers = methodContainers;
         for(Method method : methods) {
             registerMethod(method);
         }
-        this.methodContainers = methodContainers;
     }
 
     /**
@@ -49,13 +50,39 @@ public class ZeusMethods {
      * @return A Method object if it exists, null otherwise.
      */
     public Method getMethod(String name, int parameterCount) {
-        Map<Integer, Method> methods = this.methods.get(name);
+        MethodTarget target = getTarget(name, parameterCount);
+        return target == null ? null : target.getMethod();
+    }
+
+    /**
+     * Gets the bound target of a method.
+     * @param name The identifier of the method.
+     * @param parameterCount The parameter count.
+     * @return A MethodTarget object if it exists, null otherwise.
+     */
+    public MethodTarget getTarget(String name, int parameterCount) {
+        Map<Integer, MethodTarget> methods = this.methods.get(name);
         if(methods == null) {
             return null;
         }
         return methods.get(parameterCount);
     }
 
+    /**
+     * Resolves the target for a method invocation.
+     * Methods with the exact parameter count take precedence over variable argument methods.
+     * @param name The identifier of the method.
+     * @param parameterCount The amount of parameters passed in the invocation.
+     * @return A MethodTarget object if a matching method exists, null otherwise.
+     */
+    public MethodTarget resolve(String name, int parameterCount) {
+        MethodTarget target = getTarget(name, parameterCount);
+        if(target == null) {
+            target = getTarget(name, VARARGS_INDEX);
+        }
+        return target;
+    }
+
     /**
      * Gets the container of a method.
      * @param method The method.
@@ -74,8 +101,8 @@ public class ZeusMethods {
         if(methods.get(name) == null) {
             methods.put(name, new ConcurrentHashMap<>());
         }
-        int params = method.isVarArgs() ? -1 : method.getParameterCount();
-        methods.get(name).put(params, method);
+        int params = method.isVarArgs() ? VARARGS_INDEX : method.getParameterCount();
+        methods.get(name).put(params, new MethodTarget(method, methodContainers.get(method)));
     }
 
 }
@@ -0,0 +1,31 @@
+package de.arraying.zeus.backend.compiler;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class ClassLimitException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new exception for a script whose class would exceed a limit of the class file format,
+     * such as the size of a method or the constant pool. Such a script stays interpreted.
+     * @param message The exception message.
+     */
+    ClassLimitException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,297 @@
+package de.arraying.zeus.backend.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class ClassWriter {
+
+    /**
+     * The class file version. Version 49 does not require stack map frames, so none are written.
+     */
+    private static final int VERSION = 49;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndices = new HashMap<>();
+    private final ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+    private final DataOutputStream fields = new DataOutputStream(fieldBytes);
+    private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+    private final DataOutputStream methods = new DataOutputStream(methodBytes);
+    private int poolSize = 1;
+    private int fieldCount = 0;
+    private int methodCount = 0;
+
+    /**
+     * Adds a UTF-8 entry to the constant pool.
+     * @param value The string.
+     * @return The index of the entry.
+     */
+    int utf8(String value) {
+        Integer index = poolIndices.get("U" + value);
+        if(index != null) {
+            return index;
+        }
+        try {
+            pool.writeByte(1);
+            pool.writeUTF(value);
+        } catch(IOException exception) {
+            throw new IllegalStateException("The constant \"" + value + "\" can not be written.", exception);
+        }
+        return register("U" + value, 1);
+    }
+
+    /**
+     * Adds a class entry to the constant pool.
+     * @param internalName The internal name of the class, for example "java/lang/Object".
+     * @return The index of the entry.
+     */
+    int classReference(String internalName) {
+        return reference("C", 7, utf8(internalName), -1);
+    }
+
+    /**
+     * Adds a string entry to the constant pool.
+     * @param value The string.
+     * @return The index of the entry.
+     */
+    int string(String value) {
+        return reference("S", 8, utf8(value), -1);
+    }
+
+    /**
+     * Adds an integer entry to the constant pool.
+     * @param value The integer.
+     * @return The index of the entry.
+     */
+    int integer(int value) {
+        Integer index = poolIndices.get("I" + value);
+        if(index != null) {
+            return index;
+        }
+        write(3, value);
+        return register("I" + value, 1);
+    }
+
+    /**
+     * Adds a long entry to the constant pool.
+     * @param value The long.
+     * @return The index of the entry.
+     */
+    int longValue(long value) {
+        Integer index = poolIndices.get("J" + value);
+        if(index != null) {
+            return index;
+        }
+        write(5, value);
+        return register("J" + value, 2);
+    }
+
+    /**
+     * Adds a double entry to the constant pool.
+     * @param value The double.
+     * @return The index of the entry.
+     */
+    int doubleValue(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        Integer index = poolIndices.get("D" + bits);
+        if(index != null) {
+            return index;
+        }
+        write(6, bits);
+        return register("D" + bits, 2);
+    }
+
+    /**
+     * Adds a field reference to the constant pool.
+     * @param owner The internal name of the class declaring the field.
+     * @param name The field name.
+     * @param descriptor The field descriptor.
+     * @return The index of the entry.
+     */
+    int field(String owner, String name, String descriptor) {
+        return reference("F", 9, classReference(owner), nameAndType(name, descriptor));
+    }
+
+    /**
+     * Adds a method reference to the constant pool.
+     * @param owner The internal name of the class declaring the method.
+     * @param name The method name.
+     * @param descriptor The method descriptor.
+     * @param isInterface Whether or not the owner is an interface.
+     * @return The index of the entry.
+     */
+    int method(String owner, String name, String descriptor, boolean isInterface) {
+        return reference(isInterface ? "N" : "M", isInterface ? 11 : 10, classReference(owner), nameAndType(name, descriptor));
+    }
+
+    /**
+     * Adds a field to the class.
+     * @param access The access flags.
+     * @param name The field name.
+     * @param descriptor The field descriptor.
+     */
+    void addField(int access, String name, String descriptor) {
+        try {
+            fields.writeShort(access);
+            fields.writeShort(utf8(name));
+            fields.writeShort(utf8(descriptor));
+            fields.writeShort(0);
+        } catch(IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        fieldCount++;
+    }
+
+    /**
+     * Adds a method to the class.
+     * @param access The access flags.
+     * @param name The method name.
+     * @param descriptor The method descriptor.
+     * @param code The code of the method.
+     */
+    void addMethod(int access, String name, String descriptor, MethodWriter code) {
+        byte[] attribute = code.toAttribute();
+        try {
+            methods.writeShort(access);
+            methods.writeShort(utf8(name));
+            methods.writeShort(utf8(descriptor));
+            methods.writeShort(1);
+            methods.writeShort(utf8("Code"));
+            methods.writeInt(attribute.length);
+            methods.write(attribute);
+        } catch(IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        methodCount++;
+    }
+
+    /**
+     * Assembles the class file.
+     * @param access The access flags of the class.
+     * @param name The internal name of the class.
+     * @param superName The internal name of the super class.
+     * @param interfaces An array of internal names of the implemented interfaces.
+     * @return The class file.
+     */
+    byte[] toByteArray(int access, String name, String superName, String... interfaces) {
+        int thisIndex = classReference(name);
+        int superIndex = classReference(superName);
+        int[] interfaceIndices = new int[interfaces.length];
+        for(int i = 0; i < interfaces.length; i++) {
+            interfaceIndices[i] = classReference(interfaces[i]);
+        }
+        if(poolSize > 0xFFFF) {
+            throw new ClassLimitException("The constant pool of the class is too large.");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            out.writeShort(poolSize);
+            poolBytes.writeTo(out);
+            out.writeShort(access);
+            out.writeShort(thisIndex);
+            out.writeShort(superIndex);
+            out.writeShort(interfaces.length);
+            for(int index : interfaceIndices) {
+                out.writeShort(index);
+            }
+            out.writeShort(fieldCount);
+            fieldBytes.writeTo(out);
+            out.writeShort(methodCount);
+            methodBytes.writeTo(out);
+            out.writeShort(0);
+        } catch(IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Adds an entry that references up to two other entries to the constant pool.
+     * @param prefix The prefix used to deduplicate entries of this kind.
+     * @param tag The constant pool tag.
+     * @param first The first referenced index.
+     * @param second The second referenced index, or -1 if there is none.
+     * @return The index of the entry.
+     */
+    private int reference(String prefix, int tag, int first, int second) {
+        String key = prefix + first + ":" + second;
+        Integer index = poolIndices.get(key);
+        if(index != null) {
+            return index;
+        }
+        try {
+            pool.writeByte(tag);
+            pool.writeShort(first);
+            if(second != -1) {
+                pool.writeShort(second);
+            }
+        } catch(IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return register(key, 1);
+    }
+
+    /**
+     * Adds a name and type entry to the constant pool.
+     * @param name The name.
+     * @param descriptor The descriptor.
+     * @return The index of the entry.
+     */
+    private int nameAndType(String name, String descriptor) {
+        return reference("T", 12, utf8(name), utf8(descriptor));
+    }
+
+    /**
+     * Writes a numeric constant pool entry.
+     * @param tag The constant pool tag.
+     * @param value The value, written as an int for tag 3 and as a long otherwise.
+     */
+    private void write(int tag, long value) {
+        try {
+            pool.writeByte(tag);
+            if(tag == 3) {
+                pool.writeInt((int) value);
+            } else {
+                pool.writeLong(value);
+            }
+        } catch(IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Registers a new constant pool entry.
+     * @param key The key used to deduplicate the entry.
+     * @param size The amount of indices the entry takes up.
+     * @return The index of the entry.
+     */
+    private int register(String key, int size) {
+        int index = poolSize;
+        poolIndices.put(key, index);
+        poolSize += size;
+        return index;
+    }
+
+}
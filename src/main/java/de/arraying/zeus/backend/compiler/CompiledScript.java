@@ -0,0 +1,31 @@
+package de.arraying.zeus.backend.compiler;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface CompiledScript {
+
+    /**
+     * Executes the script from the first line to the last.
+     * Between lines the task is checked, execution stops as soon as it has been killed.
+     * @param task The task to execute the script in.
+     * @throws ZeusException If an error occurs.
+     */
+    void execute(ZeusTaskImpl task) throws ZeusException;
+
+}
@@ -0,0 +1,56 @@
+package de.arraying.zeus.backend.compiler;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public final class CompilerSupport {
+
+    /**
+     * Creates the exception for a method parameter of the wrong type.
+     * The message is the same one a method target reports, so compiled and interpreted scripts fail identically.
+     * @param value The parameter.
+     * @param type The name of the parameter type.
+     * @param lineNumber The line number.
+     * @return The exception.
+     */
+    public static ZeusException castError(Object value, String type, int lineNumber) {
+        ClassCastException exception = new ClassCastException("Cannot cast " + value.getClass().getName() + " to " + type);
+        return new ZeusException("Encountered " + exception.toString(), lineNumber);
+    }
+
+    /**
+     * Checks that a variable has been declared before it is reassigned.
+     * @param task The task.
+     * @param slot The slot of the variable.
+     * @param identifier The variable identifier.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the variable does not exist.
+     */
+    public static void checkDeclared(ZeusTaskImpl task, int slot, String identifier, int lineNumber)
+            throws ZeusException {
+        if(!task.isDeclared(slot)) {
+            throw new ZeusException("Cannot update non-existent variable \"" + identifier + "\".", lineNumber);
+        }
+    }
+
+    /**
+     * Not instantiable.
+     */
+    private CompilerSupport() {}
+
+}
@@ -0,0 +1,533 @@
+package de.arraying.zeus.backend.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class MethodWriter {
+
+    static final int ACONST_NULL = 1;
+    static final int ICONST_0 = 3;
+    static final int ICONST_1 = 4;
+    static final int LCONST_0 = 9;
+    static final int BIPUSH = 16;
+    static final int SIPUSH = 17;
+    static final int LDC = 18;
+    static final int LDC_W = 19;
+    static final int LDC2_W = 20;
+    static final int ILOAD = 21;
+    static final int ALOAD = 25;
+    static final int AALOAD = 50;
+    static final int ISTORE = 54;
+    static final int ASTORE = 58;
+    static final int AASTORE = 83;
+    static final int POP = 87;
+    static final int POP2 = 88;
+    static final int DUP = 89;
+    static final int DUP2 = 92;
+    static final int SWAP = 95;
+    static final int IADD = 96;
+    static final int LADD = 97;
+    static final int DADD = 99;
+    static final int ISUB = 100;
+    static final int LSUB = 101;
+    static final int DSUB = 103;
+    static final int IMUL = 104;
+    static final int LMUL = 105;
+    static final int DMUL = 107;
+    static final int IDIV = 108;
+    static final int LDIV = 109;
+    static final int DDIV = 111;
+    static final int IREM = 112;
+    static final int LREM = 113;
+    static final int DREM = 115;
+    static final int I2L = 133;
+    static final int IXOR = 130;
+    static final int L2I = 136;
+    static final int LCMP = 148;
+    static final int DCMPL = 151;
+    static final int DCMPG = 152;
+    static final int IFEQ = 153;
+    static final int IFNE = 154;
+    static final int IFLT = 155;
+    static final int IFGE = 156;
+    static final int IFGT = 157;
+    static final int IFLE = 158;
+    static final int IF_ICMPNE = 160;
+    static final int IF_ICMPLT = 161;
+    static final int IF_ICMPGE = 162;
+    static final int IF_ICMPGT = 163;
+    static final int IF_ICMPLE = 164;
+    static final int IF_ACMPEQ = 165;
+    static final int IF_ACMPNE = 166;
+    static final int GOTO = 167;
+    static final int IRETURN = 172;
+    static final int ARETURN = 176;
+    static final int RETURN = 177;
+    static final int GETSTATIC = 178;
+    static final int GETFIELD = 180;
+    static final int PUTFIELD = 181;
+    static final int INVOKEVIRTUAL = 182;
+    static final int INVOKESPECIAL = 183;
+    static final int INVOKESTATIC = 184;
+    static final int INVOKEINTERFACE = 185;
+    static final int NEW = 187;
+    static final int ANEWARRAY = 189;
+    static final int ATHROW = 191;
+    static final int CHECKCAST = 192;
+    static final int INSTANCEOF = 193;
+    static final int IFNULL = 198;
+    static final int IFNONNULL = 199;
+
+    /**
+     * The maximum code length. Branch offsets are written as signed 16 bit values, longer methods are not supported.
+     */
+    private static final int MAXIMUM_LENGTH = Short.MAX_VALUE;
+
+    private final ClassWriter owner;
+    private final List<Label[]> handlers = new ArrayList<>();
+    private final List<Integer> handlerTypes = new ArrayList<>();
+    private byte[] code = new byte[256];
+    private int length = 0;
+    private int stack = 0;
+    private int maxStack = 0;
+    private int locals;
+    private int maxLocals;
+    private boolean reachable = true;
+
+    /**
+     * Creates a new method writer.
+     * @param owner The class writer, used to create constant pool entries.
+     * @param parameterSize The size of the parameters, including the receiver, in local variable slots.
+     */
+    MethodWriter(ClassWriter owner, int parameterSize) {
+        this.owner = owner;
+        this.locals = parameterSize;
+        this.maxLocals = parameterSize;
+    }
+
+    /**
+     * Emits an instruction without operands.
+     * @param opcode The opcode.
+     */
+    void instruction(int opcode) {
+        write(opcode);
+        switch(opcode) {
+            case ACONST_NULL:
+            case ICONST_0:
+            case ICONST_1:
+            case DUP:
+            case I2L:
+                adjust(1);
+                break;
+            case LCONST_0:
+            case DUP2:
+                adjust(2);
+                break;
+            case POP:
+            case AALOAD:
+            case IADD:
+            case ISUB:
+            case IMUL:
+            case IDIV:
+            case IREM:
+            case IXOR:
+            case L2I:
+                adjust(-1);
+                break;
+            case POP2:
+            case LADD:
+            case LSUB:
+            case LMUL:
+            case LDIV:
+            case DADD:
+            case DSUB:
+            case DMUL:
+            case DDIV:
+            case LREM:
+            case DREM:
+                adjust(-2);
+                break;
+            case AASTORE:
+            case LCMP:
+            case DCMPL:
+            case DCMPG:
+                adjust(-3);
+                break;
+            case IRETURN:
+            case ARETURN:
+            case ATHROW:
+                adjust(-1);
+                reachable = false;
+                break;
+            case RETURN:
+                reachable = false;
+                break;
+            case SWAP:
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported instruction " + opcode + ".");
+        }
+    }
+
+    /**
+     * Pushes an integer constant.
+     * @param value The integer.
+     */
+    void pushInt(int value) {
+        if(value >= -1
+                && value <= 5) {
+            write(ICONST_0 + value);
+        } else if(value >= Byte.MIN_VALUE
+                && value <= Byte.MAX_VALUE) {
+            write(BIPUSH);
+            write(value);
+        } else if(value >= Short.MIN_VALUE
+                && value <= Short.MAX_VALUE) {
+            write(SIPUSH);
+            writeShort(value);
+        } else {
+            constant(owner.integer(value), false);
+            return;
+        }
+        adjust(1);
+    }
+
+    /**
+     * Pushes a long constant.
+     * @param value The long.
+     */
+    void pushLong(long value) {
+        constant(owner.longValue(value), true);
+    }
+
+    /**
+     * Pushes a double constant.
+     * @param value The double.
+     */
+    void pushDouble(double value) {
+        constant(owner.doubleValue(value), true);
+    }
+
+    /**
+     * Pushes a string constant.
+     * @param value The string.
+     */
+    void pushString(String value) {
+        constant(owner.string(value), false);
+    }
+
+    /**
+     * Emits a local variable instruction.
+     * @param opcode Either ILOAD, ALOAD, ISTORE or ASTORE.
+     * @param local The local variable index.
+     */
+    void local(int opcode, int local) {
+        if(local > 0xFF) {
+            throw new ClassLimitException("Too many local variables.");
+        }
+        write(opcode);
+        write(local);
+        adjust(opcode == ILOAD || opcode == ALOAD ? 1 : -1);
+    }
+
+    /**
+     * Emits a field instruction.
+     * @param opcode Either GETSTATIC, GETFIELD or PUTFIELD.
+     * @param owner The internal name of the class declaring the field.
+     * @param name The field name.
+     * @param descriptor The field descriptor.
+     */
+    void field(int opcode, String owner, String name, String descriptor) {
+        write(opcode);
+        writeShort(this.owner.field(owner, name, descriptor));
+        int size = size(descriptor.charAt(0));
+        switch(opcode) {
+            case GETSTATIC:
+                adjust(size);
+                break;
+            case GETFIELD:
+                adjust(size - 1);
+                break;
+            default:
+                adjust(-size - 1);
+                break;
+        }
+    }
+
+    /**
+     * Emits a method invocation.
+     * @param opcode Either INVOKEVIRTUAL, INVOKESPECIAL, INVOKESTATIC or INVOKEINTERFACE.
+     * @param owner The internal name of the class declaring the method.
+     * @param name The method name.
+     * @param descriptor The method descriptor.
+     */
+    void invoke(int opcode, String owner, String name, String descriptor) {
+        write(opcode);
+        writeShort(this.owner.method(owner, name, descriptor, opcode == INVOKEINTERFACE));
+        int arguments = 0;
+        int index = 1;
+        while(descriptor.charAt(index) != ')') {
+            char type = descriptor.charAt(index);
+            arguments += size(type);
+            while(descriptor.charAt(index) == '[') {
+                index++;
+            }
+            if(descriptor.charAt(index) == 'L') {
+                index = descriptor.indexOf(';', index);
+            }
+            index++;
+        }
+        if(opcode == INVOKEINTERFACE) {
+            write(arguments + 1);
+            write(0);
+        }
+        adjust(size(descriptor.charAt(index + 1)) - arguments - (opcode == INVOKESTATIC ? 0 : 1));
+    }
+
+    /**
+     * Emits a type instruction.
+     * @param opcode Either NEW, ANEWARRAY, CHECKCAST or INSTANCEOF.
+     * @param internalName The internal name of the class.
+     */
+    void type(int opcode, String internalName) {
+        write(opcode);
+        writeShort(owner.classReference(internalName));
+        if(opcode == NEW) {
+            adjust(1);
+        }
+    }
+
+    /**
+     * Emits a jump.
+     * @param opcode The jump opcode.
+     * @param label The target.
+     */
+    void jump(int opcode, Label label) {
+        int start = length;
+        write(opcode);
+        writeShort(0);
+        if(opcode >= IF_ICMPNE
+                && opcode <= IF_ACMPNE) {
+            adjust(-2);
+        } else if(opcode != GOTO) {
+            adjust(-1);
+        }
+        label.references.add(new int[] {start, start + 1});
+        if(label.position != -1) {
+            patch(label, start, start + 1);
+        }
+        label.stack = stack;
+        if(opcode == GOTO) {
+            reachable = false;
+        }
+    }
+
+    /**
+     * Places a label at the current position.
+     * Should the current position not be reachable by falling through, the stack height is the one of the jumps to the label.
+     * A label that is neither jumped to nor used as an exception handler does not make the position reachable.
+     * @param label The label.
+     */
+    void mark(Label label) {
+        label.position = length;
+        for(int[] reference : label.references) {
+            patch(label, reference[0], reference[1]);
+        }
+        if(reachable) {
+            label.stack = stack;
+        } else if(label.stack != -1) {
+            stack = label.stack;
+            reachable = true;
+        }
+    }
+
+    /**
+     * Registers an exception handler.
+     * @param start The label at the start of the protected range (inclusive).
+     * @param end The label at the end of the protected range (exclusive).
+     * @param handler The label of the handler, the stack only contains the exception when it is reached.
+     * The handler has to be registered before its label is placed.
+     * @param type The internal name of the caught exception type.
+     */
+    void handler(Label start, Label end, Label handler, String type) {
+        handlers.add(new Label[] {start, end, handler});
+        handlerTypes.add(owner.classReference(type));
+        handler.stack = 1;
+    }
+
+    /**
+     * Whether or not the current position can be reached.
+     * @return True if it can, false if the previous instruction never falls through.
+     */
+    boolean isReachable() {
+        return reachable;
+    }
+
+    /**
+     * Gets the length of the code emitted so far.
+     * @return The length in bytes.
+     */
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * Allocates a local variable, which holds a single slot value.
+     * @return The index of the local variable.
+     */
+    int allocateLocal() {
+        int local = locals++;
+        maxLocals = Math.max(maxLocals, locals);
+        return local;
+    }
+
+    /**
+     * Gets the amount of allocated local variables, in order to release them later.
+     * @return The amount.
+     */
+    int getLocals() {
+        return locals;
+    }
+
+    /**
+     * Releases all local variables allocated after the mark.
+     * @param mark The amount of local variables to keep.
+     */
+    void releaseLocals(int mark) {
+        locals = mark;
+    }
+
+    /**
+     * Creates the code attribute, excluding the attribute name and length.
+     * @return The attribute bytes.
+     */
+    byte[] toAttribute() {
+        if(length > MAXIMUM_LENGTH) {
+            throw new ClassLimitException("The method is too large.");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(length);
+            out.write(code, 0, length);
+            out.writeShort(handlers.size());
+            for(int i = 0; i < handlers.size(); i++) {
+                Label[] handler = handlers.get(i);
+                out.writeShort(handler[0].position);
+                out.writeShort(handler[1].position);
+                out.writeShort(handler[2].position);
+                out.writeShort(handlerTypes.get(i));
+            }
+            out.writeShort(0);
+        } catch(IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Pushes a constant pool entry.
+     * @param index The constant pool index.
+     * @param wide Whether or not the constant is a long or double.
+     */
+    private void constant(int index, boolean wide) {
+        if(wide) {
+            write(LDC2_W);
+            writeShort(index);
+            adjust(2);
+            return;
+        }
+        if(index <= 0xFF) {
+            write(LDC);
+            write(index);
+        } else {
+            write(LDC_W);
+            writeShort(index);
+        }
+        adjust(1);
+    }
+
+    /**
+     * Writes a branch offset.
+     * @param label The target label.
+     * @param instruction The position of the jump instruction.
+     * @param offset The position of the offset.
+     */
+    private void patch(Label label, int instruction, int offset) {
+        int distance = label.position - instruction;
+        if(distance < Short.MIN_VALUE
+                || distance > Short.MAX_VALUE) {
+            throw new ClassLimitException("The method is too large.");
+        }
+        code[offset] = (byte) (distance >> 8);
+        code[offset + 1] = (byte) distance;
+    }
+
+    /**
+     * Changes the stack height.
+     * @param delta The change.
+     */
+    private void adjust(int delta) {
+        stack += delta;
+        maxStack = Math.max(maxStack, stack);
+    }
+
+    /**
+     * Writes a byte.
+     * @param value The byte.
+     */
+    private void write(int value) {
+        if(length == code.length) {
+            code = Arrays.copyOf(code, code.length * 2);
+        }
+        code[length++] = (byte) value;
+    }
+
+    /**
+     * Writes a short.
+     * @param value The short.
+     */
+    private void writeShort(int value) {
+        write(value >> 8);
+        write(value);
+    }
+
+    /**
+     * Gets the size of a type in local variable or stack slots.
+     * @param type The first character of the type descriptor.
+     * @return 2 for longs and doubles, 0 for void and 1 otherwise.
+     */
+    private static int size(char type) {
+        switch(type) {
+            case 'J':
+            case 'D':
+                return 2;
+            case 'V':
+                return 0;
+            default:
+                return 1;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package de.arraying.zeus.backend.compiler;
+
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class ScriptClassLoader extends ClassLoader {
+
+    private final Map<String, Class<?>> classes;
+
+    /**
+     * Creates a new class loader for a single compiled script.
+     * Every script gets its own loader, so the class can be unloaded together with the script.
+     * @param classes A map of class names to the classes the compiled script references directly,
+     * such as the method containers. All other classes are loaded by the class loader of Zeus.
+     */
+    ScriptClassLoader(Map<String, Class<?>> classes) {
+        super(ScriptClassLoader.class.getClassLoader());
+        this.classes = classes;
+    }
+
+    /**
+     * Loads a class.
+     * @param name The binary name of the class.
+     * @param resolve Whether or not to resolve the class.
+     * @return The class.
+     * @throws ClassNotFoundException If the class could not be found.
+     */
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException {
+        Class<?> type = classes.get(name);
+        return type == null ? super.loadClass(name, resolve) : type;
+    }
+
+    /**
+     * Defines the class of the compiled script.
+     * @param name The binary name of the class.
+     * @param bytes The class file.
+     * @return The class.
+     */
+    Class<?> define(String name, byte[] bytes) {
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+}
@@ -0,0 +1,1498 @@
+package de.arraying.zeus.backend.compiler;
+
+import de.arraying.zeus.backend.Keyword;
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusMethod;
+import de.arraying.zeus.backend.expression.ArithmeticExpression;
+import de.arraying.zeus.backend.expression.CallExpression;
+import de.arraying.zeus.backend.expression.ComparisonExpression;
+import de.arraying.zeus.backend.expression.EqualityExpression;
+import de.arraying.zeus.backend.expression.Expression;
+import de.arraying.zeus.backend.expression.LiteralExpression;
+import de.arraying.zeus.backend.expression.LogicExpression;
+import de.arraying.zeus.backend.expression.VariableExpression;
+import de.arraying.zeus.impl.ZeusLine;
+import de.arraying.zeus.standard.component.ZeusComponent;
+import de.arraying.zeus.standard.component.components.MethodComponent;
+import de.arraying.zeus.standard.component.components.VariableComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseIfComponent;
+import de.arraying.zeus.standard.component.components.condition.IfComponent;
+import de.arraying.zeus.standard.component.components.control.EndComponent;
+import de.arraying.zeus.standard.component.components.control.SleepComponent;
+import de.arraying.zeus.standard.component.components.control.StopComponent;
+import de.arraying.zeus.standard.component.components.loop.ForComponent;
+import de.arraying.zeus.standard.component.components.loop.WhileComponent;
+import de.arraying.zeus.token.Token;
+import de.arraying.zeus.utils.ZeusUtil;
+import de.arraying.zeus.variable.VariableType;
+import de.arraying.zeus.variable.VariableValues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public final class ScriptCompiler {
+
+    private static final String CLASS_NAME = "de/arraying/zeus/backend/compiler/GeneratedScript";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String OBJECT_ARRAY = "[Ljava/lang/Object;";
+    private static final String TASK = "de/arraying/zeus/impl/ZeusTaskImpl";
+    private static final String EXPRESSION = "de/arraying/zeus/backend/expression/Expression";
+    private static final String EXCEPTION = "de/arraying/zeus/backend/ZeusException";
+    private static final String SUPPORT = "de/arraying/zeus/backend/compiler/CompilerSupport";
+    private static final String VARIABLE_TYPE = "de/arraying/zeus/variable/VariableType";
+    private static final String VARIABLE_VALUES = "de/arraying/zeus/variable/VariableValues";
+    private static final String PART_DESCRIPTOR = "(L" + TASK + ";)Z";
+    private static final String METHOD_ERROR = "Invoking the method caused an error.";
+    private static final String VALUE_NULL = "The method in declaration returned null.";
+    private static final String PARAMETER_NULL = "The embedded method provided in the method illegally returned null.";
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int PART_LENGTH = 6000;
+    private static final int MISMATCH = 0;
+    private static final int MATCH = 1;
+    private static final int PROBE = 2;
+    private static final List<Class<?>> STANDARD_COMPONENTS = Arrays.asList(
+            ElseComponent.class,
+            ElseIfComponent.class,
+            IfComponent.class,
+            EndComponent.class,
+            MethodComponent.class,
+            SleepComponent.class,
+            StopComponent.class,
+            VariableComponent.class,
+            WhileComponent.class,
+            ForComponent.class
+    );
+
+    /**
+     * Compiles a script into a class.
+     * The generated code behaves exactly like the interpreter: conditions become jumps, values are computed
+     * with primitives wherever the types allow it and methods are invoked directly if they are public.
+     * Lines the compiler does not handle itself, such as sleep and stop, invoke their component.
+     * Scripts can only be compiled if every registered component is a standard component, since custom
+     * components could claim arbitrary lines. Whether or not a script can be compiled is decided before any
+     * code is emitted, the only exception being scripts whose class would exceed a limit of the class file format.
+     * Any other failure, including a class that does not pass verification, is a bug and is thrown.
+     * @param lines An array of lines, with null representing a line that has nothing to evaluate.
+     * @param components An array of all registered components.
+     * @return The compiled script, or null if the script can not be compiled.
+     */
+    public static CompiledScript compile(ZeusLine[] lines, ZeusComponent[] components) {
+        for(ZeusComponent component : components) {
+            if(!STANDARD_COMPONENTS.contains(component.getClass())) {
+                return null;
+            }
+        }
+        List<Node> nodes = new Parser(lines, components).parse();
+        if(nodes == null) {
+            return null;
+        }
+        try {
+            return new ScriptCompiler().generate(nodes);
+        } catch(ClassLimitException exception) {
+            return null;
+        }
+    }
+
+    private final ClassWriter writer = new ClassWriter();
+    private final List<Object> constants = new ArrayList<>();
+    private final Map<Object, Integer> constantIndices = new IdentityHashMap<>();
+    private final Map<String, Class<?>> classes = new HashMap<>();
+    private MethodWriter code;
+
+    /**
+     * Creates a new compiler for a single script.
+     */
+    private ScriptCompiler() {}
+
+    /**
+     * Generates, loads and instantiates the class.
+     * The top level nodes are split across several methods, since the JVM does not optimize methods
+     * with too much code. Each of those parts returns false if the task has been killed, the execute
+     * method invokes them in order.
+     * @param nodes The nodes of the top level scope.
+     * @return The compiled script.
+     * @throws ClassLimitException If the class would exceed a limit of the class file format.
+     */
+    private CompiledScript generate(List<Node> nodes) {
+        MethodWriter execute = new MethodWriter(writer, 2);
+        code = new MethodWriter(writer, 2);
+        int parts = 0;
+        for(int i = 0; i < nodes.size(); i++) {
+            emitNode(nodes.get(i));
+            boolean reachable = code.isReachable();
+            if(reachable
+                    && i < nodes.size() - 1
+                    && code.getLength() < PART_LENGTH) {
+                continue;
+            }
+            if(reachable) {
+                code.instruction(MethodWriter.ICONST_1);
+                code.instruction(MethodWriter.IRETURN);
+            }
+            String name = "part" + parts++;
+            writer.addMethod(ACC_PRIVATE, name, PART_DESCRIPTOR, code);
+            Label running = new Label();
+            execute.local(MethodWriter.ALOAD, 0);
+            execute.local(MethodWriter.ALOAD, 1);
+            execute.invoke(MethodWriter.INVOKESPECIAL, CLASS_NAME, name, PART_DESCRIPTOR);
+            execute.jump(MethodWriter.IFNE, running);
+            execute.instruction(MethodWriter.RETURN);
+            execute.mark(running);
+            if(!reachable) {
+                break;
+            }
+            code = new MethodWriter(writer, 2);
+        }
+        execute.instruction(MethodWriter.RETURN);
+        MethodWriter constructor = new MethodWriter(writer, 2);
+        constructor.local(MethodWriter.ALOAD, 0);
+        constructor.invoke(MethodWriter.INVOKESPECIAL, OBJECT, "<init>", "()V");
+        constructor.local(MethodWriter.ALOAD, 0);
+        constructor.local(MethodWriter.ALOAD, 1);
+        constructor.field(MethodWriter.PUTFIELD, CLASS_NAME, "constants", OBJECT_ARRAY);
+        constructor.instruction(MethodWriter.RETURN);
+        writer.addField(ACC_PRIVATE | ACC_FINAL, "constants", OBJECT_ARRAY);
+        writer.addMethod(ACC_PUBLIC, "<init>", "(" + OBJECT_ARRAY + ")V", constructor);
+        writer.addMethod(ACC_PUBLIC, "execute", "(L" + TASK + ";)V", execute);
+        byte[] bytes = writer.toByteArray(ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, OBJECT,
+                "de/arraying/zeus/backend/compiler/CompiledScript");
+        Class<?> type = new ScriptClassLoader(classes).define(CLASS_NAME.replace('/', '.'), bytes);
+        try {
+            return (CompiledScript) type.getConstructor(Object[].class).newInstance((Object) constants.toArray());
+        } catch(ReflectiveOperationException exception) {
+            throw new IllegalStateException("The generated class could not be instantiated.", exception);
+        }
+    }
+
+    /**
+     * Emits a list of nodes.
+     * @param nodes The nodes.
+     */
+    private void emitBlock(List<Node> nodes) {
+        for(Node node : nodes) {
+            emitNode(node);
+            if(!code.isReachable()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Emits a single node.
+     * @param node The node.
+     */
+    private void emitNode(Node node) {
+        if(node.kind == Kind.WHILE) {
+            emitWhile(node);
+            return;
+        }
+        emitCheckpoint(node.line.getLineNumber());
+        if(node.kind == Kind.IF) {
+            emitIf(node);
+        } else if(node.kind == Kind.FOR) {
+            emitFor(node);
+        } else {
+            emitStatement(node);
+        }
+    }
+
+    /**
+     * Emits a condition, including its branches.
+     * The checkpoint of the if line has already been emitted, the ones of elif lines are only reached if every
+     * previous condition was false. A taken branch jumps right to the end, so no further condition is evaluated.
+     * The else and end lines have already been matched when the script was compiled, so they do not emit anything.
+     * @param node The node.
+     */
+    private void emitIf(Node node) {
+        Label done = new Label();
+        int count = node.segments.size();
+        for(int i = 0; i < count; i++) {
+            Node condition = node.conditions.get(i);
+            Label skipped = new Label();
+            if(condition != null) {
+                int lineNumber = condition.line.getLineNumber();
+                if(i > 0) {
+                    emitCheckpoint(lineNumber);
+                }
+                emitCondition(condition.expression, lineNumber, i == 0 ? "if statement" : "elif statement");
+                code.jump(MethodWriter.IFEQ, skipped);
+            }
+            emitBlock(node.segments.get(i));
+            if(i < count - 1
+                    && code.isReachable()) {
+                code.jump(MethodWriter.GOTO, done);
+            }
+            code.mark(skipped);
+        }
+        code.mark(done);
+    }
+
+    /**
+     * Emits a while loop.
+     * The checkpoint of the loop line is part of the loop, so every iteration checks whether the task has been
+     * killed and counts towards the maximum amount of statements, just like in the interpreter.
+     * @param node The node.
+     */
+    private void emitWhile(Node node) {
+        int lineNumber = node.line.getLineNumber();
+        Label loop = new Label();
+        Label done = new Label();
+        code.mark(loop);
+        emitCheckpoint(lineNumber);
+        emitCondition(node.expression, lineNumber, "while loop");
+        code.jump(MethodWriter.IFEQ, done);
+        emitBlock(node.segments.get(0));
+        if(code.isReachable()) {
+            code.jump(MethodWriter.GOTO, loop);
+        }
+        code.mark(done);
+    }
+
+    /**
+     * Emits a for loop, the checkpoint of the loop line has already been emitted.
+     * The current value of the variable is kept in a local, so the stack is empty when jumping back and the
+     * JVM can compile the loop while it is running. Every iteration passes the checkpoint again before the
+     * variable is incremented.
+     * @param node The node.
+     */
+    private void emitFor(Node node) {
+        int lineNumber = node.line.getLineNumber();
+        int slot = node.line.getSlot(1);
+        int mark = code.getLocals();
+        int value = code.allocateLocal();
+        Label loop = new Label();
+        Label done = new Label();
+        code.local(MethodWriter.ALOAD, 1);
+        code.pushInt(slot);
+        emitBound(node.expression, lineNumber);
+        code.pushInt(lineNumber);
+        code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "startLoop", "(III)I");
+        code.local(MethodWriter.ISTORE, value);
+        code.mark(loop);
+        code.local(MethodWriter.ILOAD, value);
+        emitBound(node.bound, lineNumber);
+        code.jump(MethodWriter.IF_ICMPGT, done);
+        emitBlock(node.segments.get(0));
+        if(code.isReachable()) {
+            emitCheckpoint(lineNumber);
+            code.local(MethodWriter.ALOAD, 1);
+            code.pushInt(slot);
+            code.pushInt(lineNumber);
+            code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "advanceLoop", "(II)I");
+            code.local(MethodWriter.ISTORE, value);
+            code.jump(MethodWriter.GOTO, loop);
+        }
+        code.mark(done);
+        code.releaseLocals(mark);
+    }
+
+    /**
+     * Emits the start or end of a for loop, which leaves an integer.
+     * @param expression The expression.
+     * @param lineNumber The line number.
+     */
+    private void emitBound(Expression expression, int lineNumber) {
+        if(expression.getType() == VariableValues.INT) {
+            emitTyped(expression, VariableValues.INT);
+            return;
+        }
+        emitObject(expression);
+        emitNullCheck(VALUE_NULL, lineNumber);
+        code.instruction(MethodWriter.DUP);
+        code.type(MethodWriter.INSTANCEOF, "java/lang/Integer");
+        Label valid = new Label();
+        code.jump(MethodWriter.IFNE, valid);
+        emitThrow(ForComponent.BOUND_ERROR, lineNumber);
+        code.mark(valid);
+        emitUnbox(VariableValues.INT);
+    }
+
+    /**
+     * Emits the condition of an if, elif or while line, which leaves an integer that is either 1 or 0.
+     * @param expression The condition.
+     * @param lineNumber The line number.
+     * @param statement The statement the condition belongs to, as used in the error message.
+     */
+    private void emitCondition(Expression expression, int lineNumber, String statement) {
+        if(expression.getType() == VariableValues.BOOL) {
+            emitTyped(expression, VariableValues.BOOL);
+            return;
+        }
+        emitObject(expression);
+        emitNullCheck(VALUE_NULL, lineNumber);
+        code.instruction(MethodWriter.DUP);
+        code.type(MethodWriter.INSTANCEOF, "java/lang/Boolean");
+        Label valid = new Label();
+        code.jump(MethodWriter.IFNE, valid);
+        emitThrow(ZeusUtil.getConditionError(statement), lineNumber);
+        code.mark(valid);
+        emitUnbox(VariableValues.BOOL);
+    }
+
+    /**
+     * Emits a statement in an executed scope.
+     * @param node The node.
+     */
+    private void emitStatement(Node node) {
+        ZeusLine line = node.line;
+        int lineNumber = line.getLineNumber();
+        Expression expression = node.expression;
+        switch(node.kind) {
+            case DECLARE:
+            case REASSIGN:
+                int slot = node.kind == Kind.DECLARE ? line.getSlot(1) : line.getSlot(0);
+                boolean declare = node.kind == Kind.DECLARE;
+                if(!declare) {
+                    code.local(MethodWriter.ALOAD, 1);
+                    code.pushInt(slot);
+                    code.pushString(line.getTokens()[0].getToken());
+                    code.pushInt(lineNumber);
+                    code.invoke(MethodWriter.INVOKESTATIC, SUPPORT, "checkDeclared", "(L" + TASK + ";ILjava/lang/String;I)V");
+                }
+                code.local(MethodWriter.ALOAD, 1);
+                code.pushInt(slot);
+                String prefix = "(I";
+                if(declare) {
+                    VariableType type = VariableType.fromIdentifier(line.getTokens()[0].getToken());
+                    code.field(MethodWriter.GETSTATIC, VARIABLE_TYPE, type.name(), "L" + VARIABLE_TYPE + ";");
+                    prefix += "L" + VARIABLE_TYPE + ";";
+                }
+                String method = declare ? "declareVariable" : "reassignVariable";
+                VariableValues kind = expression.getType();
+                if(kind == null
+                        || kind == VariableValues.STRING) {
+                    emitObject(expression);
+                    emitNullCheck(VALUE_NULL, lineNumber);
+                    code.pushInt(lineNumber);
+                    code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, method, prefix + "Ljava/lang/Object;I)V");
+                } else {
+                    code.field(MethodWriter.GETSTATIC, VARIABLE_VALUES, kind.name(), "L" + VARIABLE_VALUES + ";");
+                    emitTyped(expression, kind);
+                    emitToBits(kind);
+                    code.pushInt(lineNumber);
+                    code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, method, prefix + "L" + VARIABLE_VALUES + ";JI)V");
+                }
+                break;
+            case METHOD:
+                VariableValues result = expression.getType();
+                if(result == VariableValues.LONG
+                        || result == VariableValues.DOUBLE) {
+                    emitTyped(expression, result);
+                    code.instruction(MethodWriter.POP2);
+                } else if(result != null
+                        && result != VariableValues.STRING) {
+                    emitTyped(expression, result);
+                    code.instruction(MethodWriter.POP);
+                } else {
+                    emitObject(expression);
+                    code.instruction(MethodWriter.POP);
+                }
+                break;
+            case COMPONENT:
+                code.local(MethodWriter.ALOAD, 1);
+                emitConstant(node.component, "de/arraying/zeus/standard/component/ZeusComponent");
+                emitConstant(line, "de/arraying/zeus/impl/ZeusLine");
+                code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "invoke",
+                        "(Lde/arraying/zeus/standard/component/ZeusComponent;Lde/arraying/zeus/impl/ZeusLine;)V");
+                break;
+            default:
+                emitThrow("Unknown component in code.", lineNumber);
+        }
+    }
+
+    /**
+     * Emits an expression that leaves a non-null object.
+     * @param expression The expression.
+     */
+    private void emitObject(Expression expression) {
+        if(expression instanceof LiteralExpression) {
+            Object value = ((LiteralExpression) expression).getValue();
+            if(value instanceof String) {
+                code.pushString((String) value);
+            } else if(value instanceof Boolean) {
+                code.field(MethodWriter.GETSTATIC, "java/lang/Boolean", (Boolean) value ? "TRUE" : "FALSE", "Ljava/lang/Boolean;");
+            } else {
+                emitConstant(value, null);
+            }
+        } else if(expression instanceof ArithmeticExpression
+                || expression instanceof ComparisonExpression
+                || expression instanceof EqualityExpression) {
+            VariableValues kind = expression.getType();
+            if(!isTypeable((CallExpression) expression, kind)) {
+                emitCall((CallExpression) expression);
+                return;
+            }
+            emitTyped(expression, kind);
+            emitBox(kind);
+        } else if(expression instanceof LogicExpression) {
+            emitLogic((LogicExpression) expression);
+            emitBox(VariableValues.BOOL);
+        } else if(expression instanceof CallExpression) {
+            emitCall((CallExpression) expression);
+        } else if(expression instanceof VariableExpression
+                && ((VariableExpression) expression).getSlot() != -1) {
+            VariableExpression variable = (VariableExpression) expression;
+            code.local(MethodWriter.ALOAD, 1);
+            code.pushInt(variable.getSlot());
+            code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "getValue", "(I)Ljava/lang/Object;");
+            emitNullCheck("The variable \"" + variable.getIdentifier() + "\" defined " +
+                    (variable.isParameter() ? "in the method parameters " : "") + "does not exist.", variable.getLineNumber());
+        } else {
+            emitConstant(expression, EXPRESSION);
+            code.local(MethodWriter.ALOAD, 1);
+            code.invoke(MethodWriter.INVOKEINTERFACE, EXPRESSION, "evaluate", "(L" + TASK + ";)Ljava/lang/Object;");
+        }
+    }
+
+    /**
+     * Emits an expression that leaves a primitive.
+     * Booleans are represented as integers.
+     * @param expression The expression, which has to be statically of the provided type.
+     * @param kind The type.
+     */
+    private void emitTyped(Expression expression, VariableValues kind) {
+        if(expression instanceof LiteralExpression) {
+            Object value = ((LiteralExpression) expression).getValue();
+            switch(kind) {
+                case INT:
+                    code.pushInt((Integer) value);
+                    break;
+                case LONG:
+                    code.pushLong((Long) value);
+                    break;
+                case DOUBLE:
+                    code.pushDouble((Double) value);
+                    break;
+                default:
+                    code.instruction((Boolean) value ? MethodWriter.ICONST_1 : MethodWriter.ICONST_0);
+            }
+        } else if(expression instanceof ArithmeticExpression) {
+            emitArithmetic((ArithmeticExpression) expression, kind);
+        } else if(expression instanceof ComparisonExpression
+                || expression instanceof EqualityExpression) {
+            emitComparison((CallExpression) expression);
+        } else if(expression instanceof LogicExpression) {
+            emitLogic((LogicExpression) expression);
+        } else {
+            emitEvaluate(expression, kind);
+        }
+    }
+
+    /**
+     * Emits the evaluation of an expression by the expression tree itself, which leaves a primitive.
+     * @param expression The expression.
+     * @param kind The type.
+     */
+    private void emitEvaluate(Expression expression, VariableValues kind) {
+        String name = kind == VariableValues.BOOL ? "Boolean" : kind.name().charAt(0) + kind.name().substring(1).toLowerCase();
+        emitConstant(expression, EXPRESSION);
+        code.local(MethodWriter.ALOAD, 1);
+        code.invoke(MethodWriter.INVOKEINTERFACE, EXPRESSION, "evaluate" + name, "(L" + TASK + ";)" + descriptor(kind));
+    }
+
+    /**
+     * Emits an operand of a typed operation that has either been checked to have the type at runtime,
+     * or has the type statically.
+     * @param operand The operand.
+     * @param kind The type.
+     */
+    private void emitOperand(Expression operand, VariableValues kind) {
+        if(operand.getType() == kind) {
+            emitTyped(operand, kind);
+            return;
+        }
+        code.local(MethodWriter.ALOAD, 1);
+        code.pushInt(((VariableExpression) operand).getSlot());
+        code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "getBits", "(I)J");
+        emitFromBits(kind);
+    }
+
+    /**
+     * Emits an arithmetic operation.
+     * Operands that are variables are checked at runtime, should one not have the expected type the
+     * expression tree evaluates the operation instead, which invokes the standard method.
+     * @param expression The expression.
+     * @param kind The type of the result.
+     */
+    private void emitArithmetic(ArithmeticExpression expression, VariableValues kind) {
+        Expression[] operands = expression.getParameters();
+        if(!isTypeable(expression, kind)) {
+            emitCall(expression);
+            emitUnbox(kind);
+            return;
+        }
+        Label fallback = new Label();
+        boolean probed = false;
+        for(Expression operand : operands) {
+            if(probe(operand, kind) == PROBE) {
+                emitProbe(operand, kind, fallback);
+                probed = true;
+            }
+        }
+        if(operands.length == 0) {
+            int identity = expression.getOperation().getIdentity();
+            if(kind == VariableValues.INT) {
+                code.pushInt(identity);
+            } else if(kind == VariableValues.LONG) {
+                code.pushLong(identity);
+            } else {
+                code.pushDouble(identity);
+            }
+        } else {
+            ArithmeticExpression.Operation operation = expression.getOperation();
+            emitOperand(operands[0], kind);
+            if(operation == ArithmeticExpression.Operation.INCREMENT
+                    || operation == ArithmeticExpression.Operation.DECREMENT) {
+                if(kind == VariableValues.INT) {
+                    code.pushInt(1);
+                } else if(kind == VariableValues.LONG) {
+                    code.pushLong(1);
+                } else {
+                    code.pushDouble(1);
+                }
+                emitOperation(operation == ArithmeticExpression.Operation.INCREMENT
+                        ? ArithmeticExpression.Operation.ADD : ArithmeticExpression.Operation.SUBTRACT, kind, expression.getLineNumber());
+            }
+            for(int i = 1; i < operands.length; i++) {
+                emitOperand(operands[i], kind);
+                emitOperation(operation, kind, expression.getLineNumber());
+            }
+        }
+        if(probed) {
+            Label done = new Label();
+            code.jump(MethodWriter.GOTO, done);
+            code.mark(fallback);
+            emitEvaluate(expression, kind);
+            code.mark(done);
+        }
+    }
+
+    /**
+     * Emits a single arithmetic instruction, integer division and remainder are checked for a zero divisor first.
+     * @param operation The operation.
+     * @param kind The type of the operands.
+     * @param lineNumber The line number.
+     */
+    private void emitOperation(ArithmeticExpression.Operation operation, VariableValues kind, int lineNumber) {
+        int offset = kind == VariableValues.INT ? 0 : kind == VariableValues.LONG ? 1 : 3;
+        switch(operation) {
+            case ADD:
+                code.instruction(MethodWriter.IADD + offset);
+                break;
+            case SUBTRACT:
+                code.instruction(MethodWriter.ISUB + offset);
+                break;
+            case MULTIPLY:
+                code.instruction(MethodWriter.IMUL + offset);
+                break;
+            default:
+                if(kind != VariableValues.DOUBLE) {
+                    Label valid = new Label();
+                    if(kind == VariableValues.INT) {
+                        code.instruction(MethodWriter.DUP);
+                    } else {
+                        code.instruction(MethodWriter.DUP2);
+                        code.instruction(MethodWriter.LCONST_0);
+                        code.instruction(MethodWriter.LCMP);
+                    }
+                    code.jump(MethodWriter.IFNE, valid);
+                    emitThrow(METHOD_ERROR, lineNumber);
+                    code.mark(valid);
+                }
+                code.instruction((operation == ArithmeticExpression.Operation.MODULO ? MethodWriter.IREM : MethodWriter.IDIV) + offset);
+        }
+    }
+
+    /**
+     * Emits a comparison or equality check, which leaves an integer that is either 1 or 0.
+     * Every type the operands could have is tried in turn, should none match the expression tree evaluates
+     * the comparison instead, which invokes the standard method.
+     * @param expression The comparison or equality expression.
+     */
+    private void emitComparison(CallExpression expression) {
+        boolean equality = expression instanceof EqualityExpression;
+        Expression left = expression.getParameters()[0];
+        Expression right = expression.getParameters()[1];
+        Label done = new Label();
+        boolean complete = false;
+        for(VariableValues kind : getComparedTypes(expression)) {
+            int leftProbe = probe(left, kind);
+            int rightProbe = probe(right, kind);
+            if(leftProbe == MISMATCH
+                    || rightProbe == MISMATCH) {
+                continue;
+            }
+            Label next = new Label();
+            if(leftProbe == PROBE) {
+                emitProbe(left, kind, next);
+            }
+            if(rightProbe == PROBE) {
+                emitProbe(right, kind, next);
+            }
+            emitOperand(left, kind);
+            emitEqualityBits(equality, kind);
+            emitOperand(right, kind);
+            emitEqualityBits(equality, kind);
+            if(equality) {
+                emitEquals(kind);
+            } else {
+                emitCompare(kind, ((ComparisonExpression) expression).getComparison());
+            }
+            code.jump(MethodWriter.GOTO, done);
+            if(leftProbe == MATCH
+                    && rightProbe == MATCH) {
+                complete = true;
+                break;
+            }
+            code.mark(next);
+        }
+        if(!complete) {
+            emitEvaluate(expression, VariableValues.BOOL);
+        }
+        code.mark(done);
+    }
+
+    /**
+     * Converts a double operand of an equality check to its bits, so that NaN equals itself and 0.0 does not equal -0.0,
+     * like Double.equals does. Anything else is left as it is.
+     * @param equality Whether or not the operand belongs to an equality check.
+     * @param kind The type of the operand.
+     */
+    private void emitEqualityBits(boolean equality, VariableValues kind) {
+        if(equality
+                && kind == VariableValues.DOUBLE) {
+            code.invoke(MethodWriter.INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J");
+        }
+    }
+
+    /**
+     * Emits the equality check of two primitives of the same type, doubles have already been converted to their bits.
+     * @param kind The type of both operands.
+     */
+    private void emitEquals(VariableValues kind) {
+        int negated = MethodWriter.IF_ICMPNE;
+        if(kind == VariableValues.LONG
+                || kind == VariableValues.DOUBLE) {
+            code.instruction(MethodWriter.LCMP);
+            negated = MethodWriter.IFNE;
+        }
+        Label unmet = new Label();
+        Label done = new Label();
+        code.jump(negated, unmet);
+        code.instruction(MethodWriter.ICONST_1);
+        code.jump(MethodWriter.GOTO, done);
+        code.mark(unmet);
+        code.instruction(MethodWriter.ICONST_0);
+        code.mark(done);
+    }
+
+    /**
+     * Emits a logical operation, which leaves an integer that is either 1 or 0.
+     * Every operand of an AND or OR operation jumps right to the result once it decides it,
+     * so the remaining operands are never evaluated.
+     * @param expression The expression.
+     */
+    private void emitLogic(LogicExpression expression) {
+        Expression[] operands = expression.getParameters();
+        if(expression.getOperation() == LogicExpression.Operation.NOT) {
+            emitLogicOperand(expression, operands[0]);
+            code.instruction(MethodWriter.ICONST_1);
+            code.instruction(MethodWriter.IXOR);
+            return;
+        }
+        boolean conjunction = expression.getOperation() == LogicExpression.Operation.AND;
+        Label decided = new Label();
+        Label done = new Label();
+        for(Expression operand : operands) {
+            emitLogicOperand(expression, operand);
+            code.jump(conjunction ? MethodWriter.IFEQ : MethodWriter.IFNE, decided);
+        }
+        code.instruction(conjunction ? MethodWriter.ICONST_1 : MethodWriter.ICONST_0);
+        code.jump(MethodWriter.GOTO, done);
+        code.mark(decided);
+        code.instruction(conjunction ? MethodWriter.ICONST_0 : MethodWriter.ICONST_1);
+        code.mark(done);
+    }
+
+    /**
+     * Emits an operand of a logical operation, which leaves an integer that is either 1 or 0.
+     * Operands that are not booleans throw the same error invoking the standard method would.
+     * @param expression The expression.
+     * @param operand The operand.
+     */
+    private void emitLogicOperand(LogicExpression expression, Expression operand) {
+        if(operand.getType() == VariableValues.BOOL) {
+            emitTyped(operand, VariableValues.BOOL);
+            return;
+        }
+        emitObject(operand);
+        emitNullCheck(PARAMETER_NULL, expression.getLineNumber());
+        Label valid = new Label();
+        code.instruction(MethodWriter.DUP);
+        code.type(MethodWriter.INSTANCEOF, "java/lang/Boolean");
+        code.jump(MethodWriter.IFNE, valid);
+        emitConstant(expression, "de/arraying/zeus/backend/expression/LogicExpression");
+        code.instruction(MethodWriter.SWAP);
+        code.invoke(MethodWriter.INVOKEVIRTUAL, "de/arraying/zeus/backend/expression/LogicExpression", "getTypeError",
+                "(Ljava/lang/Object;)L" + EXCEPTION + ";");
+        code.instruction(MethodWriter.ATHROW);
+        code.mark(valid);
+        emitUnbox(VariableValues.BOOL);
+    }
+
+    /**
+     * Emits the comparison of two primitives.
+     * Doubles are compared the same way the Java compiler does it, so any comparison with NaN is false.
+     * @param kind The type of both operands.
+     * @param comparison The comparison, as defined by the constants in ZeusUtil.
+     */
+    private void emitCompare(VariableValues kind, int comparison) {
+        int negated;
+        switch(comparison) {
+            case ZeusUtil.COMP_LESS:
+                negated = MethodWriter.IFGE;
+                break;
+            case ZeusUtil.COMP_LESS_OR_EQUAL:
+                negated = MethodWriter.IFGT;
+                break;
+            case ZeusUtil.COMP_MORE_OR_EQUAL:
+                negated = MethodWriter.IFLT;
+                break;
+            default:
+                negated = MethodWriter.IFLE;
+        }
+        if(kind == VariableValues.INT) {
+            negated += MethodWriter.IF_ICMPLT - MethodWriter.IFLT;
+        } else if(kind == VariableValues.LONG) {
+            code.instruction(MethodWriter.LCMP);
+        } else {
+            code.instruction(comparison < 0 ? MethodWriter.DCMPG : MethodWriter.DCMPL);
+        }
+        Label unmet = new Label();
+        Label done = new Label();
+        code.jump(negated, unmet);
+        code.instruction(MethodWriter.ICONST_1);
+        code.jump(MethodWriter.GOTO, done);
+        code.mark(unmet);
+        code.instruction(MethodWriter.ICONST_0);
+        code.mark(done);
+    }
+
+    /**
+     * Emits a method invocation, which leaves the return value or null.
+     * Public methods are invoked directly, all others through their method target.
+     * @param call The invocation.
+     */
+    private void emitCall(CallExpression call) {
+        MethodTarget target = call.getTarget();
+        Expression[] parameters = call.getParameters();
+        int lineNumber = call.getLineNumber();
+        if(!isDirect(target)) {
+            emitConstant(target, "de/arraying/zeus/backend/MethodTarget");
+            code.pushInt(parameters.length);
+            code.type(MethodWriter.ANEWARRAY, OBJECT);
+            for(int i = 0; i < parameters.length; i++) {
+                code.instruction(MethodWriter.DUP);
+                code.pushInt(i);
+                emitObject(parameters[i]);
+                emitNullCheck(PARAMETER_NULL, lineNumber);
+                code.instruction(MethodWriter.AASTORE);
+            }
+            code.pushInt(lineNumber);
+            code.invoke(MethodWriter.INVOKEVIRTUAL, "de/arraying/zeus/backend/MethodTarget", "invoke", "(" + OBJECT_ARRAY + "I)Ljava/lang/Object;");
+            return;
+        }
+        Method method = target.getMethod();
+        Class<?> owner = method.getDeclaringClass();
+        String ownerName = internalName(owner);
+        int mark = code.getLocals();
+        int[] locals = new int[parameters.length];
+        for(int i = 0; i < parameters.length; i++) {
+            emitObject(parameters[i]);
+            emitNullCheck(PARAMETER_NULL, lineNumber);
+            locals[i] = code.allocateLocal();
+            code.local(MethodWriter.ASTORE, locals[i]);
+        }
+        emitConstant(target.getContainer(), ownerName);
+        Class<?>[] types = method.getParameterTypes();
+        if(method.isVarArgs()) {
+            code.pushInt(parameters.length);
+            code.type(MethodWriter.ANEWARRAY, OBJECT);
+            for(int i = 0; i < parameters.length; i++) {
+                code.instruction(MethodWriter.DUP);
+                code.pushInt(i);
+                code.local(MethodWriter.ALOAD, locals[i]);
+                code.instruction(MethodWriter.AASTORE);
+            }
+        } else {
+            for(int i = 0; i < parameters.length; i++) {
+                code.local(MethodWriter.ALOAD, locals[i]);
+                emitCast(types[i], lineNumber);
+            }
+        }
+        code.releaseLocals(mark);
+        Label start = new Label();
+        Label end = new Label();
+        Label handler = new Label();
+        Label done = new Label();
+        code.mark(start);
+        code.invoke(owner.isInterface() ? MethodWriter.INVOKEINTERFACE : MethodWriter.INVOKEVIRTUAL, ownerName,
+                method.getName(), descriptor(method));
+        code.mark(end);
+        Class<?> returnType = method.getReturnType();
+        if(returnType == void.class) {
+            code.instruction(MethodWriter.ACONST_NULL);
+        } else if(returnType.isPrimitive()) {
+            emitBox(VariableValues.fromClass(wrapper(returnType)));
+        }
+        code.jump(MethodWriter.GOTO, done);
+        code.handler(start, end, handler, "java/lang/Throwable");
+        code.mark(handler);
+        code.instruction(MethodWriter.POP);
+        emitThrow(METHOD_ERROR, lineNumber);
+        code.mark(done);
+    }
+
+    /**
+     * Emits the conversion of a method parameter to the parameter type.
+     * @param type The parameter type.
+     * @param lineNumber The line number.
+     */
+    private void emitCast(Class<?> type, int lineNumber) {
+        if(type == Object.class) {
+            return;
+        }
+        Class<?> reference = type.isPrimitive() ? wrapper(type) : type;
+        String name = internalName(reference);
+        Label valid = new Label();
+        code.instruction(MethodWriter.DUP);
+        code.type(MethodWriter.INSTANCEOF, name);
+        code.jump(MethodWriter.IFNE, valid);
+        code.pushString(reference.getName());
+        code.pushInt(lineNumber);
+        code.invoke(MethodWriter.INVOKESTATIC, SUPPORT, "castError",
+                "(Ljava/lang/Object;Ljava/lang/String;I)L" + EXCEPTION + ";");
+        code.instruction(MethodWriter.ATHROW);
+        code.mark(valid);
+        if(type.isPrimitive()) {
+            emitUnbox(VariableValues.fromClass(reference));
+        } else {
+            code.type(MethodWriter.CHECKCAST, name);
+        }
+    }
+
+    /**
+     * Emits a check that the task is still running before a statement, returns false if it is not.
+     * The statement is counted towards the limits of the task.
+     * @param lineNumber The line number of the statement.
+     */
+    private void emitCheckpoint(int lineNumber) {
+        Label running = new Label();
+        code.local(MethodWriter.ALOAD, 1);
+        code.pushInt(lineNumber);
+        code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "checkpoint", "(I)Z");
+        code.jump(MethodWriter.IFNE, running);
+        code.instruction(MethodWriter.ICONST_0);
+        code.instruction(MethodWriter.IRETURN);
+        code.mark(running);
+    }
+
+    /**
+     * Emits the check whether a variable currently holds the expected type.
+     * @param operand The variable.
+     * @param kind The expected type.
+     * @param mismatch The label to jump to if it does not.
+     */
+    private void emitProbe(Expression operand, VariableValues kind, Label mismatch) {
+        code.local(MethodWriter.ALOAD, 1);
+        code.pushInt(((VariableExpression) operand).getSlot());
+        code.invoke(MethodWriter.INVOKEVIRTUAL, TASK, "getKind", "(I)L" + VARIABLE_VALUES + ";");
+        code.field(MethodWriter.GETSTATIC, VARIABLE_VALUES, kind.name(), "L" + VARIABLE_VALUES + ";");
+        code.jump(MethodWriter.IF_ACMPNE, mismatch);
+    }
+
+    /**
+     * Emits a check that the object on top of the stack is not null, throws if it is.
+     * @param message The exception message.
+     * @param lineNumber The line number.
+     */
+    private void emitNullCheck(String message, int lineNumber) {
+        Label valid = new Label();
+        code.instruction(MethodWriter.DUP);
+        code.jump(MethodWriter.IFNONNULL, valid);
+        emitThrow(message, lineNumber);
+        code.mark(valid);
+    }
+
+    /**
+     * Emits throwing a new exception.
+     * @param message The exception message.
+     * @param lineNumber The line number.
+     */
+    private void emitThrow(String message, int lineNumber) {
+        code.type(MethodWriter.NEW, EXCEPTION);
+        code.instruction(MethodWriter.DUP);
+        code.pushString(message);
+        code.pushInt(lineNumber);
+        code.invoke(MethodWriter.INVOKESPECIAL, EXCEPTION, "<init>", "(Ljava/lang/String;I)V");
+        code.instruction(MethodWriter.ATHROW);
+    }
+
+    /**
+     * Emits loading a constant object.
+     * @param value The object.
+     * @param type The internal name of the type to cast to, or null to leave it an object.
+     */
+    private void emitConstant(Object value, String type) {
+        Integer index = constantIndices.get(value);
+        if(index == null) {
+            index = constants.size();
+            constants.add(value);
+            constantIndices.put(value, index);
+        }
+        code.local(MethodWriter.ALOAD, 0);
+        code.field(MethodWriter.GETFIELD, CLASS_NAME, "constants", OBJECT_ARRAY);
+        code.pushInt(index);
+        code.instruction(MethodWriter.AALOAD);
+        if(type != null) {
+            code.type(MethodWriter.CHECKCAST, type);
+        }
+    }
+
+    /**
+     * Emits boxing a primitive.
+     * @param kind The type of the primitive.
+     */
+    private void emitBox(VariableValues kind) {
+        String owner = internalName(kind.getValueClass());
+        code.invoke(MethodWriter.INVOKESTATIC, owner, "valueOf", "(" + descriptor(kind) + ")L" + owner + ";");
+    }
+
+    /**
+     * Emits unboxing an object, which has to be of the wrapper type.
+     * @param kind The type of the primitive.
+     */
+    private void emitUnbox(VariableValues kind) {
+        String owner = internalName(kind.getValueClass());
+        code.type(MethodWriter.CHECKCAST, owner);
+        String name = kind == VariableValues.BOOL ? "boolean" : kind.name().toLowerCase();
+        code.invoke(MethodWriter.INVOKEVIRTUAL, owner, name + "Value", "()" + descriptor(kind));
+    }
+
+    /**
+     * Emits the conversion of a primitive to bits, as stored in a frame.
+     * @param kind The type of the primitive.
+     */
+    private void emitToBits(VariableValues kind) {
+        if(kind == VariableValues.DOUBLE) {
+            code.invoke(MethodWriter.INVOKESTATIC, "java/lang/Double", "doubleToRawLongBits", "(D)J");
+        } else if(kind != VariableValues.LONG) {
+            code.instruction(MethodWriter.I2L);
+        }
+    }
+
+    /**
+     * Emits the conversion of bits, as stored in a frame, to a primitive.
+     * @param kind The type of the primitive.
+     */
+    private void emitFromBits(VariableValues kind) {
+        if(kind == VariableValues.DOUBLE) {
+            code.invoke(MethodWriter.INVOKESTATIC, "java/lang/Double", "longBitsToDouble", "(J)D");
+        } else if(kind == VariableValues.INT) {
+            code.instruction(MethodWriter.L2I);
+        } else if(kind == VariableValues.BOOL) {
+            code.instruction(MethodWriter.LCONST_0);
+            code.instruction(MethodWriter.LCMP);
+        }
+    }
+
+    /**
+     * Whether or not the operands of a specialized standard method invocation could have the expected type.
+     * @param call The arithmetic, comparison or equality expression.
+     * @param kind The type of the result.
+     * @return False if the standard method is always invoked, true otherwise.
+     */
+    private boolean isTypeable(CallExpression call, VariableValues kind) {
+        if(call instanceof ComparisonExpression
+                || call instanceof EqualityExpression) {
+            Expression left = call.getParameters()[0];
+            Expression right = call.getParameters()[1];
+            for(VariableValues type : getComparedTypes(call)) {
+                if(probe(left, type) != MISMATCH
+                        && probe(right, type) != MISMATCH) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for(Expression operand : call.getParameters()) {
+            if(probe(operand, kind) == MISMATCH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the types a comparison or equality expression compares without invoking the standard method.
+     * @param call The comparison or equality expression.
+     * @return An array of types, which are tried in order.
+     */
+    private static VariableValues[] getComparedTypes(CallExpression call) {
+        if(call instanceof EqualityExpression) {
+            return new VariableValues[] {VariableValues.INT, VariableValues.LONG, VariableValues.DOUBLE, VariableValues.BOOL};
+        }
+        return new VariableValues[] {VariableValues.INT, VariableValues.LONG, VariableValues.DOUBLE};
+    }
+
+    /**
+     * Checks whether or not an operand has the expected type.
+     * @param operand The operand.
+     * @param kind The expected type.
+     * @return MATCH if it always has, MISMATCH if it never has and PROBE if it is a variable that has to be checked at runtime.
+     */
+    private static int probe(Expression operand, VariableValues kind) {
+        VariableValues type = operand.getType();
+        if(type != null) {
+            return type == kind ? MATCH : MISMATCH;
+        }
+        if(operand instanceof VariableExpression
+                && ((VariableExpression) operand).getSlot() != -1) {
+            return PROBE;
+        }
+        return MISMATCH;
+    }
+
+    /**
+     * Whether or not the method of a target can be invoked directly by the generated class.
+     * This is the case for public instance methods of public classes whose signature only contains
+     * core Java types, and whose return value can be passed on as is.
+     * The declaring class is registered with the class loader of the script.
+     * @param target The target.
+     * @return True if it can, false otherwise.
+     */
+    private boolean isDirect(MethodTarget target) {
+        Method method = target.getMethod();
+        Class<?> owner = method.getDeclaringClass();
+        if(Modifier.isStatic(method.getModifiers())
+                || target.getContainer() == null
+                || owner.isArray()) {
+            return false;
+        }
+        try {
+            MethodHandles.publicLookup().unreflect(method);
+        } catch(IllegalAccessException exception) {
+            return false;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        if(method.isVarArgs()
+                && (types.length != 1 || types[0] != Object[].class)) {
+            return false;
+        }
+        for(Class<?> type : types) {
+            if(!isCoreType(type)
+                    || (type.isPrimitive() && wrapper(type) == null)) {
+                return false;
+            }
+        }
+        Class<?> returnType = method.getReturnType();
+        if(!isCoreType(returnType)
+                || (returnType.isPrimitive() && returnType != void.class && wrapper(returnType) == null)) {
+            return false;
+        }
+        Class<?> registered = classes.get(owner.getName());
+        if(registered != null
+                && registered != owner) {
+            return false;
+        }
+        classes.put(owner.getName(), owner);
+        return true;
+    }
+
+    /**
+     * Whether or not the type is loaded by the bootstrap class loader, and thus visible to every class.
+     * @param type The type.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isCoreType(Class<?> type) {
+        while(type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.getClassLoader() == null;
+    }
+
+    /**
+     * Gets the wrapper of a primitive type that can be a variable value.
+     * @param type The primitive type.
+     * @return The wrapper, or null if the type can not be a variable value.
+     */
+    private static Class<?> wrapper(Class<?> type) {
+        if(type == int.class) {
+            return Integer.class;
+        } else if(type == long.class) {
+            return Long.class;
+        } else if(type == double.class) {
+            return Double.class;
+        } else if(type == boolean.class) {
+            return Boolean.class;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the internal name of a class.
+     * @param type The class.
+     * @return The internal name.
+     */
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    /**
+     * Gets the descriptor of the primitive that represents a type.
+     * @param kind The type.
+     * @return The descriptor.
+     * @throws IllegalArgumentException If the type is not represented by a primitive, callers rule this out.
+     */
+    private static String descriptor(VariableValues kind) {
+        switch(kind) {
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case DOUBLE:
+                return "D";
+            case BOOL:
+                return "Z";
+        }
+        throw new IllegalArgumentException("The type " + kind + " does not have a primitive representation.");
+    }
+
+    /**
+     * Gets the descriptor of a method.
+     * @param method The method.
+     * @return The descriptor.
+     */
+    private static String descriptor(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for(Class<?> type : method.getParameterTypes()) {
+            descriptor.append(descriptor(type));
+        }
+        return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    /**
+     * Gets the descriptor of a class.
+     * @param type The class.
+     * @return The descriptor.
+     */
+    private static String descriptor(Class<?> type) {
+        if(type.isArray()) {
+            return "[" + descriptor(type.getComponentType());
+        } else if(type == void.class) {
+            return "V";
+        } else if(type.isPrimitive()) {
+            return descriptor(VariableValues.fromClass(wrapper(type)));
+        }
+        return "L" + internalName(type) + ";";
+    }
+
+    private enum Kind {
+
+        /**
+         * A variable declaration.
+         */
+        DECLARE,
+
+        /**
+         * A variable reassignment.
+         */
+        REASSIGN,
+
+        /**
+         * A method invocation.
+         */
+        METHOD,
+
+        /**
+         * A line that is evaluated by invoking its component.
+         */
+        COMPONENT,
+
+        /**
+         * A line no component evaluates.
+         */
+        UNKNOWN,
+
+        /**
+         * An if statement, including its branches.
+         */
+        IF,
+
+        /**
+         * A while loop, including its body.
+         */
+        WHILE,
+
+        /**
+         * A for loop, including its body.
+         */
+        FOR
+
+    }
+
+    private static final class Node {
+
+        private final Kind kind;
+        private final ZeusLine line;
+        private ZeusComponent component;
+        private Expression expression;
+        private Expression bound;
+        private final List<List<Node>> segments = new ArrayList<>();
+        private final List<Node> conditions = new ArrayList<>();
+
+        /**
+         * Creates a new node.
+         * @param kind The kind of node.
+         * @param line The line.
+         */
+        private Node(Kind kind, ZeusLine line) {
+            this.kind = kind;
+            this.line = line;
+        }
+
+    }
+
+    private static final class Parser {
+
+        private final ZeusLine[] lines;
+        private final ZeusComponent[] components;
+
+        /**
+         * Creates a new parser, which groups the lines into nodes.
+         * @param lines An array of lines.
+         * @param components An array of all registered components.
+         */
+        private Parser(ZeusLine[] lines, ZeusComponent[] components) {
+            this.lines = lines;
+            this.components = components;
+        }
+
+        /**
+         * Parses the lines.
+         * @return The nodes of the top level scope, or null if a line is claimed by more than one component.
+         */
+        private List<Node> parse() {
+            List<Node> root = new ArrayList<>();
+            List<Node> open = new ArrayList<>();
+            for(ZeusLine line : lines) {
+                if(line == null) {
+                    continue;
+                }
+                ZeusComponent component = null;
+                for(ZeusComponent candidate : components) {
+                    if(!claims(candidate, line.getTokens())) {
+                        continue;
+                    }
+                    if(component != null) {
+                        return null;
+                    }
+                    component = candidate;
+                }
+                Node current = open.isEmpty() ? null : open.get(open.size() - 1);
+                List<Node> block = current == null ? root : current.segments.get(current.segments.size() - 1);
+                if(component instanceof ElseComponent) {
+                    if(current == null) {
+                        throw new IllegalStateException("Unmatched else.");
+                    }
+                    current.segments.add(new ArrayList<>());
+                    current.conditions.add(null);
+                } else if(component instanceof ElseIfComponent) {
+                    if(current == null) {
+                        throw new IllegalStateException("Unmatched elif.");
+                    }
+                    Node condition = new Node(Kind.IF, line);
+                    condition.expression = expression(line, 1);
+                    if(condition.expression == null) {
+                        return null;
+                    }
+                    current.segments.add(new ArrayList<>());
+                    current.conditions.add(condition);
+                } else if(component instanceof EndComponent) {
+                    if(current == null) {
+                        throw new IllegalStateException("Unmatched end.");
+                    }
+                    open.remove(open.size() - 1);
+                } else if(component instanceof IfComponent
+                        || component instanceof WhileComponent) {
+                    Node node = new Node(component instanceof IfComponent ? Kind.IF : Kind.WHILE, line);
+                    node.expression = expression(line, 1);
+                    if(node.expression == null) {
+                        return null;
+                    }
+                    node.segments.add(new ArrayList<>());
+                    node.conditions.add(node);
+                    block.add(node);
+                    open.add(node);
+                } else if(component instanceof ForComponent) {
+                    int separator = ForComponent.getSeparator(line.getTokens());
+                    if(separator == -1) {
+                        return null;
+                    }
+                    Node node = new Node(Kind.FOR, line);
+                    node.expression = expression(line, 3, separator);
+                    node.bound = expression(line, separator + 1, line.getTokens().length);
+                    if(node.expression == null
+                            || node.bound == null) {
+                        return null;
+                    }
+                    node.segments.add(new ArrayList<>());
+                    block.add(node);
+                    open.add(node);
+                } else {
+                    block.add(statement(line, component));
+                }
+            }
+            return root;
+        }
+
+        /**
+         * Creates the node of a statement.
+         * @param line The line.
+         * @param component The component that claims the line, or null if there is none.
+         * @return The node.
+         */
+        private Node statement(ZeusLine line, ZeusComponent component) {
+            if(component == null) {
+                return new Node(Kind.UNKNOWN, line);
+            }
+            Token[] tokens = line.getTokens();
+            Node node = null;
+            if(component instanceof MethodComponent) {
+                Expression expression = expression(line, 0);
+                if(expression instanceof CallExpression) {
+                    node = new Node(Kind.METHOD, line);
+                    node.expression = expression;
+                }
+            } else if(component instanceof VariableComponent) {
+                if(VariableType.fromIdentifier(tokens[0].getToken()) == null) {
+                    node = new Node(Kind.REASSIGN, line);
+                    node.expression = expression(line, 2);
+                } else if(tokens.length >= 4
+                        && tokens[1].getType() == Patterns.IDENTIFIER
+                        && !Keyword.isKeyword(tokens[1].getToken())
+                        && isEquals(tokens[2])) {
+                    node = new Node(Kind.DECLARE, line);
+                    node.expression = expression(line, 3);
+                }
+            }
+            if(node == null
+                    || node.expression == null) {
+                node = new Node(Kind.COMPONENT, line);
+                node.component = component;
+            }
+            return node;
+        }
+
+        /**
+         * Gets the expression of a line.
+         * @param line The line.
+         * @param start The index where the value starts.
+         * @return The expression, or null if it could not be parsed.
+         */
+        private static Expression expression(ZeusLine line, int start) {
+            return expression(line, start, line.getTokens().length);
+        }
+
+        /**
+         * Gets the expression of a line between the specified indices.
+         * @param line The line.
+         * @param start The index where the value starts.
+         * @param end The index where the value ends, exclusive.
+         * @return The expression, or null if it could not be parsed.
+         */
+        private static Expression expression(ZeusLine line, int start, int end) {
+            try {
+                return line.getExpression(start, end);
+            } catch(ZeusException exception) {
+                return null;
+            }
+        }
+
+        /**
+         * Whether or not a standard component evaluates the line.
+         * Mirrors the checks the components make before they consider a line theirs.
+         * @param component The component.
+         * @param tokens An array of all tokens of the line.
+         * @return True if it does, false otherwise.
+         */
+        private static boolean claims(ZeusComponent component, Token[] tokens) {
+            Token first = tokens[0];
+            if(first.getType() != Patterns.IDENTIFIER) {
+                return false;
+            }
+            String identifier = first.getToken();
+            if(component instanceof IfComponent) {
+                return identifier.equals(Keyword.CONDITIONAL_IF.getIdentifier());
+            } else if(component instanceof ElseComponent) {
+                return identifier.equals(Keyword.CONDITIONAL_ELSE.getIdentifier());
+            } else if(component instanceof ElseIfComponent) {
+                return identifier.equals(Keyword.CONDITIONAL_ELSE_IF.getIdentifier());
+            } else if(component instanceof EndComponent) {
+                return identifier.equals(Keyword.CONTROL_END.getIdentifier());
+            } else if(component instanceof WhileComponent) {
+                return identifier.equals(Keyword.LOOP_WHILE.getIdentifier());
+            } else if(component instanceof ForComponent) {
+                return identifier.equals(Keyword.LOOP_FOR.getIdentifier());
+            } else if(component instanceof SleepComponent) {
+                return identifier.equals(Keyword.CONTROL_SLEEP.getIdentifier());
+            } else if(component instanceof StopComponent) {
+                return identifier.equals(Keyword.CONTROL_STOP.getIdentifier());
+            } else if(component instanceof MethodComponent) {
+                return ZeusMethod.isValidMethodInvocation(tokens);
+            }
+            return VariableType.fromIdentifier(identifier) != null
+                    || (tokens.length >= 3 && isEquals(tokens[1]));
+        }
+
+        /**
+         * Whether or not the token is an equals ("=") token.
+         * @param token The token.
+         * @return True if it is, false otherwise.
+         */
+        private static boolean isEquals(Token token) {
+            return token.getType() == Patterns.TOKEN
+                    && token.getToken().equals("=");
+        }
+
+    }
+
+}
@@ -0,0 +1,309 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.variable.VariableValues;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ArithmeticExpression extends CallExpression {
+
+    /**
+     * The arithmetic operations of the standard library.
+     * Only the operations of variable argument methods can have no operands.
+     */
+    public enum Operation {
+
+        /**
+         * Adds all operands.
+         */
+        ADD(0),
+
+        /**
+         * Subtracts all following operands from the first one.
+         */
+        SUBTRACT(0),
+
+        /**
+         * Multiplies all operands.
+         */
+        MULTIPLY(1),
+
+        /**
+         * Divides the first operand by all following ones.
+         */
+        DIVIDE(1),
+
+        /**
+         * Works out the remainder of the division of the first operand by the second one.
+         */
+        MODULO(1),
+
+        /**
+         * Adds one to the single operand.
+         */
+        INCREMENT(0),
+
+        /**
+         * Subtracts one from the single operand.
+         */
+        DECREMENT(0);
+
+        private final int identity;
+
+        /**
+         * Sets the result of the operation without any operands.
+         * @param identity The result.
+         */
+        Operation(int identity) {
+            this.identity = identity;
+        }
+
+        /**
+         * Gets the result of the operation without any operands.
+         * @return 0 for additions and subtractions, 1 for multiplications and divisions.
+         */
+        public int getIdentity() {
+            return identity;
+        }
+
+    }
+
+    private final Operation operation;
+    private final VariableValues type;
+    private final Expression[] operands;
+    private final int lineNumber;
+
+    /**
+     * Creates a new arithmetic expression.
+     * It replaces an invocation of one of the standard arithmetic methods and computes the result without boxing,
+     * as long as all operands are of the expected type. Otherwise the method itself is invoked, so that
+     * the behaviour, including any errors, stays exactly the same.
+     * @param operation The operation.
+     * @param type The type of the operands and the result, which has to be a number.
+     * @param target The target of the standard method.
+     * @param operands An array of operand expressions.
+     * @param lineNumber The line number.
+     */
+    ArithmeticExpression(Operation operation, VariableValues type, MethodTarget target, Expression[] operands, int lineNumber) {
+        super(target, operands, lineNumber);
+        this.operation = operation;
+        this.type = type;
+        this.operands = operands;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Evaluates the operation.
+     * @param task The task to evaluate the expression in.
+     * @return The boxed result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public Object evaluate(ZeusTaskImpl task)
+            throws ZeusException {
+        if(!isTyped(task)) {
+            return invoke(task);
+        }
+        switch(type) {
+            case INT:
+                return evaluateInt(task);
+            case LONG:
+                return evaluateLong(task);
+            default:
+                return evaluateDouble(task);
+        }
+    }
+
+    /**
+     * Gets the type of the result.
+     * @return The type.
+     */
+    @Override
+    public VariableValues getType() {
+        return type;
+    }
+
+    /**
+     * Evaluates the operation on integers.
+     * @param task The task to evaluate the expression in.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public int evaluateInt(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.INT
+                || !isTyped(task)) {
+            return super.evaluateInt(task);
+        }
+        task.countInvocation(lineNumber);
+        if(operands.length == 0) {
+            return operation.getIdentity();
+        }
+        int result = operands[0].evaluateInt(task);
+        if(operation == Operation.INCREMENT) {
+            return result + 1;
+        } else if(operation == Operation.DECREMENT) {
+            return result - 1;
+        }
+        try {
+            for(int i = 1; i < operands.length; i++) {
+                int operand = operands[i].evaluateInt(task);
+                switch(operation) {
+                    case ADD:
+                        result += operand;
+                        break;
+                    case SUBTRACT:
+                        result -= operand;
+                        break;
+                    case MULTIPLY:
+                        result *= operand;
+                        break;
+                    case DIVIDE:
+                        result /= operand;
+                        break;
+                    case MODULO:
+                        result %= operand;
+                        break;
+                }
+            }
+        } catch(ArithmeticException exception) {
+            throw new ZeusException("Invoking the method caused an error.", lineNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the operation on longs.
+     * @param task The task to evaluate the expression in.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public long evaluateLong(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.LONG
+                || !isTyped(task)) {
+            return super.evaluateLong(task);
+        }
+        task.countInvocation(lineNumber);
+        if(operands.length == 0) {
+            return operation.getIdentity();
+        }
+        long result = operands[0].evaluateLong(task);
+        if(operation == Operation.INCREMENT) {
+            return result + 1;
+        } else if(operation == Operation.DECREMENT) {
+            return result - 1;
+        }
+        try {
+            for(int i = 1; i < operands.length; i++) {
+                long operand = operands[i].evaluateLong(task);
+                switch(operation) {
+                    case ADD:
+                        result += operand;
+                        break;
+                    case SUBTRACT:
+                        result -= operand;
+                        break;
+                    case MULTIPLY:
+                        result *= operand;
+                        break;
+                    case DIVIDE:
+                        result /= operand;
+                        break;
+                    case MODULO:
+                        result %= operand;
+                        break;
+                }
+            }
+        } catch(ArithmeticException exception) {
+            throw new ZeusException("Invoking the method caused an error.", lineNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the operation on doubles.
+     * @param task The task to evaluate the expression in.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public double evaluateDouble(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.DOUBLE
+                || !isTyped(task)) {
+            return super.evaluateDouble(task);
+        }
+        task.countInvocation(lineNumber);
+        if(operands.length == 0) {
+            return operation.getIdentity();
+        }
+        double result = operands[0].evaluateDouble(task);
+        if(operation == Operation.INCREMENT) {
+            return result + 1;
+        } else if(operation == Operation.DECREMENT) {
+            return result - 1;
+        }
+        for(int i = 1; i < operands.length; i++) {
+            double operand = operands[i].evaluateDouble(task);
+            switch(operation) {
+                case ADD:
+                    result += operand;
+                    break;
+                case SUBTRACT:
+                    result -= operand;
+                    break;
+                case MULTIPLY:
+                    result *= operand;
+                    break;
+                case DIVIDE:
+                    result /= operand;
+                    break;
+                case MODULO:
+                    result %= operand;
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether or not all operands currently are of the expected type.
+     * @param task The task to evaluate the expression in.
+     * @return True if they are, false otherwise.
+     */
+    private boolean isTyped(ZeusTaskImpl task) {
+        for(Expression operand : operands) {
+            if(operand.getType(task) != type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the operation.
+     * @return The operation.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+}
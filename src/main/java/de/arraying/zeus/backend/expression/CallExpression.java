@@ -0,0 +1,101 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class CallExpression implements Expression {
+
+    private final MethodTarget target;
+    private final Expression[] parameters;
+    private final int lineNumber;
+
+    /**
+     * Creates a new method invocation expression.
+     * @param target The method target, resolved once for this call site.
+     * @param parameters An array of parameter expressions.
+     * @param lineNumber The line number.
+     */
+    CallExpression(MethodTarget target, Expression[] parameters, int lineNumber) {
+        this.target = target;
+        this.parameters = parameters;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Evaluates all parameters and then invokes the method.
+     * @param task The task to evaluate the expression in.
+     * @return The return value of the method, can be null.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public Object evaluate(ZeusTaskImpl task)
+            throws ZeusException {
+        return invoke(task);
+    }
+
+    /**
+     * Evaluates all parameters and then invokes the method.
+     * Unlike evaluate, this always invokes the method, even if a subclass evaluates the invocation differently.
+     * @param task The task to evaluate the expression in.
+     * @return The return value of the method, can be null.
+     * @throws ZeusException If an error occurs.
+     */
+    final Object invoke(ZeusTaskImpl task)
+            throws ZeusException {
+        Object[] values = new Object[parameters.length];
+        for(int i = 0; i < parameters.length; i++) {
+            Expression parameter = parameters[i];
+            Object value = parameter.evaluate(task);
+            if(value == null) {
+                throw new ZeusException("The embedded method provided in the method illegally returned null.", lineNumber);
+            }
+            values[i] = value;
+        }
+        task.countInvocation(lineNumber);
+        Object result = target.invoke(values, lineNumber);
+        task.countString(result, lineNumber);
+        return result;
+    }
+
+    /**
+     * Gets the method target.
+     * @return The target.
+     */
+    public MethodTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the parameters.
+     * The array is shared and must not be modified.
+     * @return An array of parameter expressions.
+     */
+    public Expression[] getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the line number.
+     * @return The line number.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+}
@@ -0,0 +1,99 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.variable.VariableValues;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class EqualityExpression extends CallExpression {
+
+    private final Expression left;
+    private final Expression right;
+
+    /**
+     * Creates a new equality expression.
+     * It replaces an invocation of the standard equals method and compares numbers and booleans without boxing,
+     * as long as both are of the same type. Doubles are compared by their bits, just like Double#equals does.
+     * Otherwise the method itself is invoked, so that the behaviour, including any errors, stays exactly the same.
+     * @param target The target of the standard method.
+     * @param left The first value.
+     * @param right The second value.
+     * @param lineNumber The line number.
+     */
+    EqualityExpression(MethodTarget target, Expression left, Expression right, int lineNumber) {
+        super(target, new Expression[] {left, right}, lineNumber);
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Evaluates the comparison.
+     * @param task The task to evaluate the expression in.
+     * @return The boxed result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public Object evaluate(ZeusTaskImpl task)
+            throws ZeusException {
+        return evaluateBoolean(task) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /**
+     * Gets the type of the result.
+     * @return Always a boolean.
+     */
+    @Override
+    public VariableValues getType() {
+        return VariableValues.BOOL;
+    }
+
+    /**
+     * Evaluates the comparison.
+     * @param task The task to evaluate the expression in.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public boolean evaluateBoolean(ZeusTaskImpl task)
+            throws ZeusException {
+        VariableValues type = left.getType(task);
+        if(type != null
+                && type == right.getType(task)) {
+            switch(type) {
+                case INT:
+                    task.countInvocation(getLineNumber());
+                    return left.evaluateInt(task) == right.evaluateInt(task);
+                case LONG:
+                    task.countInvocation(getLineNumber());
+                    return left.evaluateLong(task) == right.evaluateLong(task);
+                case DOUBLE:
+                    task.countInvocation(getLineNumber());
+                    return Double.doubleToLongBits(left.evaluateDouble(task)) == Double.doubleToLongBits(right.evaluateDouble(task));
+                case BOOL:
+                    task.countInvocation(getLineNumber());
+                    return left.evaluateBoolean(task) == right.evaluateBoolean(task);
+            }
+        }
+        Object value = invoke(task);
+        if(!(value instanceof Boolean)) {
+            throw new ValueTypeException(VariableValues.BOOL, value);
+        }
+        return (Boolean) value;
+    }
+
+}
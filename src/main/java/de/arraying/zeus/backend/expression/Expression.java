@@ -0,0 +1,115 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.variable.VariableValues;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface Expression {
+
+    /**
+     * Evaluates the expression.
+     * Expressions are immutable and shared between tasks, all state lives in the task.
+     * @param task The task to evaluate the expression in.
+     * @return The value, or null if a method invocation did not return anything.
+     * @throws ZeusException If an error occurs.
+     */
+    Object evaluate(ZeusTaskImpl task) throws ZeusException;
+
+    /**
+     * Gets the type of the value, should it be known without evaluating the expression.
+     * @return The type, or null if it is not known ahead of time.
+     */
+    default VariableValues getType() {
+        return null;
+    }
+
+    /**
+     * Gets the type the value would currently have, without evaluating the expression.
+     * This is used to pick a typed evaluation, the expression must not have any side effects.
+     * @param task The task to evaluate the expression in.
+     * @return The type, or null if it can not be determined without evaluating the expression.
+     */
+    default VariableValues getType(ZeusTaskImpl task) {
+        return getType();
+    }
+
+    /**
+     * Evaluates the expression to an integer, without boxing where possible.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ValueTypeException If the value is not an integer.
+     * @throws ZeusException If another error occurs.
+     */
+    default int evaluateInt(ZeusTaskImpl task)
+            throws ZeusException {
+        Object value = evaluate(task);
+        if(!(value instanceof Integer)) {
+            throw new ValueTypeException(VariableValues.INT, value);
+        }
+        return (Integer) value;
+    }
+
+    /**
+     * Evaluates the expression to a long, without boxing where possible.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ValueTypeException If the value is not a long.
+     * @throws ZeusException If another error occurs.
+     */
+    default long evaluateLong(ZeusTaskImpl task)
+            throws ZeusException {
+        Object value = evaluate(task);
+        if(!(value instanceof Long)) {
+            throw new ValueTypeException(VariableValues.LONG, value);
+        }
+        return (Long) value;
+    }
+
+    /**
+     * Evaluates the expression to a double, without boxing where possible.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ValueTypeException If the value is not a double.
+     * @throws ZeusException If another error occurs.
+     */
+    default double evaluateDouble(ZeusTaskImpl task)
+            throws ZeusException {
+        Object value = evaluate(task);
+        if(!(value instanceof Double)) {
+            throw new ValueTypeException(VariableValues.DOUBLE, value);
+        }
+        return (Double) value;
+    }
+
+    /**
+     * Evaluates the expression to a boolean, without boxing where possible.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ValueTypeException If the value is not a boolean.
+     * @throws ZeusException If another error occurs.
+     */
+    default boolean evaluateBoolean(ZeusTaskImpl task)
+            throws ZeusException {
+        Object value = evaluate(task);
+        if(!(value instanceof Boolean)) {
+            throw new ValueTypeException(VariableValues.BOOL, value);
+        }
+        return (Boolean) value;
+    }
+
+}
@@ -0,0 +1,205 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusMethods;
+import de.arraying.zeus.token.Token;
+import de.arraying.zeus.utils.ZeusVariableUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ExpressionParser {
+
+    private final ZeusMethods methods;
+    private final Token[] tokens;
+    private final int[] slots;
+    private final int end;
+    private final int lineNumber;
+    private int position;
+
+    /**
+     * Parses the value starting at the specified index.
+     * A value is either a type value, a variable reference or a method invocation.
+     * Method invocations are resolved against the provided methods right away, invocations of standard methods
+     * that have an intrinsic are replaced by it.
+     * @param methods The methods of the runtime.
+     * @param tokens An array of all the line's tokens.
+     * @param slots An array containing the variable slot of each token, or -1 if the token has none.
+     * @param start The index where the value starts.
+     * @param lineNumber The line number.
+     * @return The expression tree.
+     * @throws ZeusException If the value could not be parsed or an invoked method does not exist.
+     */
+    public static Expression parse(ZeusMethods methods, Token[] tokens, int[] slots, int start, int lineNumber)
+            throws ZeusException {
+        return parse(methods, tokens, slots, start, tokens.length, lineNumber);
+    }
+
+    /**
+     * Parses the value between the specified indices.
+     * @param methods The methods of the runtime.
+     * @param tokens An array of all the line's tokens.
+     * @param slots An array containing the variable slot of each token, or -1 if the token has none.
+     * @param start The index where the value starts.
+     * @param end The index where the value ends, exclusive.
+     * @param lineNumber The line number.
+     * @return The expression tree.
+     * @throws ZeusException If the value could not be parsed or an invoked method does not exist.
+     */
+    public static Expression parse(ZeusMethods methods, Token[] tokens, int[] slots, int start, int end, int lineNumber)
+            throws ZeusException {
+        if(start < 0
+                || start >= end) {
+            throw new ZeusException("Expected a value.", lineNumber);
+        }
+        Token value = tokens[start];
+        if(value.getType().isDataType()) {
+            Object literal = ZeusVariableUtil.getVariableValue(value);
+            if(literal == null) {
+                throw new ZeusException("Invalid value.", lineNumber);
+            }
+            if(start + 1 < end) {
+                throw new ZeusException("Unexpected token after the value (\"" + tokens[start + 1].getToken() + "\").", lineNumber);
+            }
+            return new LiteralExpression(literal);
+        }
+        if(value.getType() != Patterns.IDENTIFIER) {
+            throw new ZeusException("Found unexpected token as a value.", lineNumber);
+        }
+        if(start + 1 == end) {
+            return new VariableExpression(value.getToken(), slots[start], false, lineNumber);
+        }
+        ExpressionParser parser = new ExpressionParser(methods, tokens, slots, start, end, lineNumber);
+        Expression expression = parser.parseCall();
+        if(parser.position < end) {
+            throw new ZeusException("Unexpected token after the method invocation (\"" + tokens[parser.position].getToken() + "\").", lineNumber);
+        }
+        return expression;
+    }
+
+    /**
+     * Creates a new parser.
+     * @param methods The methods of the runtime.
+     * @param tokens An array of all the line's tokens.
+     * @param slots An array containing the variable slot of each token.
+     * @param position The index to start parsing at.
+     * @param end The index to stop parsing at, exclusive.
+     * @param lineNumber The line number.
+     */
+    private ExpressionParser(ZeusMethods methods, Token[] tokens, int[] slots, int position, int end, int lineNumber) {
+        this.methods = methods;
+        this.tokens = tokens;
+        this.slots = slots;
+        this.position = position;
+        this.end = end;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Parses a method invocation, including all nested invocations.
+     * @return The call expression.
+     * @throws ZeusException If the invocation is malformed or the method does not exist.
+     */
+    private Expression parseCall()
+            throws ZeusException {
+        String identifier = tokens[position++].getToken();
+        if(!isToken(position, "(")) {
+            throw new ZeusException("Expected an opening bracket after the method identifier \"" + identifier + "\".", lineNumber);
+        }
+        position++;
+        List<Expression> parameters = new ArrayList<>();
+        if(isToken(position, ")")) {
+            position++;
+            return Intrinsics.create(resolve(identifier, 0), new Expression[0], lineNumber);
+        }
+        while(true) {
+            parameters.add(parseParameter());
+            if(isToken(position, ")")) {
+                position++;
+                break;
+            }
+            if(position >= end) {
+                throw new ZeusException("Expected a closing bracket for the method invocation of \"" + identifier + "\".", lineNumber);
+            }
+            if(!isToken(position, ",")) {
+                throw new ZeusException("Expected comma in the parameters of the method invocation.", lineNumber);
+            }
+            position++;
+        }
+        return Intrinsics.create(resolve(identifier, parameters.size()), parameters.toArray(new Expression[parameters.size()]), lineNumber);
+    }
+
+    /**
+     * Resolves the target of a method invocation.
+     * @param identifier The method identifier.
+     * @param parameterCount The amount of parameters.
+     * @return The method target.
+     * @throws ZeusException If the method does not exist.
+     */
+    private MethodTarget resolve(String identifier, int parameterCount)
+            throws ZeusException {
+        MethodTarget target = methods.resolve(identifier, parameterCount);
+        if(target == null) {
+            throw new ZeusException("A method with the identifier \"" + identifier + "\" and " + parameterCount + " parameter(s) does not exist.", lineNumber);
+        }
+        return target;
+    }
+
+    /**
+     * Parses a single method parameter.
+     * @return The parameter expression.
+     * @throws ZeusException If the parameter is malformed.
+     */
+    private Expression parseParameter()
+            throws ZeusException {
+        if(position >= end) {
+            throw new ZeusException("Expected a method parameter, found the end of the line instead.", lineNumber);
+        }
+        Token token = tokens[position];
+        if(token.getType() == Patterns.IDENTIFIER) {
+            if(isToken(position + 1, "(")) {
+                return parseCall();
+            }
+            return new VariableExpression(token.getToken(), slots[position++], true, lineNumber);
+        }
+        if(!token.getType().isDataType()) {
+            throw new ZeusException("Expected a type value, found other token instead (\"" + token.getToken() + "\").", lineNumber);
+        }
+        Object value = ZeusVariableUtil.getVariableValue(token);
+        if(value == null) {
+            throw new ZeusException("The value given as one of the method parameters is invalid (\"" + token.getToken() + "\").", lineNumber);
+        }
+        position++;
+        return new LiteralExpression(value);
+    }
+
+    /**
+     * Whether or not the token at the index is the specified general token.
+     * @param index The index.
+     * @param token The general token, literally.
+     * @return True if it is, false otherwise.
+     */
+    private boolean isToken(int index, String token) {
+        return index < end
+                && tokens[index].getType() == Patterns.TOKEN
+                && tokens[index].getToken().equals(token);
+    }
+
+}
@@ -0,0 +1,149 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.standard.method.methods.ArithmeticMethods;
+import de.arraying.zeus.standard.method.methods.ComparisonMethods;
+import de.arraying.zeus.standard.method.methods.LogicMethods;
+import de.arraying.zeus.utils.ZeusUtil;
+import de.arraying.zeus.variable.VariableValues;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class Intrinsics {
+
+    private static final Map<Method, Intrinsic> INTRINSICS = new HashMap<>();
+
+    static {
+        String[] suffixes = {"", "_i", "_l", "_d"};
+        VariableValues[] types = {VariableValues.INT, VariableValues.INT, VariableValues.LONG, VariableValues.DOUBLE};
+        for(int i = 0; i < suffixes.length; i++) {
+            String suffix = suffixes[i];
+            VariableValues type = types[i];
+            Class<?> wrapper = type.getValueClass();
+            registerArithmetic("add" + suffix, ArithmeticExpression.Operation.ADD, type, Object[].class);
+            registerArithmetic("subtract" + suffix, ArithmeticExpression.Operation.SUBTRACT, type, Object[].class);
+            registerArithmetic("multiply" + suffix, ArithmeticExpression.Operation.MULTIPLY, type, Object[].class);
+            registerArithmetic("divide" + suffix, ArithmeticExpression.Operation.DIVIDE, type, Object[].class);
+            registerArithmetic("modulo" + suffix, ArithmeticExpression.Operation.MODULO, type, wrapper, wrapper);
+            registerArithmetic("incr" + suffix, ArithmeticExpression.Operation.INCREMENT, type, wrapper);
+            registerArithmetic("decr" + suffix, ArithmeticExpression.Operation.DECREMENT, type, wrapper);
+        }
+        registerComparison("less", ZeusUtil.COMP_LESS);
+        registerComparison("less_or_equal", ZeusUtil.COMP_LESS_OR_EQUAL);
+        registerComparison("more_or_equal", ZeusUtil.COMP_MORE_OR_EQUAL);
+        registerComparison("more", ZeusUtil.COMP_MORE);
+        register(ComparisonMethods.class, "equals", (target, parameters, lineNumber) ->
+                new EqualityExpression(target, parameters[0], parameters[1], lineNumber), Object.class, Object.class);
+        registerLogic("and", LogicExpression.Operation.AND, boolean.class, boolean.class);
+        registerLogic("and", LogicExpression.Operation.AND, Object[].class);
+        registerLogic("or", LogicExpression.Operation.OR, boolean.class, boolean.class);
+        registerLogic("or", LogicExpression.Operation.OR, Object[].class);
+        registerLogic("not", LogicExpression.Operation.NOT, boolean.class);
+    }
+
+    /**
+     * Creates the expression for a method invocation.
+     * Should the method be one of the standard library that has an intrinsic, the intrinsic is used instead of
+     * invoking the method. Methods are looked up exactly, so a method with the same identifier in another method
+     * container, or in a subclass of a standard method container, is always invoked.
+     * @param target The method target.
+     * @param parameters An array of parameter expressions.
+     * @param lineNumber The line number.
+     * @return The expression.
+     * @throws ZeusException If the parameters can never be valid for the intrinsic.
+     */
+    static CallExpression create(MethodTarget target, Expression[] parameters, int lineNumber)
+            throws ZeusException {
+        Intrinsic intrinsic = INTRINSICS.get(target.getMethod());
+        if(intrinsic == null) {
+            return new CallExpression(target, parameters, lineNumber);
+        }
+        return intrinsic.create(target, parameters, lineNumber);
+    }
+
+    /**
+     * Registers an arithmetic method.
+     * @param name The name of the method.
+     * @param operation The operation.
+     * @param type The type of the operands and the result.
+     * @param parameterTypes An array of the parameter types of the method.
+     */
+    private static void registerArithmetic(String name, ArithmeticExpression.Operation operation, VariableValues type, Class<?>... parameterTypes) {
+        register(ArithmeticMethods.class, name, (target, parameters, lineNumber) ->
+                new ArithmeticExpression(operation, type, target, parameters, lineNumber), parameterTypes);
+    }
+
+    /**
+     * Registers a numeric comparison method.
+     * @param name The name of the method.
+     * @param comparison The type of comparison, as defined in ZeusUtil.
+     */
+    private static void registerComparison(String name, int comparison) {
+        register(ComparisonMethods.class, name, (target, parameters, lineNumber) ->
+                new ComparisonExpression(comparison, target, parameters[0], parameters[1], lineNumber), Number.class, Number.class);
+    }
+
+    /**
+     * Registers a logic method.
+     * @param name The name of the method.
+     * @param operation The operation.
+     * @param parameterTypes An array of the parameter types of the method.
+     */
+    private static void registerLogic(String name, LogicExpression.Operation operation, Class<?>... parameterTypes) {
+        register(LogicMethods.class, name, (target, parameters, lineNumber) ->
+                new LogicExpression(operation, target, parameters, lineNumber), parameterTypes);
+    }
+
+    /**
+     * Registers the intrinsic of a standard method.
+     * @param container The standard method container that declares the method.
+     * @param name The name of the method.
+     * @param intrinsic The intrinsic.
+     * @param parameterTypes An array of the parameter types of the method.
+     */
+    private static void register(Class<?> container, String name, Intrinsic intrinsic, Class<?>... parameterTypes) {
+        try {
+            INTRINSICS.put(container.getMethod(name, parameterTypes), intrinsic);
+        } catch(NoSuchMethodException exception) {
+            throw new IllegalStateException("The standard method " + name + " does not exist.", exception);
+        }
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private Intrinsics() {}
+
+    private interface Intrinsic {
+
+        /**
+         * Creates the expression that replaces the invocation of the standard method.
+         * @param target The target of the standard method.
+         * @param parameters An array of parameter expressions.
+         * @param lineNumber The line number.
+         * @return The expression.
+         * @throws ZeusException If the parameters can never be valid for the intrinsic.
+         */
+        CallExpression create(MethodTarget target, Expression[] parameters, int lineNumber) throws ZeusException;
+
+    }
+
+}
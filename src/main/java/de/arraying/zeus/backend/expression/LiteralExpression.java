@@ -0,0 +1,127 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.utils.ZeusUtil;
+import de.arraying.zeus.variable.VariableValues;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class LiteralExpression implements Expression {
+
+    private final Object value;
+    private final VariableValues type;
+    private final long bits;
+
+    /**
+     * Creates a new literal expression.
+     * Numbers and booleans are additionally kept unboxed, so typed evaluation never has to unbox them.
+     * @param value The value, already converted from its token.
+     */
+    LiteralExpression(Object value) {
+        this.value = value;
+        this.type = VariableValues.fromClass(value.getClass());
+        this.bits = ZeusUtil.toBits(value);
+    }
+
+    /**
+     * Evaluates the literal.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     */
+    @Override
+    public Object evaluate(ZeusTaskImpl task) {
+        return value;
+    }
+
+    /**
+     * Gets the type of the literal.
+     * @return The type.
+     */
+    @Override
+    public VariableValues getType() {
+        return type;
+    }
+
+    /**
+     * Evaluates the literal to an integer.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the literal is not an integer.
+     */
+    @Override
+    public int evaluateInt(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.INT) {
+            throw new ValueTypeException(VariableValues.INT, value);
+        }
+        return (int) bits;
+    }
+
+    /**
+     * Evaluates the literal to a long.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the literal is not a long.
+     */
+    @Override
+    public long evaluateLong(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.LONG) {
+            throw new ValueTypeException(VariableValues.LONG, value);
+        }
+        return bits;
+    }
+
+    /**
+     * Evaluates the literal to a double.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the literal is not a double.
+     */
+    @Override
+    public double evaluateDouble(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.DOUBLE) {
+            throw new ValueTypeException(VariableValues.DOUBLE, value);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Evaluates the literal to a boolean.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the literal is not a boolean.
+     */
+    @Override
+    public boolean evaluateBoolean(ZeusTaskImpl task)
+            throws ZeusException {
+        if(type != VariableValues.BOOL) {
+            throw new ValueTypeException(VariableValues.BOOL, value);
+        }
+        return bits != 0;
+    }
+
+    /**
+     * Gets the value of the literal.
+     * @return The value.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+}
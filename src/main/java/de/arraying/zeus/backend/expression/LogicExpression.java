@@ -0,0 +1,169 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.variable.VariableValues;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class LogicExpression extends CallExpression {
+
+    /**
+     * The logical operations of the standard library.
+     */
+    public enum Operation {
+
+        /**
+         * Whether or not all operands are true.
+         */
+        AND,
+
+        /**
+         * Whether or not any operand is true.
+         */
+        OR,
+
+        /**
+         * Negates the single operand.
+         */
+        NOT
+
+    }
+
+    private final Operation operation;
+    private final Expression[] operands;
+
+    /**
+     * Creates a new logic expression.
+     * It replaces an invocation of one of the standard logic methods and evaluates the operands lazily,
+     * from left to right, until one of them decides the result. The remaining operands are never evaluated.
+     * Operands whose type is known ahead of time, such as literals, have to be booleans, so that an operand that
+     * is skipped can not hide a type error. Other operands that are not booleans cause the same error as invoking
+     * the method would once they are evaluated.
+     * @param operation The operation.
+     * @param target The target of the standard method.
+     * @param operands An array of operand expressions.
+     * @param lineNumber The line number.
+     * @throws ZeusException If an operand is known not to be a boolean.
+     */
+    LogicExpression(Operation operation, MethodTarget target, Expression[] operands, int lineNumber)
+            throws ZeusException {
+        super(target, operands, lineNumber);
+        this.operation = operation;
+        this.operands = operands;
+        for(int i = 0; i < operands.length; i++) {
+            VariableValues type = operands[i].getType();
+            if(type != null
+                    && type != VariableValues.BOOL) {
+                throw new ZeusException("Expected a value of type " + VariableValues.BOOL + " as operand " + (i + 1)
+                        + ", found a value of type " + type + ".", lineNumber);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the operation.
+     * @param task The task to evaluate the expression in.
+     * @return The boxed result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public Object evaluate(ZeusTaskImpl task)
+            throws ZeusException {
+        return evaluateBoolean(task) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /**
+     * Gets the type of the result.
+     * @return Always a boolean.
+     */
+    @Override
+    public VariableValues getType() {
+        return VariableValues.BOOL;
+    }
+
+    /**
+     * Evaluates the operation, stopping at the first operand that decides the result.
+     * @param task The task to evaluate the expression in.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public boolean evaluateBoolean(ZeusTaskImpl task)
+            throws ZeusException {
+        if(operation == Operation.NOT) {
+            boolean result = !evaluateOperand(task, operands[0]);
+            task.countInvocation(getLineNumber());
+            return result;
+        }
+        boolean conjunction = operation == Operation.AND;
+        boolean result = conjunction;
+        for(Expression operand : operands) {
+            if(evaluateOperand(task, operand) != conjunction) {
+                result = !conjunction;
+                break;
+            }
+        }
+        task.countInvocation(getLineNumber());
+        return result;
+    }
+
+    /**
+     * Evaluates a single operand.
+     * @param task The task to evaluate the expression in.
+     * @param operand The operand.
+     * @return The value.
+     * @throws ZeusException If the operand could not be evaluated or is not a boolean.
+     */
+    private boolean evaluateOperand(ZeusTaskImpl task, Expression operand)
+            throws ZeusException {
+        if(operand.getType() == VariableValues.BOOL) {
+            return operand.evaluateBoolean(task);
+        }
+        Object value = operand.evaluate(task);
+        if(value == null) {
+            throw new ZeusException("The embedded method provided in the method illegally returned null.", getLineNumber());
+        }
+        if(!(value instanceof Boolean)) {
+            throw getTypeError(value);
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * Gets the error for an operand that is not a boolean.
+     * This is the error invoking the standard method with the operand would cause.
+     * @param value The value of the operand.
+     * @return The exception.
+     */
+    public ZeusException getTypeError(Object value) {
+        if(getTarget().getMethod().isVarArgs()) {
+            return new ZeusException("Invoking the method caused an error.", getLineNumber());
+        }
+        ClassCastException exception = new ClassCastException("Cannot cast " + value.getClass().getName() + " to java.lang.Boolean");
+        return new ZeusException("Encountered " + exception.toString(), getLineNumber());
+    }
+
+    /**
+     * Gets the operation.
+     * @return The operation.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+}
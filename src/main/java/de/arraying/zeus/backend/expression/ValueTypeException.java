@@ -0,0 +1,57 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.variable.VariableValues;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ValueTypeException extends ZeusException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final VariableValues expected;
+    private final Object value;
+
+    /**
+     * Creates a new value type exception.
+     * It is thrown by the typed evaluation of an expression, should the value not be of the requested type.
+     * The exception does not have a line number, the caller is expected to report it within its own context.
+     * @param expected The requested type.
+     * @param value The actual value, can be null.
+     */
+    ValueTypeException(VariableValues expected, Object value) {
+        super("Expected a value of type " + expected + ", found \"" + value + "\".");
+        this.expected = expected;
+        this.value = value;
+    }
+
+    /**
+     * Gets the requested type.
+     * @return The type.
+     */
+    public VariableValues getExpected() {
+        return expected;
+    }
+
+    /**
+     * Gets the actual value.
+     * @return The value, can be null.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+}
@@ -0,0 +1,175 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.variable.VariableValues;
+import de.arraying.zeus.variable.ZeusVariable;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class VariableExpression implements Expression {
+
+    private final String identifier;
+    private final int slot;
+    private final boolean parameter;
+    private final int lineNumber;
+
+    /**
+     * Creates a new variable reference expression.
+     * @param identifier The variable identifier.
+     * @param slot The variable slot, or -1 if the variable has to be looked up by its identifier.
+     * @param parameter Whether or not the variable is a method parameter, used in exception handling.
+     * @param lineNumber The line number.
+     */
+    VariableExpression(String identifier, int slot, boolean parameter, int lineNumber) {
+        this.identifier = identifier;
+        this.slot = slot;
+        this.parameter = parameter;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Evaluates the variable reference.
+     * @param task The task to evaluate the expression in.
+     * @return The value of the variable.
+     * @throws ZeusException If the variable does not exist.
+     */
+    @Override
+    public Object evaluate(ZeusTaskImpl task)
+            throws ZeusException {
+        Object value = slot == -1 ? value(task.getVariable(identifier)) : task.getValue(slot);
+        if(value == null) {
+            throw new ZeusException("The variable \"" + identifier + "\" defined " + (parameter ? "in the method parameters " : "") + "does not exist.", lineNumber);
+        }
+        return value;
+    }
+
+    /**
+     * Gets the type the variable currently has.
+     * @param task The task to evaluate the expression in.
+     * @return The type, or null if the variable does not exist or has to be looked up by its identifier.
+     */
+    @Override
+    public VariableValues getType(ZeusTaskImpl task) {
+        return slot == -1 ? null : task.getKind(slot);
+    }
+
+    /**
+     * Evaluates the variable reference to an integer, reading the unboxed value of the slot.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the variable does not exist or is not an integer.
+     */
+    @Override
+    public int evaluateInt(ZeusTaskImpl task)
+            throws ZeusException {
+        if(slot != -1
+                && task.getKind(slot) == VariableValues.INT) {
+            return (int) task.getBits(slot);
+        }
+        return Expression.super.evaluateInt(task);
+    }
+
+    /**
+     * Evaluates the variable reference to a long, reading the unboxed value of the slot.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the variable does not exist or is not a long.
+     */
+    @Override
+    public long evaluateLong(ZeusTaskImpl task)
+            throws ZeusException {
+        if(slot != -1
+                && task.getKind(slot) == VariableValues.LONG) {
+            return task.getBits(slot);
+        }
+        return Expression.super.evaluateLong(task);
+    }
+
+    /**
+     * Evaluates the variable reference to a double, reading the unboxed value of the slot.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the variable does not exist or is not a double.
+     */
+    @Override
+    public double evaluateDouble(ZeusTaskImpl task)
+            throws ZeusException {
+        if(slot != -1
+                && task.getKind(slot) == VariableValues.DOUBLE) {
+            return Double.longBitsToDouble(task.getBits(slot));
+        }
+        return Expression.super.evaluateDouble(task);
+    }
+
+    /**
+     * Evaluates the variable reference to a boolean, reading the unboxed value of the slot.
+     * @param task The task to evaluate the expression in.
+     * @return The value.
+     * @throws ZeusException If the variable does not exist or is not a boolean.
+     */
+    @Override
+    public boolean evaluateBoolean(ZeusTaskImpl task)
+            throws ZeusException {
+        if(slot != -1
+                && task.getKind(slot) == VariableValues.BOOL) {
+            return task.getBits(slot) != 0;
+        }
+        return Expression.super.evaluateBoolean(task);
+    }
+
+    /**
+     * Gets the value of a variable.
+     * @param variable The variable, can be null.
+     * @return The value, or null if the variable is null.
+     */
+    private static Object value(ZeusVariable variable) {
+        return variable == null ? null : variable.value();
+    }
+
+    /**
+     * Gets the variable identifier.
+     * @return The identifier.
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Gets the variable slot.
+     * @return The slot, or -1 if the variable has to be looked up by its identifier.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Whether or not the variable is a method parameter.
+     * @return True if it is, false otherwise.
+     */
+    public boolean isParameter() {
+        return parameter;
+    }
+
+    /**
+     * Gets the line number.
+     * @return The line number.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+}
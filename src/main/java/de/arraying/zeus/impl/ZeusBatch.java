@@ -0,0 +1,115 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusScript;
+import de.arraying.zeus.variable.ZeusVariable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class ZeusBatch extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ZeusRuntimeImpl runtime;
+    private final List<? extends ZeusScript> scripts;
+    private final List<ZeusVariable[]> bindings;
+    private final ZeusResult[] results;
+    private final int from;
+    private final int to;
+    private final int granularity;
+
+    /**
+     * Creates a new batch of evaluations.
+     * The batch is split in halves until a part has no more evaluations than the granularity, so idle
+     * workers of a fork/join pool can steal the remaining parts. The evaluations of a part are run one
+     * after another, consecutive evaluations of the same script reuse their variable frame.
+     * Should an evaluation not be possible at all, its result is an error result and the batch continues.
+     * @param runtime The runtime.
+     * @param scripts A list of scripts, one per evaluation.
+     * @param bindings A list of variable arrays, one per evaluation, or null if there are no bindings.
+     * @param results The array the results are stored in, at the index of their evaluation.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param granularity The maximum amount of evaluations of a part that is not split any further.
+     */
+    ZeusBatch(ZeusRuntimeImpl runtime, List<? extends ZeusScript> scripts, List<ZeusVariable[]> bindings, ZeusResult[] results, int from, int to, int granularity) {
+        this.runtime = runtime;
+        this.scripts = scripts;
+        this.bindings = bindings;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+    }
+
+    /**
+     * Evaluates the batch, splitting it should it be too large.
+     */
+    @Override
+    protected void compute() {
+        if(to - from <= granularity) {
+            evaluate();
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ZeusBatch(runtime, scripts, bindings, results, from, middle, granularity),
+                new ZeusBatch(runtime, scripts, bindings, results, middle, to, granularity));
+    }
+
+    /**
+     * Evaluates all evaluations of the batch on the current thread.
+     */
+    void evaluate() {
+        ZeusScript previous = null;
+        ZeusFrame frame = null;
+        for(int i = from; i < to; i++) {
+            ZeusScript script = scripts.get(i);
+            ZeusTaskImpl task;
+            try {
+                task = runtime.createTask(script, 0, -1, null, true, script == previous ? frame : null);
+            } catch(ZeusException exception) {
+                results[i] = createErrorResult(exception);
+                continue;
+            }
+            if(bindings != null) {
+                task.bind(bindings.get(i));
+            }
+            task.run();
+            results[i] = task.getResult();
+            previous = script;
+            frame = task.getFrame();
+        }
+    }
+
+    /**
+     * Creates the result of an evaluation that could not be started.
+     * @param exception The reason the evaluation could not be started.
+     * @return The error result, without any variables or statements.
+     */
+    private ZeusResult createErrorResult(ZeusException exception) {
+        ZeusLimits limits = runtime.getLimits();
+        return new ZeusResultImpl(ZeusResult.Outcome.ERROR, exception, Collections.emptyMap(), 0,
+                limits.getInvocations() == -1 ? -1 : 0,
+                limits.getStringBytes() == -1 ? -1 : 0,
+                0);
+    }
+
+}
@@ -0,0 +1,272 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.utils.ZeusUtil;
+import de.arraying.zeus.variable.VariableType;
+import de.arraying.zeus.variable.VariableValues;
+import de.arraying.zeus.variable.ZeusVariable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusFrame {
+
+    private final ZeusScriptImpl script;
+    private final Base base;
+    private String[] identifiers;
+    private VariableType[] types;
+    private VariableValues[] kinds;
+    private long[] bits;
+    private Object[] values;
+    private Map<String, Integer> dynamicSlots;
+
+    /**
+     * Creates a new variable frame.
+     * The first slots are reserved for the predefined variables, which are not copied into the frame. Instead,
+     * they are read from the shared base until the slot is written to, which only changes the frame.
+     * A slot is declared if it has a type, the value of an undeclared slot is null.
+     * Numbers and booleans are stored unboxed as raw bits alongside their kind. The value array holds strings,
+     * and for numbers and booleans a lazily created box that is dropped whenever the bits change.
+     * @param script The script the frame is for.
+     * @param base The base holding the predefined variables.
+     */
+    ZeusFrame(ZeusScriptImpl script, Base base) {
+        this.script = script;
+        this.base = base;
+        this.identifiers = script.getIdentifiers();
+        this.types = new VariableType[identifiers.length];
+        this.kinds = new VariableValues[identifiers.length];
+        this.bits = new long[identifiers.length];
+        this.values = new Object[identifiers.length];
+    }
+
+    /**
+     * Resets the frame, so it can be reused for another evaluation of the same script.
+     * All slots are undeclared and dynamically created slots are dropped, so the predefined variables are read from the base again.
+     */
+    void reset() {
+        if(dynamicSlots != null) {
+            identifiers = script.getIdentifiers();
+            types = Arrays.copyOf(types, identifiers.length);
+            kinds = Arrays.copyOf(kinds, identifiers.length);
+            bits = Arrays.copyOf(bits, identifiers.length);
+            values = Arrays.copyOf(values, identifiers.length);
+            dynamicSlots = null;
+        }
+        Arrays.fill(types, null);
+        Arrays.fill(kinds, null);
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * Gets the slot of a variable.
+     * @param identifier The variable identifier.
+     * @param create Whether or not to create a slot, should the identifier not have one yet.
+     * @return The slot, or -1 if it does not exist and should not be created.
+     */
+    int getSlot(String identifier, boolean create) {
+        int slot = script.getSlot(identifier);
+        if(slot != -1) {
+            return slot;
+        }
+        Integer dynamicSlot = dynamicSlots == null ? null : dynamicSlots.get(identifier);
+        if(dynamicSlot != null) {
+            return dynamicSlot;
+        }
+        if(!create) {
+            return -1;
+        }
+        if(dynamicSlots == null) {
+            dynamicSlots = new HashMap<>();
+        }
+        slot = identifiers.length;
+        identifiers = Arrays.copyOf(identifiers, slot + 1);
+        types = Arrays.copyOf(types, slot + 1);
+        kinds = Arrays.copyOf(kinds, slot + 1);
+        bits = Arrays.copyOf(bits, slot + 1);
+        values = Arrays.copyOf(values, slot + 1);
+        identifiers[slot] = identifier;
+        dynamicSlots.put(identifier, slot);
+        return slot;
+    }
+
+    /**
+     * Gets the amount of slots, including the ones created dynamically.
+     * @return The amount of slots.
+     */
+    int getSize() {
+        return identifiers.length;
+    }
+
+    /**
+     * Gets the identifier of a slot.
+     * @param slot The slot.
+     * @return The identifier.
+     */
+    String getIdentifier(int slot) {
+        return identifiers[slot];
+    }
+
+    /**
+     * Gets the type of a slot.
+     * @param slot The slot.
+     * @return The type, or null if the slot has not been declared.
+     */
+    VariableType getType(int slot) {
+        return isShared(slot) ? base.types[slot] : types[slot];
+    }
+
+    /**
+     * Gets the kind of value a slot currently holds.
+     * @param slot The slot.
+     * @return The kind, or null if the slot has not been declared or does not hold a supported value.
+     */
+    VariableValues getKind(int slot) {
+        return isShared(slot) ? base.kinds[slot] : kinds[slot];
+    }
+
+    /**
+     * Gets the raw bits of a slot holding a number or boolean.
+     * @param slot The slot.
+     * @return The bits, only meaningful if the kind of the slot is not a string.
+     */
+    long getBits(int slot) {
+        return isShared(slot) ? base.bits[slot] : bits[slot];
+    }
+
+    /**
+     * Gets the value of a slot.
+     * Numbers and booleans are boxed on the first read after they have been changed.
+     * @param slot The slot.
+     * @return The value, or null if the slot has not been declared.
+     */
+    Object getValue(int slot) {
+        if(isShared(slot)) {
+            return base.values[slot];
+        }
+        Object value = values[slot];
+        VariableValues kind = kinds[slot];
+        if(value == null
+                && kind != null
+                && kind != VariableValues.STRING) {
+            value = ZeusUtil.fromBits(kind, bits[slot]);
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Declares a slot.
+     * @param slot The slot.
+     * @param type The variable type.
+     * @param value The value.
+     */
+    void declare(int slot, VariableType type, Object value) {
+        types[slot] = type;
+        setValue(slot, value);
+    }
+
+    /**
+     * Declares a slot with a number or boolean.
+     * @param slot The slot.
+     * @param type The variable type.
+     * @param kind The kind of the value, which must not be a string.
+     * @param value The raw bits of the value.
+     */
+    void declare(int slot, VariableType type, VariableValues kind, long value) {
+        types[slot] = type;
+        setBits(slot, kind, value);
+    }
+
+    /**
+     * Sets the value of an already declared slot.
+     * @param slot The slot.
+     * @param value The value.
+     */
+    void setValue(int slot, Object value) {
+        own(slot);
+        kinds[slot] = VariableValues.fromClass(value.getClass());
+        bits[slot] = ZeusUtil.toBits(value);
+        values[slot] = value;
+    }
+
+    /**
+     * Sets the value of an already declared slot to a number or boolean.
+     * @param slot The slot.
+     * @param kind The kind of the value, which must not be a string.
+     * @param value The raw bits of the value.
+     */
+    void setBits(int slot, VariableValues kind, long value) {
+        own(slot);
+        kinds[slot] = kind;
+        bits[slot] = value;
+        values[slot] = null;
+    }
+
+    /**
+     * Checks whether or not a slot is still read from the base.
+     * @param slot The slot.
+     * @return True if it is, false otherwise.
+     */
+    private boolean isShared(int slot) {
+        return types[slot] == null
+                && slot < base.types.length;
+    }
+
+    /**
+     * Copies the type of a slot that is still read from the base into the frame, before its value is written to.
+     * The value itself is written right after, so it is not copied.
+     * @param slot The slot.
+     */
+    private void own(int slot) {
+        if(isShared(slot)) {
+            types[slot] = base.types[slot];
+        }
+    }
+
+    /**
+     * The immutable predefined variables shared by all frames of a runtime.
+     */
+    static final class Base {
+
+        private final VariableType[] types;
+        private final VariableValues[] kinds;
+        private final long[] bits;
+        private final Object[] values;
+
+        /**
+         * Creates a new base.
+         * @param predefined An array of predefined variables, ordered by slot.
+         */
+        Base(ZeusVariable[] predefined) {
+            types = new VariableType[predefined.length];
+            kinds = new VariableValues[predefined.length];
+            bits = new long[predefined.length];
+            values = new Object[predefined.length];
+            for(int i = 0; i < predefined.length; i++) {
+                Object value = predefined[i].value();
+                types[i] = predefined[i].type();
+                kinds[i] = VariableValues.fromClass(value.getClass());
+                bits[i] = ZeusUtil.toBits(value);
+                values[i] = value;
+            }
+        }
+
+    }
+
+}
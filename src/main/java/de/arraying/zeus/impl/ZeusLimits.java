@@ -0,0 +1,81 @@
+package de.arraying.zeus.impl;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public final class ZeusLimits {
+
+    private final long statements;
+    private final long invocations;
+    private final long stringBytes;
+    private final long variables;
+
+    /**
+     * Creates new limits, which apply to every task individually.
+     * @param statements The maximum amount of statements evaluated, or -1 for no limit.
+     * @param invocations The maximum amount of methods invoked, or -1 for no limit.
+     * @param stringBytes The maximum amount of bytes of strings returned by methods, or -1 for no limit.
+     * @param variables The maximum amount of variables declared, or -1 for no limit.
+     */
+    public ZeusLimits(long statements, long invocations, long stringBytes, long variables) {
+        this.statements = statements;
+        this.invocations = invocations;
+        this.stringBytes = stringBytes;
+        this.variables = variables;
+    }
+
+    /**
+     * Gets the maximum amount of statements evaluated.
+     * @return The maximum, or -1 for no limit.
+     */
+    long getStatements() {
+        return statements;
+    }
+
+    /**
+     * Gets the maximum amount of methods invoked.
+     * @return The maximum, or -1 for no limit.
+     */
+    long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * Gets the maximum amount of bytes of strings returned by methods.
+     * @return The maximum, or -1 for no limit.
+     */
+    long getStringBytes() {
+        return stringBytes;
+    }
+
+    /**
+     * Gets the maximum amount of variables declared.
+     * @return The maximum, or -1 for no limit.
+     */
+    long getVariables() {
+        return variables;
+    }
+
+    /**
+     * Whether or not method invocations are accounted for.
+     * Compiled scripts do not account for them, so scripts stay interpreted if this is the case.
+     * @return True if they are, false otherwise.
+     */
+    boolean isAccountingInvocations() {
+        return invocations != -1
+                || stringBytes != -1;
+    }
+
+}
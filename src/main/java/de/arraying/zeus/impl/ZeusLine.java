@@ -0,0 +1,132 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusMethods;
+import de.arraying.zeus.backend.expression.Expression;
+import de.arraying.zeus.backend.expression.ExpressionParser;
+import de.arraying.zeus.token.Token;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusLine {
+
+    private final ZeusMethods methods;
+    private final int lineNumber;
+    private final Token[] tokens;
+    private final int[] slots;
+    private final AtomicReferenceArray<Value> values;
+
+    /**
+     * Creates a new compiled line.
+     * @param methods The methods of the runtime, used to resolve method invocations.
+     * @param lineNumber The line number.
+     * @param tokens An array of all tokens in the line.
+     * @param slots An array containing the variable slot of each token, or -1 if the token is not a variable.
+     */
+    ZeusLine(ZeusMethods methods, int lineNumber, Token[] tokens, int[] slots) {
+        this.methods = methods;
+        this.lineNumber = lineNumber;
+        this.tokens = tokens;
+        this.slots = slots;
+        this.values = new AtomicReferenceArray<>(tokens.length);
+    }
+
+    /**
+     * Gets the line number.
+     * @return The line number.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets the tokens of the line.
+     * The array is shared between all tasks and must not be modified.
+     * @return An array of tokens.
+     */
+    public Token[] getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Gets the variable slot of a token.
+     * @param index The index of the token.
+     * @return The slot, or -1 if the token is not a variable.
+     */
+    public int getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Gets the expression tree of the value starting at the specified index.
+     * The tree is parsed the first time it is requested and shared between all tasks afterwards.
+     * @param start The index where the value starts.
+     * @return The expression.
+     * @throws ZeusException If the value could not be parsed.
+     */
+    public Expression getExpression(int start)
+            throws ZeusException {
+        return getExpression(start, tokens.length);
+    }
+
+    /**
+     * Gets the expression tree of the value between the specified indices.
+     * The tree is cached by its start together with its end. The standard components never parse two values
+     * with the same start, should another component do so with a different end, that value is parsed on every call.
+     * @param start The index where the value starts.
+     * @param end The index where the value ends, exclusive.
+     * @return The expression.
+     * @throws ZeusException If the value could not be parsed.
+     */
+    public Expression getExpression(int start, int end)
+            throws ZeusException {
+        if(start < 0
+                || start >= end
+                || end > tokens.length) {
+            return ExpressionParser.parse(methods, tokens, slots, start, end, lineNumber);
+        }
+        Value value = values.get(start);
+        if(value != null
+                && value.end == end) {
+            return value.expression;
+        }
+        Expression expression = ExpressionParser.parse(methods, tokens, slots, start, end, lineNumber);
+        if(value == null) {
+            values.compareAndSet(start, null, new Value(end, expression));
+        }
+        return expression;
+    }
+
+    private static final class Value {
+
+        private final int end;
+        private final Expression expression;
+
+        /**
+         * Creates a new cached value.
+         * @param end The index where the value ends, exclusive.
+         * @param expression The expression tree of the value.
+         */
+        private Value(int end, Expression expression) {
+            this.end = end;
+            this.expression = expression;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.variable.ZeusVariable;
+
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusResultImpl implements ZeusResult {
+
+    private final Outcome outcome;
+    private final ZeusException error;
+    private final Map<String, ZeusVariable> variables;
+    private final long statements;
+    private final long invocations;
+    private final long stringBytes;
+    private final long elapsedTime;
+
+    /**
+     * Creates a new result.
+     * @param outcome How the task ended.
+     * @param error The error the task ended with, can be null.
+     * @param variables An unmodifiable map of all variables.
+     * @param statements The amount of statements evaluated.
+     * @param invocations The amount of methods invoked, or -1 if they were not counted.
+     * @param stringBytes The amount of string bytes, or -1 if they were not counted.
+     * @param elapsedTime The time in nanoseconds between the evaluation and the end.
+     */
+    ZeusResultImpl(Outcome outcome, ZeusException error, Map<String, ZeusVariable> variables, long statements, long invocations, long stringBytes, long elapsedTime) {
+        this.outcome = outcome;
+        this.error = error;
+        this.variables = variables;
+        this.statements = statements;
+        this.invocations = invocations;
+        this.stringBytes = stringBytes;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Gets how the task ended.
+     * @return The outcome.
+     */
+    @Override
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Gets the error the task ended with.
+     * @return The error, or null if the outcome is not an error.
+     */
+    @Override
+    public ZeusException getError() {
+        return error;
+    }
+
+    /**
+     * Gets all variables that were declared when the task ended.
+     * @return An unmodifiable map of identifiers to variables.
+     */
+    @Override
+    public Map<String, ZeusVariable> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Gets the amount of statements the task evaluated.
+     * @return The amount of statements.
+     */
+    @Override
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * Gets the amount of methods the task invoked.
+     * @return The amount of invocations, or -1 if they were not counted.
+     */
+    @Override
+    public long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * Gets the amount of bytes of all strings returned by methods.
+     * @return The amount of bytes, or -1 if they were not counted.
+     */
+    @Override
+    public long getStringBytes() {
+        return stringBytes;
+    }
+
+    /**
+     * Gets the time between the evaluation of the task and its end.
+     * @return The time in nanoseconds.
+     */
+    @Override
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+}
@@ -0,0 +1,90 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusResults;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusResultsImpl implements ZeusResults {
+
+    private final List<ZeusResult> results;
+    private final Map<Integer, ZeusException> errors;
+    private final int[] counts = new int[ZeusResult.Outcome.values().length];
+    private long statements = 0;
+
+    /**
+     * Aggregates the results of several evaluations.
+     * @param results An array of results, which must not be modified afterwards.
+     */
+    ZeusResultsImpl(ZeusResult[] results) {
+        this.results = Collections.unmodifiableList(Arrays.asList(results));
+        Map<Integer, ZeusException> errors = new TreeMap<>();
+        for(int i = 0; i < results.length; i++) {
+            ZeusResult result = results[i];
+            counts[result.getOutcome().ordinal()]++;
+            statements += result.getStatements();
+            if(result.getError() != null) {
+                errors.put(i, result.getError());
+            }
+        }
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Gets the results of all evaluations.
+     * @return An unmodifiable list of results.
+     */
+    @Override
+    public List<ZeusResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the errors of all evaluations that were aborted by one.
+     * @return An unmodifiable map of evaluation indices to errors.
+     */
+    @Override
+    public Map<Integer, ZeusException> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the amount of evaluations that ended with the specified outcome.
+     * @param outcome The outcome.
+     * @return The amount of evaluations.
+     */
+    @Override
+    public int getCount(ZeusResult.Outcome outcome) {
+        return counts[outcome.ordinal()];
+    }
+
+    /**
+     * Gets the amount of statements all evaluations evaluated together.
+     * @return The amount of statements.
+     */
+    @Override
+    public long getStatements() {
+        return statements;
+    }
+
+}
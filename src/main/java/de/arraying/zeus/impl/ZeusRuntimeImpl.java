@@ -3,19 +3,41 @@ package de.arraying.zeus.impl;
 import de.arraying.zeus.backend.ZeusException;
 import de.arraying.zeus.backend.ZeusMethods;
 import de.arraying.zeus.event.ZeusEventListener;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusResults;
 import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusScript;
 import de.arraying.zeus.runtime.ZeusTask;
 import de.arraying.zeus.standard.component.ZeusComponent;
+import de.arraying.zeus.standard.component.ZeusScopeComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseIfComponent;
+import de.arraying.zeus.standard.component.components.condition.IfComponent;
+import de.arraying.zeus.standard.component.components.control.EndComponent;
+import de.arraying.zeus.standard.component.components.loop.ForComponent;
+import de.arraying.zeus.standard.component.components.loop.WhileComponent;
 import de.arraying.zeus.variable.ZeusVariable;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -36,31 +58,99 @@ import java.util.function.Consumer;
  */
 public class ZeusRuntimeImpl implements ZeusRuntime {
 
-    private ScheduledExecutorService executorService;
-    private final Map<String, ZeusVariable> predefinedVariables;
+    private static final List<Class<?>> STRUCTURED_COMPONENTS = Arrays.asList(
+            IfComponent.class,
+            ElseComponent.class,
+            ElseIfComponent.class,
+            EndComponent.class,
+            WhileComponent.class,
+            ForComponent.class
+    );
+
+    private final ZeusVariable[] predefinedVariables;
+    private final Map<String, Integer> predefinedSlots;
+    private final ZeusFrame.Base predefinedBase;
     private final ZeusMethods methods;
     private final ZeusComponent[] components;
     private final ZeusEventListener[] eventListeners;
+    private final boolean structured;
     private final int timeoutThreshold;
-    private boolean isShutdown;
+    private final int compilationThreshold;
+    private ExecutorService compilerService;
+    private final Executor taskExecutor;
+    private final boolean ownsTaskExecutor;
+    private final Semaphore admission;
+    private final int admissionTimeout;
+    private final int timeSlice;
+    private final ZeusLimits limits;
+    private final ForkJoinPool forkJoinPool;
+    private ScheduledExecutorService sleepTimer;
+    private volatile ZeusTimer timer;
+    private volatile boolean isShutdown;
 
     /**
      * Creates a new Zeus runtime.
-     * @param predefinedVariables The predefined variables.
+     * @param predefinedVariables The predefined variables. Each of them is assigned a reserved slot.
      * @param methods A set of methods.
      * @param components An array of components to use.
      * @param eventListeners An array of event listeners.
      * @param timeoutThreshold The timeout threshold.
+     * @param compilationThreshold The amount of evaluations after which a script is compiled into a class,
+     * 0 to compile scripts right away or -1 to never compile them.
+     * @param taskExecutor The executor tasks are evaluated on, or null to start a new thread for every task.
+     * @param ownsTaskExecutor Whether or not the executor is shut down together with the runtime.
+     * @param maximumTasks The maximum amount of tasks that are evaluated at the same time, or -1 for no limit.
+     * @param admissionTimeout The time in milliseconds to wait for a task to be admitted once the maximum is reached.
+     * @param suspendSleep Whether or not sleeping tasks are suspended instead of blocking their thread.
+     * @param limits The limits of every task.
+     * @param parallelism The amount of workers of the fork/join pool parallel batches are evaluated on,
+     * or -1 to use the common pool.
      */
-    public ZeusRuntimeImpl(Map<String, ZeusVariable> predefinedVariables, ZeusMethods methods, ZeusComponent[] components, ZeusEventListener[] eventListeners, int timeoutThreshold) {
-        this.predefinedVariables = predefinedVariables;
+    public ZeusRuntimeImpl(Map<String, ZeusVariable> predefinedVariables, ZeusMethods methods, ZeusComponent[] components, ZeusEventListener[] eventListeners, int timeoutThreshold, int compilationThreshold,
+                            Executor taskExecutor, boolean ownsTaskExecutor, int maximumTasks, int admissionTimeout,
+                            boolean suspendSleep, ZeusLimits limits, int parallelism) {
+        this.predefinedVariables = predefinedVariables.values().toArray(new ZeusVariable[predefinedVariables.size()]);
+        Map<String, Integer> predefinedSlots = new HashMap<>();
+        for(int i = 0; i < this.predefinedVariables.length; i++) {
+            predefinedSlots.put(this.predefinedVariables[i].identifier(), i);
+        }
+        this.predefinedSlots = Collections.unmodifiableMap(predefinedSlots);
+        this.predefinedBase = new ZeusFrame.Base(this.predefinedVariables);
         this.methods = methods;
         this.components = components;
         this.eventListeners = eventListeners;
+        boolean structured = true;
+        for(ZeusComponent component : components) {
+            if(component instanceof ZeusScopeComponent
+                    && !STRUCTURED_COMPONENTS.contains(component.getClass())) {
+                structured = false;
+                break;
+            }
+        }
+        this.structured = structured;
         this.timeoutThreshold = timeoutThreshold;
+        this.compilationThreshold = compilationThreshold;
+        this.taskExecutor = taskExecutor;
+        this.ownsTaskExecutor = ownsTaskExecutor;
+        this.admission = maximumTasks == -1 ? null : new Semaphore(maximumTasks);
+        this.admissionTimeout = admissionTimeout;
+        this.limits = limits;
+        this.forkJoinPool = parallelism == -1 ? null : new ForkJoinPool(parallelism);
+        this.timeSlice = taskExecutor instanceof ZeusScheduler ? ((ZeusScheduler) taskExecutor).getTimeSlice() : -1;
         this.isShutdown = false;
-        if(timeoutThreshold != -1) {
-            executorService = Executors.newScheduledThreadPool(5);
+        if(compilationThreshold > 0) {
+            compilerService = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Zeus Compiler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if(suspendSleep) {
+            sleepTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Zeus Sleep Timer");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
     }
 
@@ -73,31 +163,256 @@ public class ZeusRuntimeImpl implements ZeusRuntime {
     @Override
     public ZeusTask evaluate(String[] code, Consumer<ZeusException> error)
             throws ZeusException {
+        return evaluate(compile(code), error);
+    }
+
+    /**
+     * Evaluates the code.
+     * @param file The file containing the code.
+     * @return The evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusTask evaluate(File file, Consumer<ZeusException> error)
+            throws ZeusException {
+        return evaluate(compile(file), error);
+    }
+
+    /**
+     * Evaluates a compiled script.
+     * @param script The script.
+     * @param error The consumer for when an error occurs.
+     * @return The evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusTask evaluate(ZeusScript script, Consumer<ZeusException> error)
+            throws ZeusException {
+        return evaluate(script, 0, error);
+    }
+
+    /**
+     * Evaluates a compiled script with a priority.
+     * @param script The script.
+     * @param priority The priority.
+     * @param error The consumer for when an error occurs.
+     * @return The evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusTask evaluate(ZeusScript script, int priority, Consumer<ZeusException> error)
+            throws ZeusException {
+        return evaluate(script, priority, -1, error);
+    }
+
+    /**
+     * Evaluates a compiled script with a priority and a timeout.
+     * @param script The script.
+     * @param priority The priority.
+     * @param timeout The timeout in milliseconds, or -1 to use the maximum runtime.
+     * @param error The consumer for when an error occurs.
+     * @return The evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusTask evaluate(ZeusScript script, int priority, int timeout, Consumer<ZeusException> error)
+            throws ZeusException {
+        ZeusTaskImpl task = createTask(script, priority, timeout, error, false, null);
+        try {
+            task.evaluate();
+        } catch(RejectedExecutionException exception) {
+            task.kill();
+            task.finish();
+            throw new ZeusException("The runtime is saturated, the task could not be evaluated.");
+        }
+        return task;
+    }
+
+    /**
+     * Evaluates a compiled script on the current thread.
+     * @param script The script.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusResult evaluateSync(ZeusScript script)
+            throws ZeusException {
+        return evaluateSync(script, -1);
+    }
+
+    /**
+     * Evaluates a compiled script on the current thread with a timeout.
+     * @param script The script.
+     * @param timeout The timeout in milliseconds, or -1 to use the maximum runtime.
+     * @return The result.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusResult evaluateSync(ZeusScript script, int timeout)
+            throws ZeusException {
+        ZeusTaskImpl task = createTask(script, 0, timeout, null, true, null);
+        task.run();
+        return task.getResult();
+    }
+
+    /**
+     * Evaluates a compiled script once for every set of bindings.
+     * @param script The script.
+     * @param bindings A list of variable arrays, one per evaluation.
+     * @param parallel Whether or not to evaluate them in parallel.
+     * @return The aggregated results, in the order of the bindings.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusResults evaluateBatch(ZeusScript script, List<ZeusVariable[]> bindings, boolean parallel)
+            throws ZeusException {
+        if(bindings == null) {
+            throw new ZeusException("The bindings provided must not be null.");
+        }
+        for(ZeusVariable[] binding : bindings) {
+            if(binding == null) {
+                throw new ZeusException("The bindings provided must not contain null.");
+            }
+            for(ZeusVariable variable : binding) {
+                if(variable == null) {
+                    throw new ZeusException("The bindings provided must not contain null variables.");
+                }
+            }
+        }
+        return evaluateBatch(Collections.nCopies(bindings.size(), script), bindings, parallel);
+    }
+
+    /**
+     * Evaluates a collection of compiled scripts in parallel.
+     * @param scripts The scripts.
+     * @return The aggregated results, in the iteration order of the scripts.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusResults evaluateAll(Collection<? extends ZeusScript> scripts)
+            throws ZeusException {
+        if(scripts == null) {
+            throw new ZeusException("The scripts provided must not be null.");
+        }
+        List<ZeusScript> list = new ArrayList<>(scripts);
+        for(ZeusScript script : list) {
+            if(script == null) {
+                throw new ZeusException("The scripts provided must not contain null.");
+            }
+            if(script.getRuntime() != this) {
+                throw new ZeusException("The scripts provided must not contain scripts compiled by another runtime.");
+            }
+        }
+        return evaluateBatch(list, null, true);
+    }
+
+    /**
+     * Evaluates a batch of scripts, either on the current thread or on the fork/join pool.
+     * In parallel, the batch is split into a few parts per worker so idle workers can steal work from busy ones.
+     * Evaluations that could not be started, for example because they were not admitted, end with an error result.
+     * @param scripts A list of scripts, one per evaluation.
+     * @param bindings A list of variable arrays, one per evaluation, or null if there are no bindings.
+     * @param parallel Whether or not to evaluate them in parallel.
+     * @return The aggregated results.
+     * @throws ZeusException If the runtime has been shut down.
+     */
+    private ZeusResults evaluateBatch(List<? extends ZeusScript> scripts, List<ZeusVariable[]> bindings, boolean parallel)
+            throws ZeusException {
         if(isShutdown) {
             throw new ZeusException("The runtime has been shut down, thus no tasks can be evaluated.");
         }
+        ZeusResult[] results = new ZeusResult[scripts.size()];
+        ForkJoinPool pool = forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+        if(!parallel
+                || results.length <= 1
+                || pool.getParallelism() <= 1) {
+            new ZeusBatch(this, scripts, bindings, results, 0, results.length, results.length).evaluate();
+            return new ZeusResultsImpl(results);
+        }
+        int granularity = Math.max(1, results.length / (pool.getParallelism() * 4));
+        try {
+            pool.invoke(new ZeusBatch(this, scripts, bindings, results, 0, results.length, granularity));
+        } catch(RejectedExecutionException exception) {
+            throw new ZeusException("The runtime has been shut down, thus no tasks can be evaluated.");
+        }
+        return new ZeusResultsImpl(results);
+    }
+
+    /**
+     * Creates a task, once it has been admitted.
+     * Should the task have a timeout, it is scheduled right away.
+     * @param script The script.
+     * @param priority The priority.
+     * @param timeout The timeout in milliseconds, or -1 to use the maximum runtime.
+     * @param error The consumer for when an error occurs, can be null.
+     * @param synchronous Whether or not the task is run by the current thread.
+     * @param frame A frame of an earlier evaluation of the same script which is reset and reused, or null to create one.
+     * @return The task.
+     * @throws ZeusException If the arguments are invalid, or the task could not be admitted.
+     */
+    ZeusTaskImpl createTask(ZeusScript script, int priority, int timeout, Consumer<ZeusException> error, boolean synchronous, ZeusFrame frame)
+            throws ZeusException {
+        if(isShutdown) {
+            throw new ZeusException("The runtime has been shut down, thus no tasks can be evaluated.");
+        }
+        if(script == null) {
+            throw new ZeusException("The script provided must not be null.");
+        }
+        if(script.getRuntime() != this) {
+            throw new ZeusException("The script provided has been compiled by another runtime.");
+        }
+        if(timeout != -1
+                && (timeout < 1 || timeout > 43200000)) {
+            throw new ZeusException("The timeout provided must be between 1 and 43200000 milliseconds.");
+        }
+        int deadline = timeout == -1 ? timeoutThreshold : timeout;
+        admit();
+        ZeusScriptImpl scriptImpl = (ZeusScriptImpl) script;
+        scriptImpl.onEvaluate();
+        if(frame == null) {
+            frame = new ZeusFrame(scriptImpl, predefinedBase);
+        } else {
+            frame.reset();
+        }
+        ZeusTaskImpl task = new ZeusTaskImpl(this, error, scriptImpl, frame, priority, synchronous);
+        if(deadline != -1) {
+            try {
+                task.setTimeout(getTimer().schedule(task::kill, deadline));
+            } catch(RejectedExecutionException exception) {
+                task.kill();
+                task.finish();
+                throw new ZeusException("The runtime has been shut down, thus no tasks can be evaluated.");
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Compiles the code.
+     * @param code The code. Each array entry represents one line of code.
+     * @return The compiled script.
+     * @throws ZeusException If an error occurs.
+     */
+    @Override
+    public ZeusScript compile(String[] code)
+            throws ZeusException {
         if(code == null) {
             throw new ZeusException("The code provided must not be null.");
         }
         if(code.length == 0) {
             throw new ZeusException("The code provided must not be empty.");
         }
-        ZeusTaskImpl task = new ZeusTaskImpl(this, predefinedVariables, error, code);
-        task.evaluate();
-        if(executorService != null) {
-            executorService.schedule(task::kill, timeoutThreshold, TimeUnit.MILLISECONDS);
-        }
-        return task;
+        return ZeusScriptImpl.compile(this, code);
     }
 
     /**
-     * Evaluates the code.
+     * Compiles the code.
      * @param file The file containing the code.
-     * @return The evaluation task.
+     * @return The compiled script.
      * @throws ZeusException If an error occurs.
      */
     @Override
-    public ZeusTask evaluate(File file, Consumer<ZeusException> error)
+    public ZeusScript compile(File file)
             throws ZeusException {
         if(file == null) {
             throw new ZeusException("The file provided must not be null.");
@@ -110,12 +425,29 @@ public class ZeusRuntimeImpl implements ZeusRuntime {
                 lines.add(line);
             }
             bufferedReader.close();
-            return evaluate(lines.toArray(new String[lines.size()]), error);
+            return compile(lines.toArray(new String[lines.size()]));
         } catch(IOException exception) {
             throw new ZeusException(exception.getMessage());
         }
     }
 
+    /**
+     * Gets all predefined variables.
+     * The index of each variable is its reserved slot.
+     * @return An array of variables.
+     */
+    ZeusVariable[] getPredefinedVariables() {
+        return predefinedVariables;
+    }
+
+    /**
+     * Gets the reserved slots of the predefined variables.
+     * @return An unmodifiable map of identifiers to slots.
+     */
+    Map<String, Integer> getPredefinedSlots() {
+        return predefinedSlots;
+    }
+
     /**
      * Gets all components.
      * @return An array of components.
@@ -124,6 +456,29 @@ public class ZeusRuntimeImpl implements ZeusRuntime {
         return components;
     }
 
+    /**
+     * Checks whether or not the scopes of scripts are matched when they are compiled.
+     * This is the case unless custom scope components are registered, which could change the scopes in any way.
+     * @return True if they are, false otherwise.
+     */
+    boolean isStructured() {
+        return structured;
+    }
+
+    /**
+     * Checks whether or not a component of the specified type is registered.
+     * @param type The component type.
+     * @return True if it is, false otherwise.
+     */
+    boolean hasComponent(Class<? extends ZeusComponent> type) {
+        for(ZeusComponent component : components) {
+            if(type.isInstance(component)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets all methods.
      * @return A ZeusMethods object.
@@ -140,6 +495,122 @@ public class ZeusRuntimeImpl implements ZeusRuntime {
         return eventListeners;
     }
 
+    /**
+     * Admits a new task, should the amount of tasks be limited.
+     * If the maximum has been reached, this waits for a running task to finish.
+     * @throws ZeusException If no task finished in time.
+     */
+    private void admit()
+            throws ZeusException {
+        if(admission == null) {
+            return;
+        }
+        boolean admitted;
+        try {
+            admitted = admission.tryAcquire(admissionTimeout, TimeUnit.MILLISECONDS);
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if(!admitted) {
+            throw new ZeusException("The maximum amount of tasks are being evaluated, the task could not be admitted.");
+        }
+    }
+
+    /**
+     * Executes a task using the execution strategy of the runtime.
+     * @param task The task.
+     * @throws RejectedExecutionException If the executor does not accept the task.
+     */
+    void execute(ZeusTaskImpl task) {
+        if(taskExecutor == null) {
+            new Thread(task).start();
+        } else {
+            taskExecutor.execute(task);
+        }
+    }
+
+    /**
+     * Called once a task has finished, or could not be started, in order to admit the next task.
+     */
+    void onTaskFinished() {
+        if(admission != null) {
+            admission.release();
+        }
+    }
+
+    /**
+     * Gets the amount of statements a task evaluates before it yields.
+     * @return The amount of statements, or -1 if tasks are not scheduled.
+     */
+    int getTimeSlice() {
+        return timeSlice;
+    }
+
+    /**
+     * Gets the limits of every task.
+     * @return The limits.
+     */
+    ZeusLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Whether or not sleeping tasks are suspended instead of blocking their thread.
+     * @return True if they are, false otherwise.
+     */
+    boolean isSuspendingSleep() {
+        return sleepTimer != null;
+    }
+
+    /**
+     * Schedules the resumption of a suspended task.
+     * @param resumption The resumption.
+     * @param delay The delay in milliseconds.
+     * @return The scheduled resumption.
+     * @throws RejectedExecutionException If the runtime has been shut down.
+     */
+    ScheduledFuture<?> schedule(Runnable resumption, long delay) {
+        return sleepTimer.schedule(resumption, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the amount of evaluations after which a script is compiled into a class.
+     * @return The amount, 0 if scripts are compiled right away or -1 if they are never compiled.
+     */
+    int getCompilationThreshold() {
+        return compilationThreshold;
+    }
+
+    /**
+     * Compiles a script into a class in the background.
+     * Should the runtime be shut down in the meantime, the script simply stays interpreted.
+     * @param script The script.
+     */
+    void compileInBackground(ZeusScriptImpl script) {
+        try {
+            compilerService.execute(script::compileClass);
+        } catch(RejectedExecutionException ignored) {}
+    }
+
+    /**
+     * Gets the timer used for timeouts, it is created the first time a timeout is scheduled.
+     * @return The timer.
+     */
+    private ZeusTimer getTimer() {
+        ZeusTimer timer = this.timer;
+        if(timer == null) {
+            synchronized(this) {
+                timer = this.timer;
+                if(timer == null) {
+                    timer = new ZeusTimer(10, 512);
+                    this.timer = timer;
+                }
+            }
+        }
+        return timer;
+    }
+
     /**
      * Checks whether or not the runtime has been shut down.
      * @return True if it has, false otherwise.
@@ -150,6 +621,7 @@ public class ZeusRuntimeImpl implements ZeusRuntime {
 
     /**
      * Completely shuts down the runtime.
+     * The runtime is marked as shut down before the executors are stopped, so tasks rejected meanwhile end as killed.
      * @throws ZeusException If the runtime has already been shutdown.
      */
     @Override
@@ -158,8 +630,23 @@ public class ZeusRuntimeImpl implements ZeusRuntime {
         if(isShutdown) {
             throw new ZeusException("The runtime has already been shut down.");
         }
-        executorService.shutdown();
         isShutdown = true;
+        if(timer != null) {
+            timer.stop();
+        }
+        if(compilerService != null) {
+            compilerService.shutdown();
+        }
+        if(sleepTimer != null) {
+            sleepTimer.shutdown();
+        }
+        if(forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+        if(ownsTaskExecutor
+                && taskExecutor instanceof ExecutorService) {
+            ((ExecutorService) taskExecutor).shutdown();
+        }
     }
 
 
@@ -0,0 +1,114 @@
+package de.arraying.zeus.impl;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public final class ZeusScheduler extends ThreadPoolExecutor {
+
+    /**
+     * The amount of slices queued before a slice that a slice with a priority higher by one can overtake.
+     */
+    static final int PRIORITY_WEIGHT = 16;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final int timeSlice;
+
+    /**
+     * Creates a new scheduler.
+     * Tasks are taken from a run queue that is ordered by the time they were queued, where a higher priority counts
+     * as having been queued earlier. A slice can only be overtaken by slices with a higher priority that are queued
+     * within a bounded time after it, so every task eventually gets a slice, however many tasks with a higher
+     * priority keep arriving. Tasks of the same priority are run in the order they were queued.
+     * Once a task has evaluated its time slice, it yields and is queued again.
+     * The worker threads are daemon threads, so they do not keep the JVM alive.
+     * @param threads The amount of worker threads.
+     * @param timeSlice The amount of statements a task evaluates before it yields.
+     */
+    public ZeusScheduler(int threads, int timeSlice) {
+        super(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Zeus Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeSlice = timeSlice;
+    }
+
+    /**
+     * Queues a task, or anything else that has to run on the scheduler.
+     * Tasks use their own priority, everything else uses the default priority of 0.
+     * @param runnable The runnable.
+     */
+    @Override
+    public void execute(Runnable runnable) {
+        int priority = runnable instanceof ZeusTaskImpl ? ((ZeusTaskImpl) runnable).getPriority() : 0;
+        super.execute(new Slice(runnable, priority, sequence.getAndIncrement()));
+    }
+
+    /**
+     * Gets the amount of statements a task evaluates before it yields.
+     * @return The amount of statements.
+     */
+    int getTimeSlice() {
+        return timeSlice;
+    }
+
+    static final class Slice implements Runnable, Comparable<Slice> {
+
+        private final Runnable runnable;
+        private final long rank;
+        private final long sequence;
+
+        /**
+         * Creates a new slice.
+         * Its rank is its sequence number, moved ahead by the priority weight for every priority level.
+         * @param runnable The runnable.
+         * @param priority The priority, higher priorities run first.
+         * @param sequence The sequence number, which increases with every slice that is queued.
+         */
+        Slice(Runnable runnable, int priority, long sequence) {
+            this.runnable = runnable;
+            this.rank = sequence - (long) priority * PRIORITY_WEIGHT;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Runs the slice.
+         */
+        @Override
+        public void run() {
+            runnable.run();
+        }
+
+        /**
+         * Compares the slice to another slice, the slice that should run first is the lesser one.
+         * @param other The other slice.
+         * @return The comparison.
+         */
+        @Override
+        public int compareTo(Slice other) {
+            if(rank != other.rank) {
+                return Long.compare(rank, other.rank);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+    }
+
+}
@@ -0,0 +1,481 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.Keyword;
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusMethod;
+import de.arraying.zeus.backend.compiler.CompiledScript;
+import de.arraying.zeus.backend.compiler.ScriptCompiler;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusScript;
+import de.arraying.zeus.standard.component.components.MethodComponent;
+import de.arraying.zeus.standard.component.components.VariableComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseIfComponent;
+import de.arraying.zeus.standard.component.components.condition.IfComponent;
+import de.arraying.zeus.standard.component.components.control.EndComponent;
+import de.arraying.zeus.standard.component.components.loop.ForComponent;
+import de.arraying.zeus.standard.component.components.loop.WhileComponent;
+import de.arraying.zeus.token.Lexer;
+import de.arraying.zeus.token.Token;
+import de.arraying.zeus.variable.VariableType;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public final class ZeusScriptImpl implements ZeusScript {
+
+    /**
+     * Compiles the code into a script.
+     * Every line is tokenized exactly once, lines without tokens are dropped.
+     * Every variable identifier is assigned a slot, the predefined variables keep their reserved slots.
+     * The values of standard statements are parsed and their method invocations resolved right away.
+     * Unless the runtime has custom scope components, the if, elif, loop, else and end lines are matched as well.
+     * Should the runtime compile scripts right away, the script is also compiled into a class if possible.
+     * @param runtime The runtime the script is compiled for.
+     * @param code The code. Each array entry represents one line of code.
+     * @return The compiled script.
+     * @throws ZeusException If a line could not be tokenized, a standard statement is invalid or the scopes do not match.
+     */
+    static ZeusScriptImpl compile(ZeusRuntimeImpl runtime, String[] code)
+            throws ZeusException {
+        ZeusLine[] lines = new ZeusLine[code.length];
+        Map<String, Integer> slots = new HashMap<>(runtime.getPredefinedSlots());
+        for(int i = 0; i < code.length; i++) {
+            String line = code[i];
+            if(line == null
+                    || line.isEmpty()) {
+                continue;
+            }
+            int lineNumber = i + 1;
+            Token[] tokens = new Lexer(line, lineNumber).getTokens();
+            if(tokens.length == 0) {
+                continue;
+            }
+            ZeusLine compiled = new ZeusLine(runtime.getMethods(), lineNumber, tokens, assignSlots(slots, tokens));
+            precompile(runtime, compiled);
+            lines[i] = compiled;
+        }
+        int[] branches = null;
+        int[] jumps = null;
+        if(runtime.isStructured()) {
+            branches = new int[lines.length];
+            jumps = new int[lines.length];
+            link(runtime, lines, branches, jumps);
+        }
+        ZeusScriptImpl script = new ZeusScriptImpl(runtime, lines, slots, branches, jumps);
+        if(runtime.getCompilationThreshold() == 0) {
+            script.compileClass();
+        }
+        return script;
+    }
+
+    /**
+     * Assigns a slot to every token that could be a variable.
+     * These are all identifiers that are neither keywords nor method identifiers.
+     * @param slots The map of identifiers to slots, new identifiers are added to it.
+     * @param tokens An array of tokens.
+     * @return An array containing the slot of each token, or -1 if the token is not a variable.
+     */
+    private static int[] assignSlots(Map<String, Integer> slots, Token[] tokens) {
+        int[] tokenSlots = new int[tokens.length];
+        for(int i = 0; i < tokens.length; i++) {
+            tokenSlots[i] = -1;
+            if(!isVariable(tokens, i)) {
+                continue;
+            }
+            String identifier = tokens[i].getToken();
+            Integer slot = slots.get(identifier);
+            if(slot == null) {
+                slot = slots.size();
+                slots.put(identifier, slot);
+            }
+            tokenSlots[i] = slot;
+        }
+        return tokenSlots;
+    }
+
+    /**
+     * Whether or not the token could be a variable.
+     * @param tokens An array of tokens.
+     * @param index The index of the token.
+     * @return True if it could be, false otherwise.
+     */
+    static boolean isVariable(Token[] tokens, int index) {
+        Token token = tokens[index];
+        if(token.getType() != Patterns.IDENTIFIER
+                || Keyword.isKeyword(token.getToken())) {
+            return false;
+        }
+        return index + 1 >= tokens.length
+                || tokens[index + 1].getType() != Patterns.TOKEN
+                || !tokens[index + 1].getToken().equals("(");
+    }
+
+    /**
+     * Parses the value of a line ahead of time, should the line be a standard statement.
+     * Lines are only considered if the component that evaluates them is registered.
+     * @param runtime The runtime.
+     * @param line The line.
+     * @throws ZeusException If the value could not be parsed or an invoked method does not exist.
+     */
+    private static void precompile(ZeusRuntimeImpl runtime, ZeusLine line)
+            throws ZeusException {
+        Token[] tokens = line.getTokens();
+        Token first = tokens[0];
+        if(first.getType() != Patterns.IDENTIFIER) {
+            return;
+        }
+        String identifier = first.getToken();
+        if(identifier.equals(Keyword.CONDITIONAL_IF.getIdentifier())) {
+            if(runtime.hasComponent(IfComponent.class)) {
+                line.getExpression(1);
+            }
+        } else if(identifier.equals(Keyword.CONDITIONAL_ELSE_IF.getIdentifier())) {
+            if(runtime.hasComponent(ElseIfComponent.class)) {
+                line.getExpression(1);
+            }
+        } else if(identifier.equals(Keyword.LOOP_WHILE.getIdentifier())) {
+            if(runtime.hasComponent(WhileComponent.class)) {
+                line.getExpression(1);
+            }
+        } else if(identifier.equals(Keyword.LOOP_FOR.getIdentifier())) {
+            if(runtime.hasComponent(ForComponent.class)) {
+                int separator = ForComponent.getSeparator(tokens);
+                if(separator == -1) {
+                    throw new ZeusException("Expected the for loop to be in the form \"for variable = start, end\".", line.getLineNumber());
+                }
+                line.getExpression(3, separator);
+                line.getExpression(separator + 1);
+            }
+        } else if(VariableType.fromIdentifier(identifier) != null) {
+            if(tokens.length >= 4
+                    && tokens[1].getType() == Patterns.IDENTIFIER
+                    && isEquals(tokens[2])
+                    && runtime.hasComponent(VariableComponent.class)) {
+                line.getExpression(3);
+            }
+        } else if(tokens.length >= 3
+                && isEquals(tokens[1])) {
+            if(runtime.hasComponent(VariableComponent.class)) {
+                line.getExpression(2);
+            }
+        } else if(ZeusMethod.isValidMethodInvocation(tokens)
+                && runtime.hasComponent(MethodComponent.class)) {
+            line.getExpression(0);
+        }
+    }
+
+    /**
+     * Matches the if, elif, loop, else and end lines, so the interpreter can jump over branches instead of walking through them.
+     * The if and elif lines of a chain branch to the next elif, which is stored as -2 - index, or to the line after the else or end.
+     * Every elif and else line jumps to the line after the end, so a taken branch leaves the chain with a single jump.
+     * The end of a loop jumps back to the loop, which jumps to the line after the end once it is done.
+     * Lines are only considered if the component that evaluates them is registered.
+     * @param runtime The runtime.
+     * @param lines An array of lines.
+     * @param branches The array the branch target of each if, elif and loop line is stored in.
+     * @param jumps The array the index of the line to continue at after each elif, else and end line is stored in.
+     * @throws ZeusException If an elif, else or end does not belong to a scope, an if has two elses or a scope is never closed.
+     */
+    private static void link(ZeusRuntimeImpl runtime, ZeusLine[] lines, int[] branches, int[] jumps)
+            throws ZeusException {
+        Arrays.fill(branches, -1);
+        Arrays.fill(jumps, -1);
+        boolean conditions = runtime.hasComponent(IfComponent.class);
+        boolean chains = runtime.hasComponent(ElseIfComponent.class);
+        boolean alternatives = runtime.hasComponent(ElseComponent.class);
+        boolean ends = runtime.hasComponent(EndComponent.class);
+        boolean whiles = runtime.hasComponent(WhileComponent.class);
+        boolean fors = runtime.hasComponent(ForComponent.class);
+        Deque<Integer> open = new ArrayDeque<>();
+        for(int i = 0; i < lines.length; i++) {
+            ZeusLine line = lines[i];
+            if(line == null
+                    || line.getTokens()[0].getType() != Patterns.IDENTIFIER) {
+                continue;
+            }
+            String identifier = line.getTokens()[0].getToken();
+            int lineNumber = line.getLineNumber();
+            if(conditions
+                    && identifier.equals(Keyword.CONDITIONAL_IF.getIdentifier())
+                    || whiles
+                    && identifier.equals(Keyword.LOOP_WHILE.getIdentifier())
+                    || fors
+                    && identifier.equals(Keyword.LOOP_FOR.getIdentifier())) {
+                open.push(i);
+            } else if(chains
+                    && identifier.equals(Keyword.CONDITIONAL_ELSE_IF.getIdentifier())) {
+                Integer condition = open.peek();
+                if(condition == null
+                        || !isKeyword(lines[condition], Keyword.CONDITIONAL_IF)) {
+                    throw new ZeusException("The elif keyword does not belong to an if statement.", lineNumber);
+                }
+                int last = getLastCondition(branches, condition);
+                if(branches[last] != -1) {
+                    throw new ZeusException("The elif keyword can not come after the else keyword.", lineNumber);
+                }
+                branches[last] = -2 - i;
+            } else if(alternatives
+                    && identifier.equals(Keyword.CONDITIONAL_ELSE.getIdentifier())) {
+                if(line.getTokens().length != 1) {
+                    throw new ZeusException("Expected just the else keyword, nothing else.", lineNumber);
+                }
+                Integer condition = open.peek();
+                if(condition == null
+                        || !isKeyword(lines[condition], Keyword.CONDITIONAL_IF)) {
+                    throw new ZeusException("The else keyword does not belong to an if statement.", lineNumber);
+                }
+                int last = getLastCondition(branches, condition);
+                if(branches[last] != -1) {
+                    throw new ZeusException("The if statement already has an else keyword.", lineNumber);
+                }
+                branches[last] = i + 1;
+            } else if(ends
+                    && identifier.equals(Keyword.CONTROL_END.getIdentifier())) {
+                if(line.getTokens().length > 1) {
+                    throw new ZeusException("Expected just the end keyword, nothing else.", lineNumber);
+                }
+                Integer scope = open.poll();
+                if(scope == null) {
+                    throw new ZeusException("The end keyword does not belong to an if statement or loop.", lineNumber);
+                }
+                if(!isKeyword(lines[scope], Keyword.CONDITIONAL_IF)) {
+                    branches[scope] = i + 1;
+                    jumps[i] = scope;
+                    continue;
+                }
+                int last = scope;
+                while(branches[last] < -1) {
+                    last = -2 - branches[last];
+                    jumps[last] = i + 1;
+                }
+                if(branches[last] == -1) {
+                    branches[last] = i + 1;
+                } else {
+                    jumps[branches[last] - 1] = i + 1;
+                }
+                jumps[i] = i + 1;
+            }
+        }
+        if(!open.isEmpty()) {
+            ZeusLine line = lines[open.peek()];
+            throw new ZeusException("The " + line.getTokens()[0].getToken() + " keyword is never closed by an end keyword.", line.getLineNumber());
+        }
+    }
+
+    /**
+     * Gets the last conditional line of an if chain, which is either the if line or its last elif line.
+     * @param branches The array of branch targets.
+     * @param condition The index of the if line.
+     * @return The index of the last conditional line.
+     */
+    private static int getLastCondition(int[] branches, int condition) {
+        while(branches[condition] < -1) {
+            condition = -2 - branches[condition];
+        }
+        return condition;
+    }
+
+    /**
+     * Whether or not a line starts with the specified keyword.
+     * @param line The line.
+     * @param keyword The keyword.
+     * @return True if it does, false otherwise.
+     */
+    private static boolean isKeyword(ZeusLine line, Keyword keyword) {
+        return line.getTokens()[0].getToken().equals(keyword.getIdentifier());
+    }
+
+    /**
+     * Whether or not the token is an equals ("=") token.
+     * @param token The token.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isEquals(Token token) {
+        return token.getType() == Patterns.TOKEN
+                && token.getToken().equals("=");
+    }
+
+    private final ZeusRuntimeImpl runtime;
+    private final ZeusLine[] lines;
+    private final Map<String, Integer> slots;
+    private final String[] identifiers;
+    private final boolean sleeps;
+    private final int[] branches;
+    private final int[] jumps;
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private volatile CompiledScript compiled;
+
+    /**
+     * Creates a new compiled script.
+     * @param runtime The runtime.
+     * @param lines An array of lines, with null representing a line that has nothing to evaluate.
+     * @param slots A map of all variable identifiers to their slots.
+     * @param branches An array of the branch targets of each line, or null if the scopes are tracked while evaluating.
+     * @param jumps An array of the jump targets of each line, or null if the scopes are tracked while evaluating.
+     */
+    private ZeusScriptImpl(ZeusRuntimeImpl runtime, ZeusLine[] lines, Map<String, Integer> slots, int[] branches, int[] jumps) {
+        this.runtime = runtime;
+        this.lines = lines;
+        this.branches = branches;
+        this.jumps = jumps;
+        this.slots = Collections.unmodifiableMap(slots);
+        this.identifiers = new String[slots.size()];
+        for(Map.Entry<String, Integer> entry : slots.entrySet()) {
+            identifiers[entry.getValue()] = entry.getKey();
+        }
+        boolean sleeps = false;
+        for(ZeusLine line : lines) {
+            if(line != null
+                    && line.getTokens()[0].getToken().equals(Keyword.CONTROL_SLEEP.getIdentifier())) {
+                sleeps = true;
+                break;
+            }
+        }
+        this.sleeps = sleeps;
+    }
+
+    /**
+     * Gets the amount of lines.
+     * @return The line count.
+     */
+    @Override
+    public int getLineCount() {
+        return lines.length;
+    }
+
+    /**
+     * Gets the runtime.
+     * @return The runtime.
+     */
+    @Override
+    public ZeusRuntime getRuntime() {
+        return runtime;
+    }
+
+    /**
+     * Gets a line by index.
+     * @param index The index, starting at 0.
+     * @return The line, or null if there is nothing to evaluate in that line.
+     */
+    ZeusLine getLine(int index) {
+        return lines[index];
+    }
+
+    /**
+     * Whether or not the if, else and end lines have been matched, in which case the interpreter jumps over branches.
+     * Otherwise, the scopes are tracked while evaluating, since custom scope components could change them.
+     * @return True if they have, false otherwise.
+     */
+    boolean isStructured() {
+        return jumps != null;
+    }
+
+    /**
+     * Gets the index of the line to continue at, should the condition of an if or elif line be false.
+     * @param index The index of the if or elif line.
+     * @return The index of the next elif line, or of the line after the else or end.
+     */
+    int getBranch(int index) {
+        int branch = branches[index];
+        return branch < -1 ? -2 - branch : branch;
+    }
+
+    /**
+     * Whether or not the branch of an if or elif line continues at the next elif line of its chain.
+     * That elif line has to evaluate its condition instead of jumping to the line after the end.
+     * @param index The index of the if or elif line.
+     * @return True if it does, false otherwise.
+     */
+    boolean isChained(int index) {
+        return branches[index] < -1;
+    }
+
+    /**
+     * Gets the jump targets of all lines.
+     * Elif, else and end lines jump to the line after their end, all other lines have no target.
+     * The array is shared and must not be modified.
+     * @return An array of indices, -1 for lines without a target, or null if the script is not structured.
+     */
+    int[] getJumps() {
+        return jumps;
+    }
+
+    /**
+     * Counts an evaluation of the script.
+     * Once the compilation threshold of the runtime is reached, the script is compiled in the background.
+     * Evaluations are no longer counted afterwards.
+     */
+    void onEvaluate() {
+        int threshold = runtime.getCompilationThreshold();
+        if(threshold > 0
+                && evaluations.get() < threshold
+                && evaluations.incrementAndGet() == threshold) {
+            runtime.compileInBackground(this);
+        }
+    }
+
+    /**
+     * Compiles the script into a class.
+     * Tasks that are created afterwards use the class, should the script not be compilable it stays interpreted.
+     * Scripts that sleep also stay interpreted if the runtime suspends sleeping tasks.
+     * All scripts stay interpreted if method invocations or strings are limited.
+     */
+    void compileClass() {
+        if(runtime.isSuspendingSleep()
+                && sleeps
+                || runtime.getLimits().isAccountingInvocations()) {
+            return;
+        }
+        compiled = ScriptCompiler.compile(lines, runtime.getComponents());
+    }
+
+    /**
+     * Gets the compiled class of the script.
+     * @return The compiled script, or null if the script is interpreted.
+     */
+    CompiledScript getCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Gets the identifiers of all slots.
+     * The array is shared and must not be modified.
+     * @return An array of identifiers, ordered by slot.
+     */
+    String[] getIdentifiers() {
+        return identifiers;
+    }
+
+    /**
+     * Gets the slot of a variable.
+     * @param identifier The variable identifier.
+     * @return The slot, or -1 if the identifier does not appear in the script.
+     */
+    int getSlot(String identifier) {
+        Integer slot = slots.get(identifier);
+        return slot == null ? -1 : slot;
+    }
+
+}
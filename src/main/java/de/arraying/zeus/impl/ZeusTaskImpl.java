@@ -1,20 +1,36 @@
 package de.arraying.zeus.impl;
 
+import de.arraying.zeus.backend.MethodTarget;
 import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusLimitException;
+import de.arraying.zeus.backend.compiler.CompiledScript;
+import de.arraying.zeus.backend.expression.Expression;
+import de.arraying.zeus.backend.expression.ExpressionParser;
 import de.arraying.zeus.event.ZeusEventListener;
 import de.arraying.zeus.event.events.VariableDeclareEvent;
 import de.arraying.zeus.event.events.VariableReassignEvent;
 import de.arraying.zeus.event.generic.ZeusEvent;
+import de.arraying.zeus.runtime.ZeusResult;
 import de.arraying.zeus.runtime.ZeusTask;
 import de.arraying.zeus.standard.component.ZeusComponent;
 import de.arraying.zeus.standard.component.ZeusScopeComponent;
-import de.arraying.zeus.token.Tokenizer;
+import de.arraying.zeus.token.Token;
+import de.arraying.zeus.utils.ZeusUtil;
+import de.arraying.zeus.utils.ZeusVariableUtil;
 import de.arraying.zeus.variable.VariableType;
+import de.arraying.zeus.variable.VariableValues;
 import de.arraying.zeus.variable.ZeusVariable;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
@@ -39,29 +55,71 @@ public class ZeusTaskImpl implements ZeusTask {
      */
     public static final int DEFAULT_SCOPE = 0;
 
-    private final Thread current;
+    private final Object lock = new Object();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean killed = false;
+    private Thread runner;
+    private ScheduledFuture<?> wakeup;
+    private ZeusTimer.Timeout timeout;
+    private long suspension = -1;
     private final ZeusRuntimeImpl runtime;
-    private final Map<String, ZeusVariable> variables;
     private final Consumer<ZeusException> error;
-    private final String[] code;
+    private final ZeusScriptImpl script;
+    private final ZeusFrame frame;
+    private final CompiledScript compiled;
+    private final int priority;
+    private final boolean synchronous;
+    private final ZeusLimits limits;
+    private final long created = System.nanoTime();
+    private final CompletableFuture<ZeusResult> completion = new CompletableFuture<>();
+    private volatile boolean stopped = false;
+    private ZeusException failure;
+    private long statements = 0;
+    private long invocations = 0;
+    private long stringBytes = 0;
+    private long variables = 0;
     private int currentIndex = 0;
+    private boolean iterating = false;
+    private boolean entering = false;
+    private ZeusLine currentLine;
     private Map<Integer, Boolean> parsingScope = new ConcurrentHashMap<>();
     private int scope = DEFAULT_SCOPE;
 
     /**
      * Creates a new task.
      * @param runtime The runtime instance.
-     * @param variables A map of all predefined variables.
-     * @param code The code to evaluate.
+     * @param error The consumer for when an error occurs.
+     * @param script The compiled script to evaluate.
+     * @param frame The frame holding the variables, which reads the predefined variables from the shared base.
+     * @param priority The priority of the task, only used if the runtime schedules tasks.
+     * @param synchronous Whether or not the task is run by the thread that evaluates it, such a task is never suspended.
      */
-    ZeusTaskImpl(ZeusRuntimeImpl runtime, Map<String, ZeusVariable> variables, Consumer<ZeusException> error, String[] code) {
-        this.current = new Thread(this);
+    ZeusTaskImpl(ZeusRuntimeImpl runtime, Consumer<ZeusException> error, ZeusScriptImpl script, ZeusFrame frame, int priority, boolean synchronous) {
         this.runtime = runtime;
-        this.variables = variables;
         this.error = error;
-        this.code = code;
+        this.script = script;
+        this.frame = frame;
+        this.compiled = script.getCompiled();
+        this.priority = priority;
+        this.synchronous = synchronous;
+        this.limits = runtime.getLimits();
         parsingScope.put(scope, true);
-        for(ZeusVariable variable : variables.values()) {
+        for(ZeusEventListener listener : runtime.getEventListeners()) {
+            for(ZeusVariable variable : runtime.getPredefinedVariables()) {
+                listener.onEvent(new VariableDeclareEvent(variable, -1));
+            }
+        }
+    }
+
+    /**
+     * Binds variables to the task, which are declared just like predefined variables.
+     * They overwrite predefined variables with the same identifier. This has to be done before the task is started.
+     * @param variables An array of variables.
+     */
+    void bind(ZeusVariable[] variables) {
+        for(ZeusVariable variable : variables) {
+            frame.declare(frame.getSlot(variable.identifier(), true), variable.type(), variable.value());
             for(ZeusEventListener listener : runtime.getEventListeners()) {
                 listener.onEvent(new VariableDeclareEvent(variable, -1));
             }
@@ -69,36 +127,287 @@ public class ZeusTaskImpl implements ZeusTask {
     }
 
     /**
-     * Runs the task.
+     * Runs the task on the current thread.
+     * Once the task has finished, the thread is no longer affected by the task being killed.
+     * Should the task have been suspended by a sleep, it is resumed on the runtime once the sleep is over.
+     * Should the task have used up its time slice, it is queued on the runtime again right away.
      */
     @Override
     public void run() {
-        while(!runtime.isShutdown()
-                && !current.isInterrupted()
-                && currentIndex < code.length) {
+        synchronized(lock) {
+            runner = Thread.currentThread();
+            wakeup = null;
+        }
+        long delay = -1;
+        try {
+            execute();
+        } finally {
+            delay = suspension;
+            suspension = -1;
+            synchronized(lock) {
+                runner = null;
+                if(delay > 0
+                        && !killed) {
+                    try {
+                        wakeup = runtime.schedule(this::resume, delay);
+                    } catch(RejectedExecutionException exception) {
+                        delay = -1;
+                    }
+                } else if(killed) {
+                    delay = -1;
+                }
+            }
+            if(killed) {
+                Thread.interrupted();
+            }
+            if(delay == 0) {
+                resume();
+            } else if(delay == -1) {
+                finish();
+            }
+        }
+    }
+
+    /**
+     * Starts the evaluation of the code.
+     * The task is handed to the execution strategy of the runtime, it is only ever started once.
+     * @throws RejectedExecutionException If the runtime can not accept the task.
+     */
+    @Override
+    public void evaluate() {
+        if(started.compareAndSet(false, true)) {
+            runtime.execute(this);
+        }
+    }
+
+    /**
+     * Kills the current task.
+     * Should the task not have started yet, it will not evaluate anything.
+     */
+    @Override
+    public void kill() {
+        boolean suspended = false;
+        synchronized(lock) {
+            killed = true;
+            if(runner != null) {
+                runner.interrupt();
+            } else if(wakeup != null
+                    && wakeup.cancel(false)) {
+                wakeup = null;
+                suspended = true;
+            }
+        }
+        if(suspended) {
+            finish();
+        }
+    }
+
+    /**
+     * Gets the priority of the task.
+     * @return The priority, higher priorities are evaluated first.
+     */
+    int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the completion of the task.
+     * It completes with the result once the task has ended, no matter how it ended.
+     * Dependent stages run on the thread that ended the task, unless an executor is specified.
+     * @return The completion stage.
+     */
+    @Override
+    public CompletionStage<ZeusResult> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Gets the frame holding the variables of the task.
+     * @return The frame.
+     */
+    ZeusFrame getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gets the result of the task.
+     * @return The result, or null if the task has not ended yet.
+     */
+    ZeusResult getResult() {
+        return completion.getNow(null);
+    }
+
+    /**
+     * Stops the task, just like the stop component.
+     * Unlike killing the task, the result reports that the task was stopped.
+     */
+    public void stop() {
+        stopped = true;
+        kill();
+    }
+
+    /**
+     * Sleeps for the specified duration.
+     * Should the runtime suspend sleeping tasks, the interpreter stops after the current line and
+     * the task is resumed once the duration has passed, otherwise the current thread sleeps.
+     * Compiled scripts and tasks that are evaluated synchronously always sleep on the current thread. Should the task be killed while sleeping, it simply ends.
+     * @param duration The duration in milliseconds.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the thread was interrupted while sleeping for any other reason.
+     */
+    public void sleep(long duration, int lineNumber)
+            throws ZeusException {
+        if(runtime.isSuspendingSleep()
+                && compiled == null
+                && !synchronous) {
+            suspension = duration;
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch(InterruptedException exception) {
+            if(!isRunning()) {
+                return;
+            }
+            throw new ZeusException("Attempted to sleep the code, but hit an interrupted exception.", lineNumber);
+        }
+    }
+
+    /**
+     * Resumes the task after it has been suspended.
+     * Should the runtime no longer accept the task, it finishes right away.
+     */
+    private void resume() {
+        try {
+            runtime.execute(this);
+        } catch(RejectedExecutionException exception) {
+            finish();
+        }
+    }
+
+    /**
+     * Sets the timeout that kills the task, it is cancelled once the task finishes.
+     * This has to be set before the task is started.
+     * @param timeout The timeout.
+     */
+    void setTimeout(ZeusTimer.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Marks the task as finished, this only has an effect the first time it is called.
+     */
+    void finish() {
+        if(finished.compareAndSet(false, true)) {
+            if(timeout != null) {
+                timeout.cancel();
+            }
+            runtime.onTaskFinished();
+            completion.complete(createResult());
+        }
+    }
+
+    /**
+     * Creates the result of the task, once it has ended.
+     * @return The result.
+     */
+    private ZeusResult createResult() {
+        ZeusResult.Outcome outcome;
+        if(failure != null) {
+            outcome = ZeusResult.Outcome.ERROR;
+        } else if(stopped) {
+            outcome = ZeusResult.Outcome.STOPPED;
+        } else if(!isRunning()) {
+            outcome = ZeusResult.Outcome.KILLED;
+        } else {
+            outcome = ZeusResult.Outcome.COMPLETED;
+        }
+        Map<String, ZeusVariable> variables = new HashMap<>();
+        for(int slot = 0; slot < frame.getSize(); slot++) {
+            ZeusVariable variable = getVariable(slot);
+            if(variable != null) {
+                variables.put(variable.identifier(), variable);
+            }
+        }
+        return new ZeusResultImpl(outcome, failure, Collections.unmodifiableMap(variables), statements,
+                limits.getInvocations() == -1 ? -1 : invocations,
+                limits.getStringBytes() == -1 ? -1 : stringBytes,
+                System.nanoTime() - created);
+    }
+
+    /**
+     * Whether or not the task should keep running.
+     * This is the case until it is killed or the runtime is shut down.
+     * @return True if it should, false otherwise.
+     */
+    public boolean isRunning() {
+        return !runtime.isShutdown()
+                && !killed;
+    }
+
+    /**
+     * Evaluates the script, either the compiled class or line by line.
+     * Should the script be structured, elif, else and end lines jump right to the line after the end, and if lines
+     * whose condition is false skip their branch. Only an elif line that is branched to evaluates its condition.
+     * The end of a loop jumps back to the loop instead, which goes through the same checks as every other line,
+     * so loops can be killed and count towards the limits.
+     * Otherwise, every line is walked through to track the scopes.
+     * The interpreter continues at the line after the sleep, should the task have been suspended.
+     * Should the runtime schedule tasks, the interpreter yields once the time slice is used up.
+     */
+    private void execute() {
+        if(compiled != null) {
             try {
-                String line = code[currentIndex];
-                currentIndex++;
-                if(line.isEmpty()) {
+                compiled.execute(this);
+            } catch(ZeusException exception) {
+                error(exception);
+            }
+            return;
+        }
+        int timeSlice = synchronous ? -1 : runtime.getTimeSlice();
+        int sliced = 0;
+        int[] jumps = script.getJumps();
+        while(isRunning()
+                && suspension == -1
+                && currentIndex < script.getLineCount()) {
+            if(timeSlice != -1
+                    && sliced++ == timeSlice) {
+                suspension = 0;
+                break;
+            }
+            try {
+                int index = currentIndex++;
+                ZeusLine line = script.getLine(index);
+                if(line == null) {
                     continue;
                 }
-                int lineNumber = currentIndex;
-                Tokenizer tokenizer = new Tokenizer(line, lineNumber);
-                if(tokenizer.getTokens().length == 0) {
+                boolean entered = entering;
+                entering = false;
+                if(jumps != null
+                        && jumps[index] != -1
+                        && !entered) {
+                    currentIndex = jumps[index];
+                    iterating = currentIndex <= index;
                     continue;
                 }
-                boolean parse = isParsing(scope);
+                currentLine = line;
+                int lineNumber = line.getLineNumber();
+                boolean parse = jumps != null || isParsing(scope);
+                if(parse) {
+                    countStatement(lineNumber);
+                }
                 boolean success = false;
                 for(ZeusComponent component : runtime.getComponents()) {
                     if(!parse
                             && !(component instanceof ZeusScopeComponent)) {
                         continue;
                     }
-                    success = component.invoke(this, tokenizer.getTokens(), lineNumber);
+                    success = component.invoke(this, line.getTokens(), lineNumber);
                     if(success) {
                         break;
                     }
                 }
+                iterating = false;
                 if(!success
                         && parse) {
                     error(new ZeusException("Unknown component in code.", lineNumber));
@@ -110,21 +419,91 @@ public class ZeusTaskImpl implements ZeusTask {
     }
 
     /**
-     * Starts the evaluation of the code.
+     * Checks whether the task should keep running before a statement is evaluated.
+     * This is used by compiled scripts, the statement is counted towards the limits of the task.
+     * @param lineNumber The line number of the statement.
+     * @return True if the task should keep running, false otherwise.
+     * @throws ZeusLimitException If the task exceeded the maximum amount of statements.
      */
-    @Override
-    public void evaluate() {
-        if(!current.isAlive()) {
-            current.start();
+    public boolean checkpoint(int lineNumber)
+            throws ZeusLimitException {
+        if(!isRunning()) {
+            return false;
         }
+        countStatement(lineNumber);
+        return true;
     }
 
     /**
-     * Kills the current task.
+     * Counts a method invocation towards the limits of the task.
+     * @param lineNumber The line number.
+     * @throws ZeusLimitException If the task exceeded the maximum amount of method invocations.
      */
-    @Override
-    public void kill() {
-        current.interrupt();
+    public void countInvocation(int lineNumber)
+            throws ZeusLimitException {
+        long maximum = limits.getInvocations();
+        if(maximum != -1
+                && ++invocations > maximum) {
+            throw new ZeusLimitException(ZeusLimitException.Limit.INVOCATIONS, maximum, lineNumber);
+        }
+    }
+
+    /**
+     * Counts the value returned by a method towards the limits of the task, should it be a string.
+     * @param value The value, can be null.
+     * @param lineNumber The line number.
+     * @throws ZeusLimitException If the task exceeded the maximum amount of string bytes.
+     */
+    public void countString(Object value, int lineNumber)
+            throws ZeusLimitException {
+        long maximum = limits.getStringBytes();
+        if(maximum != -1
+                && value instanceof String
+                && (stringBytes += ((String) value).length() * 2L) > maximum) {
+            throw new ZeusLimitException(ZeusLimitException.Limit.STRING_BYTES, maximum, lineNumber);
+        }
+    }
+
+    /**
+     * Counts a statement, statements are always counted for the result.
+     * @param lineNumber The line number.
+     * @throws ZeusLimitException If the task exceeded the maximum amount of statements.
+     */
+    private void countStatement(int lineNumber)
+            throws ZeusLimitException {
+        long maximum = limits.getStatements();
+        statements++;
+        if(maximum != -1
+                && statements > maximum) {
+            throw new ZeusLimitException(ZeusLimitException.Limit.STATEMENTS, maximum, lineNumber);
+        }
+    }
+
+    /**
+     * Counts a newly declared variable towards the limits of the task.
+     * @param lineNumber The line number.
+     * @throws ZeusLimitException If the task exceeded the maximum amount of variables.
+     */
+    private void countVariable(int lineNumber)
+            throws ZeusLimitException {
+        long maximum = limits.getVariables();
+        if(maximum != -1
+                && ++variables > maximum) {
+            throw new ZeusLimitException(ZeusLimitException.Limit.VARIABLES, maximum, lineNumber);
+        }
+    }
+
+    /**
+     * Invokes a component for a line, just like the interpreter would.
+     * This is used by compiled scripts for lines that are not compiled.
+     * @param component The component.
+     * @param line The line.
+     * @throws ZeusException If an error occurs.
+     */
+    public void invoke(ZeusComponent component, ZeusLine line)
+            throws ZeusException {
+        currentLine = line;
+        component.invoke(this, line.getTokens(), line.getLineNumber());
     }
 
     /**
@@ -137,6 +516,16 @@ public class ZeusTaskImpl implements ZeusTask {
         return runtime.getMethods().getMethod(identifier, parameterCount);
     }
 
+    /**
+     * Gets the bound target of a method by identifier.
+     * @param identifier The identifier of the method.
+     * @param parameterCount The number of parameters.
+     * @return A method target or null if it does not exist.
+     */
+    public MethodTarget getMethodTarget(String identifier, int parameterCount) {
+        return runtime.getMethods().getTarget(identifier, parameterCount);
+    }
+
     /**
      * Gets a method container.
      * @param method The method.
@@ -146,13 +535,119 @@ public class ZeusTaskImpl implements ZeusTask {
         return runtime.getMethods().getContainer(method);
     }
 
+    /**
+     * Gets the expression tree of a value.
+     * Should the tokens be the ones of the line currently being evaluated, the tree is shared with
+     * all other evaluations of the same script, otherwise the tokens are parsed on every call.
+     * @param tokens An array of tokens.
+     * @param start The index where the value starts.
+     * @param lineNumber The line number.
+     * @return The expression.
+     * @throws ZeusException If the value could not be parsed.
+     */
+    public Expression getExpression(Token[] tokens, int start, int lineNumber)
+            throws ZeusException {
+        return getExpression(tokens, start, tokens.length, lineNumber);
+    }
+
+    /**
+     * Gets the expression tree of a value between the specified indices.
+     * Should the tokens be the ones of the line currently being evaluated, the tree is cached by the line.
+     * Tokens that a custom component assembled itself are parsed on every call and never cached, since a new
+     * array may be passed on every call and caching it by identity would keep it alive for the whole task.
+     * @param tokens An array of tokens.
+     * @param start The index where the value starts.
+     * @param end The index where the value ends, exclusive.
+     * @param lineNumber The line number.
+     * @return The expression.
+     * @throws ZeusException If the value could not be parsed.
+     */
+    public Expression getExpression(Token[] tokens, int start, int end, int lineNumber)
+            throws ZeusException {
+        ZeusLine line = currentLine;
+        if(line != null
+                && line.getTokens() == tokens) {
+            return line.getExpression(start, end);
+        }
+        int[] slots = new int[tokens.length];
+        for(int i = 0; i < tokens.length; i++) {
+            slots[i] = ZeusScriptImpl.isVariable(tokens, i) ? frame.getSlot(tokens[i].getToken(), true) : -1;
+        }
+        return ExpressionParser.parse(runtime.getMethods(), tokens, slots, start, end, lineNumber);
+    }
+
+    /**
+     * Gets the variable slot of a token.
+     * @param tokens An array of tokens.
+     * @param index The index of the token.
+     * @return The slot, or -1 if the token can not be a variable.
+     */
+    public int getSlot(Token[] tokens, int index) {
+        ZeusLine line = currentLine;
+        if(line != null
+                && line.getTokens() == tokens) {
+            return line.getSlot(index);
+        }
+        return ZeusScriptImpl.isVariable(tokens, index) ? frame.getSlot(tokens[index].getToken(), true) : -1;
+    }
+
     /**
      * Gets a variable by identifier.
      * @param identifier The identifier.
      * @return A variable or null if it does not exist.
      */
     public ZeusVariable getVariable(String identifier) {
-        return variables.get(identifier);
+        int slot = frame.getSlot(identifier, false);
+        return slot == -1 ? null : getVariable(slot);
+    }
+
+    /**
+     * Gets a variable by slot.
+     * The variable is a snapshot, it will not change when the variable is reassigned.
+     * @param slot The slot.
+     * @return A variable or null if it does not exist.
+     */
+    public ZeusVariable getVariable(int slot) {
+        VariableType type = frame.getType(slot);
+        return type == null ? null : ZeusVariableImpl.of(type, frame.getIdentifier(slot), frame.getValue(slot));
+    }
+
+    /**
+     * Gets the value of a variable by slot.
+     * @param slot The slot.
+     * @return The value, or null if the variable does not exist.
+     */
+    public Object getValue(int slot) {
+        return slot == -1 ? null : frame.getValue(slot);
+    }
+
+    /**
+     * Whether or not a variable has been declared.
+     * @param slot The slot, can be -1.
+     * @return True if it has, false otherwise.
+     */
+    public boolean isDeclared(int slot) {
+        return slot != -1
+                && frame.getType(slot) != null;
+    }
+
+    /**
+     * Gets the kind of value a variable currently holds.
+     * @param slot The slot.
+     * @return The kind, or null if the variable does not exist.
+     */
+    public VariableValues getKind(int slot) {
+        return frame.getKind(slot);
+    }
+
+    /**
+     * Gets the unboxed value of a variable holding a number or boolean.
+     * Integers and longs are stored as they are, doubles as their IEEE 754 bits and booleans as 1 or 0.
+     * @param slot The slot.
+     * @return The raw bits, only meaningful if the kind of the variable is not a string.
+     */
+    public long getBits(int slot) {
+        return frame.getBits(slot);
     }
 
     /**
@@ -164,21 +659,123 @@ public class ZeusTaskImpl implements ZeusTask {
      */
     public void updateVariable(ZeusVariable variable, int lineNumber)
             throws ZeusException {
-        ZeusVariable existing = variables.get(variable.identifier());
+        declareVariable(frame.getSlot(variable.identifier(), true), variable.type(), variable.value(), lineNumber);
+    }
+
+    /**
+     * Declares a variable.
+     * Declaring an already existing variable overwrites it, including its type.
+     * @param slot The slot of the variable.
+     * @param type The type of the variable.
+     * @param value The value, which has to be one of the values defined in VariableValues.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the value is not supported or the variable already exists and is a constant.
+     */
+    public void declareVariable(int slot, VariableType type, Object value, int lineNumber)
+            throws ZeusException {
+        if(!ZeusVariableUtil.isValidValue(value.getClass())) {
+            throw new ZeusException("The variable value passed in is not a supported variable value.", lineNumber);
+        }
+        VariableType existing = frame.getType(slot);
+        if(existing == VariableType.CONSTANT) {
+            throw new ZeusException("The variable \"" + frame.getIdentifier(slot) + "\" cannot be updated as it is a constant.", lineNumber);
+        }
         if(existing == null) {
-            onEvent(new VariableDeclareEvent(variable, lineNumber));
-        } else {
-            if(existing.type() == VariableType.CONSTANT) {
-                throw new ZeusException("The variable \"" + variable.identifier() + "\" cannot be updated as it is a constant.", lineNumber);
-            }
-            onEvent(new VariableReassignEvent(variable, lineNumber));
+            countVariable(lineNumber);
+        }
+        frame.declare(slot, type, value);
+        onDeclare(slot, existing, lineNumber);
+    }
+
+    /**
+     * Declares a variable with the value of an expression.
+     * Should the expression be known to produce a number or boolean, the value is stored without boxing.
+     * @param slot The slot of the variable.
+     * @param type The type of the variable.
+     * @param expression The expression.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the expression could not be evaluated or the variable already exists and is a constant.
+     */
+    public void declareVariable(int slot, VariableType type, Expression expression, int lineNumber)
+            throws ZeusException {
+        VariableValues kind = expression.getType();
+        if(kind == null
+                || kind == VariableValues.STRING) {
+            declareVariable(slot, type, ZeusUtil.evaluateValue(this, expression, lineNumber), lineNumber);
+            return;
         }
-        variables.put(variable.identifier(), variable);
-        if(existing != null
-                && existing.type() == VariableType.CONSTANT) {
-            throw new ZeusException("The variable \"" + variable.identifier() + "\" cannot be updated as it is a constant.", lineNumber);
+        declareVariable(slot, type, kind, evaluateBits(expression, kind), lineNumber);
+    }
+
+    /**
+     * Declares a variable holding a number or boolean.
+     * @param slot The slot of the variable.
+     * @param type The type of the variable.
+     * @param kind The kind of the value, which must not be a string.
+     * @param value The raw bits of the value.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the variable already exists and is a constant.
+     */
+    public void declareVariable(int slot, VariableType type, VariableValues kind, long value, int lineNumber)
+            throws ZeusException {
+        VariableType existing = frame.getType(slot);
+        if(existing == VariableType.CONSTANT) {
+            throw new ZeusException("The variable \"" + frame.getIdentifier(slot) + "\" cannot be updated as it is a constant.", lineNumber);
+        }
+        if(existing == null) {
+            countVariable(lineNumber);
+        }
+        frame.declare(slot, type, kind, value);
+        onDeclare(slot, existing, lineNumber);
+    }
+
+    /**
+     * Reassigns an existing variable.
+     * This is a plain store, the value is not validated and no objects are created unless there are event listeners.
+     * @param slot The slot of the variable.
+     * @param value The value, which has to be one of the values defined in VariableValues.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the variable does not exist or is a constant.
+     */
+    public void reassignVariable(int slot, Object value, int lineNumber)
+            throws ZeusException {
+        checkReassign(slot, lineNumber);
+        frame.setValue(slot, value);
+        onReassign(slot, lineNumber);
+    }
+
+    /**
+     * Reassigns an existing variable to the value of an expression.
+     * Should the expression be known to produce a number or boolean, the value is stored without boxing.
+     * @param slot The slot of the variable.
+     * @param expression The expression.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the expression could not be evaluated or the variable does not exist or is a constant.
+     */
+    public void reassignVariable(int slot, Expression expression, int lineNumber)
+            throws ZeusException {
+        VariableValues kind = expression.getType();
+        if(kind == null
+                || kind == VariableValues.STRING) {
+            reassignVariable(slot, ZeusUtil.evaluateValue(this, expression, lineNumber), lineNumber);
+            return;
         }
-        variables.put(variable.identifier(), variable);
+        reassignVariable(slot, kind, evaluateBits(expression, kind), lineNumber);
+    }
+
+    /**
+     * Reassigns an existing variable to a number or boolean.
+     * @param slot The slot of the variable.
+     * @param kind The kind of the value, which must not be a string.
+     * @param value The raw bits of the value.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the variable does not exist or is a constant.
+     */
+    public void reassignVariable(int slot, VariableValues kind, long value, int lineNumber)
+            throws ZeusException {
+        checkReassign(slot, lineNumber);
+        frame.setBits(slot, kind, value);
+        onReassign(slot, lineNumber);
     }
 
     /**
@@ -191,6 +788,69 @@ public class ZeusTaskImpl implements ZeusTask {
         }
     }
 
+    /**
+     * Whether or not the if, else and end lines of the script have been matched.
+     * If they have, scope components jump over branches instead of changing the scope.
+     * @return True if they have, false otherwise.
+     */
+    public boolean isStructured() {
+        return script.isStructured();
+    }
+
+    /**
+     * Skips the branch of the if or elif line or the body of the loop that is currently evaluated,
+     * continuing at the next elif line or at the line after its else or end.
+     * This may only be used if the script is structured.
+     */
+    public void skipBranch() {
+        int index = currentIndex - 1;
+        currentIndex = script.getBranch(index);
+        entering = script.isChained(index);
+    }
+
+    /**
+     * Whether or not the loop that is currently evaluated has been reached by jumping back from its end.
+     * @return True if it has, false if the loop is entered.
+     */
+    public boolean isIterating() {
+        return iterating;
+    }
+
+    /**
+     * Enters a for loop by declaring its variable as a mutable integer.
+     * @param slot The slot of the variable.
+     * @param start The start.
+     * @param lineNumber The line number.
+     * @return The start.
+     * @throws ZeusException If the variable already exists and is a constant.
+     */
+    public int startLoop(int slot, int start, int lineNumber)
+            throws ZeusException {
+        declareVariable(slot, VariableType.MUTABLE, VariableValues.INT, start, lineNumber);
+        return start;
+    }
+
+    /**
+     * Advances a for loop by incrementing its variable.
+     * @param slot The slot of the variable.
+     * @param lineNumber The line number.
+     * @return The incremented value.
+     * @throws ZeusException If the variable no longer holds an integer, is a constant or can not be incremented any further.
+     */
+    public int advanceLoop(int slot, int lineNumber)
+            throws ZeusException {
+        if(frame.getType(slot) == null
+                || frame.getKind(slot) != VariableValues.INT) {
+            throw new ZeusException("The variable \"" + frame.getIdentifier(slot) + "\" of the for loop no longer holds an integer.", lineNumber);
+        }
+        int value = (int) frame.getBits(slot);
+        if(value == Integer.MAX_VALUE) {
+            throw new ZeusException("The variable \"" + frame.getIdentifier(slot) + "\" of the for loop can not be incremented any further.", lineNumber);
+        }
+        reassignVariable(slot, VariableValues.INT, value + 1, lineNumber);
+        return value + 1;
+    }
+
     /**
      * Whether or not the parser is currently parsing in the specified scope.
      * @param scope The scope.
@@ -231,12 +891,77 @@ public class ZeusTaskImpl implements ZeusTask {
         this.scope = scope;
     }
 
+    /**
+     * Evaluates an expression to the raw bits of a number or boolean.
+     * @param expression The expression.
+     * @param kind The kind of value the expression produces, which must not be a string.
+     * @return The raw bits.
+     * @throws ZeusException If the expression could not be evaluated.
+     */
+    private long evaluateBits(Expression expression, VariableValues kind)
+            throws ZeusException {
+        switch(kind) {
+            case INT:
+                return expression.evaluateInt(this);
+            case LONG:
+                return expression.evaluateLong(this);
+            case DOUBLE:
+                return Double.doubleToRawLongBits(expression.evaluateDouble(this));
+            default:
+                return expression.evaluateBoolean(this) ? 1 : 0;
+        }
+    }
+
+    /**
+     * Makes sure a variable can be reassigned.
+     * @param slot The slot of the variable.
+     * @param lineNumber The line number.
+     * @throws ZeusException If the variable does not exist or is a constant.
+     */
+    private void checkReassign(int slot, int lineNumber)
+            throws ZeusException {
+        VariableType type = frame.getType(slot);
+        if(type == null) {
+            throw new ZeusException("Cannot update non-existent variable \"" + frame.getIdentifier(slot) + "\".", lineNumber);
+        }
+        if(type == VariableType.CONSTANT) {
+            throw new ZeusException("The variable \"" + frame.getIdentifier(slot) + "\" cannot be updated as it is a constant.", lineNumber);
+        }
+    }
+
+    /**
+     * Notifies the event listeners about a declaration, should there be any.
+     * @param slot The slot of the variable.
+     * @param existing The type the variable had before, or null if it did not exist.
+     * @param lineNumber The line number.
+     */
+    private void onDeclare(int slot, VariableType existing, int lineNumber) {
+        if(runtime.getEventListeners().length != 0) {
+            ZeusVariable variable = getVariable(slot);
+            onEvent(existing == null ? new VariableDeclareEvent(variable, lineNumber) : new VariableReassignEvent(variable, lineNumber));
+        }
+    }
+
+    /**
+     * Notifies the event listeners about a reassignment, should there be any.
+     * @param slot The slot of the variable.
+     * @param lineNumber The line number.
+     */
+    private void onReassign(int slot, int lineNumber) {
+        if(runtime.getEventListeners().length != 0) {
+            onEvent(new VariableReassignEvent(getVariable(slot), lineNumber));
+        }
+    }
+
     /**
      * Quick method to error without having to do nullchecks every time.
      * And writing kill(). Because that's so much effort. A whole 7 characters.
      * @param exception The exception.
      */
     private void error(ZeusException exception) {
+        if(failure == null) {
+            failure = exception;
+        }
         if(error != null) {
             error.accept(exception);
         }
@@ -0,0 +1,231 @@
+package de.arraying.zeus.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+final class ZeusTimer {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickDuration;
+    private final long start;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new timer, a hashed timing wheel.
+     * Scheduling and cancelling a timeout takes constant time, the timeouts are only sorted into the wheel by the
+     * timer thread on every tick. A timeout expires within one tick after its deadline.
+     * @param tickDuration The duration of a tick in milliseconds.
+     * @param wheelSize The amount of buckets, rounded up to a power of two.
+     */
+    ZeusTimer(long tickDuration, int wheelSize) {
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.wheel = new Bucket[size];
+        for(int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        this.start = System.nanoTime();
+        this.worker = new Thread(this::work, "Zeus Timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Schedules an action.
+     * The action is run on the timer thread, so it should return quickly.
+     * @param action The action.
+     * @param delay The delay in milliseconds.
+     * @return The timeout, which can be used to cancel the action.
+     * @throws RejectedExecutionException If the timer has been stopped.
+     */
+    Timeout schedule(Runnable action, long delay) {
+        if(!running) {
+            throw new RejectedExecutionException("The timer has been stopped.");
+        }
+        Timeout timeout = new Timeout(action, System.nanoTime() - start + TimeUnit.MILLISECONDS.toNanos(delay));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer, timeouts that have not expired yet are dropped.
+     */
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Advances the wheel one tick at a time, until the timer is stopped.
+     */
+    private void work() {
+        long tick = 0;
+        while(running) {
+            long remaining = tickDuration * (tick + 1) - (System.nanoTime() - start);
+            if(remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                } catch(InterruptedException ignored) {}
+                continue;
+            }
+            removeCancelled();
+            transferScheduled(tick);
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * Removes all cancelled timeouts from the wheel.
+     */
+    private void removeCancelled() {
+        Timeout timeout;
+        while((timeout = cancelled.poll()) != null) {
+            if(timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Sorts all newly scheduled timeouts into the wheel.
+     * Timeouts whose deadline has already passed are put into the bucket of the current tick.
+     * @param tick The current tick.
+     */
+    private void transferScheduled(long tick) {
+        Timeout timeout;
+        while((timeout = scheduled.poll()) != null) {
+            if(timeout.state != PENDING) {
+                continue;
+            }
+            long ticks = Math.max(timeout.deadline / tickDuration, tick);
+            timeout.rounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Expires all timeouts in the bucket that are due in the current round.
+     * @param bucket The bucket.
+     */
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while(timeout != null) {
+            Timeout next = timeout.next;
+            if(timeout.rounds <= 0) {
+                bucket.remove(timeout);
+                if(STATE.compareAndSet(timeout, PENDING, EXPIRED)) {
+                    try {
+                        timeout.action.run();
+                    } catch(RuntimeException ignored) {}
+                }
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    final class Timeout {
+
+        private final Runnable action;
+        private final long deadline;
+        volatile int state = PENDING;
+        private long rounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        /**
+         * Creates a new timeout.
+         * @param action The action to run once the timeout expires.
+         * @param deadline The deadline in nanoseconds, relative to the start of the timer.
+         */
+        private Timeout(Runnable action, long deadline) {
+            this.action = action;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, should it not have expired yet.
+         * The timeout is removed from the wheel on the next tick.
+         */
+        void cancel() {
+            if(STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                cancelled.add(this);
+            }
+        }
+
+    }
+
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        /**
+         * Adds a timeout to the end of the bucket.
+         * @param timeout The timeout.
+         */
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if(head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Removes a timeout from the bucket.
+         * @param timeout The timeout.
+         */
+        private void remove(Timeout timeout) {
+            if(timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if(timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.previous = null;
+        }
+
+    }
+
+}
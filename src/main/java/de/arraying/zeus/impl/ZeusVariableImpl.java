@@ -25,6 +25,20 @@ import java.util.regex.Pattern;
  */
 public class ZeusVariableImpl implements ZeusVariable {
 
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile(Patterns.IDENTIFIER.getStringPattern());
+
+    /**
+     * Creates a new variable without validating it.
+     * Only to be used when the identifier and value are known to be valid, e.g. because they already are in a frame.
+     * @param type The type of the variable.
+     * @param identifier The variable identifier.
+     * @param value The value of the variable.
+     * @return The variable.
+     */
+    static ZeusVariableImpl of(VariableType type, String identifier, Object value) {
+        return new ZeusVariableImpl(type, identifier, value, false);
+    }
+
     private final VariableType type;
     private final String identifier;
     private final Object value;
@@ -35,27 +49,38 @@ public class ZeusVariableImpl implements ZeusVariable {
      * @param identifier The variable identifier.
      *                   This identifier will be checked if it is
      * @param value The value of the variable.
+     * @throws ZeusException If the variable is invalid.
      */
     public ZeusVariableImpl(VariableType type, String identifier, Object value)
             throws ZeusException {
+        this(type, identifier, value, true);
         if(type == null) {
             throw new ZeusException("The variable type cannot be null.");
         }
-        this.type = type;
         if(identifier == null) {
             throw  new ZeusException("The variable identifier cannot be null.");
         }
-        Pattern identifierPattern = Pattern.compile(Patterns.IDENTIFIER.getStringPattern());
-        if(!identifierPattern.matcher(identifier).find()) {
+        if(!IDENTIFIER_PATTERN.matcher(identifier).find()) {
             throw new ZeusException("The variable identifier passed in is not a valid identifier (\"" + identifier + "\").");
         }
-        this.identifier = identifier;
         if(value == null) {
             throw new ZeusException("The variable value cannot be null.");
         }
         if(!ZeusVariableUtil.isValidValue(value.getClass())) {
             throw new ZeusException("The variable value passed in is not a supported variable value.");
         }
+    }
+
+    /**
+     * Creates a new variable without any checks.
+     * @param type The type of the variable.
+     * @param identifier The variable identifier.
+     * @param value The value of the variable.
+     * @param validated Whether the caller validates the variable afterwards, only used to tell the constructors apart.
+     */
+    private ZeusVariableImpl(VariableType type, String identifier, Object value, boolean validated) {
+        this.type = type;
+        this.identifier = identifier;
         this.value = value;
     }
 
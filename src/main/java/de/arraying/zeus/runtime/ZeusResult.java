@@ -0,0 +1,94 @@
+package de.arraying.zeus.runtime;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.variable.ZeusVariable;
+
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@SuppressWarnings("unused")
+public interface ZeusResult {
+
+    /**
+     * Gets how the task ended.
+     * @return The outcome.
+     */
+    Outcome getOutcome();
+
+    /**
+     * Gets the error the task ended with.
+     * @return The error, or null if the outcome is not an error.
+     */
+    ZeusException getError();
+
+    /**
+     * Gets all variables that were declared when the task ended, including the predefined ones.
+     * @return An unmodifiable map of identifiers to variables.
+     */
+    Map<String, ZeusVariable> getVariables();
+
+    /**
+     * Gets the amount of statements the task evaluated.
+     * @return The amount of statements.
+     */
+    long getStatements();
+
+    /**
+     * Gets the amount of methods the task invoked.
+     * Invocations are only counted if the runtime limits them.
+     * @return The amount of invocations, or -1 if they were not counted.
+     */
+    long getInvocations();
+
+    /**
+     * Gets the amount of bytes of all strings returned by methods, two bytes per character.
+     * String bytes are only counted if the runtime limits them.
+     * @return The amount of bytes, or -1 if they were not counted.
+     */
+    long getStringBytes();
+
+    /**
+     * Gets the time between the evaluation of the task and its end.
+     * @return The time in nanoseconds.
+     */
+    long getElapsedTime();
+
+    enum Outcome {
+
+        /**
+         * The task evaluated every line.
+         */
+        COMPLETED,
+
+        /**
+         * The task was stopped by the stop component.
+         */
+        STOPPED,
+
+        /**
+         * The task was killed, timed out or the runtime was shut down.
+         */
+        KILLED,
+
+        /**
+         * The task was aborted by an error.
+         */
+        ERROR
+
+    }
+
+}
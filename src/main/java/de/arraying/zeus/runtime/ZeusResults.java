@@ -0,0 +1,51 @@
+package de.arraying.zeus.runtime;
+
+import de.arraying.zeus.backend.ZeusException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@SuppressWarnings("unused")
+public interface ZeusResults {
+
+    /**
+     * Gets the results of all evaluations.
+     * @return An unmodifiable list of results, in the order the evaluations were provided in.
+     */
+    List<ZeusResult> getResults();
+
+    /**
+     * Gets the errors of all evaluations that were aborted by one.
+     * @return An unmodifiable map of evaluation indices to errors, ordered by index.
+     */
+    Map<Integer, ZeusException> getErrors();
+
+    /**
+     * Gets the amount of evaluations that ended with the specified outcome.
+     * @param outcome The outcome.
+     * @return The amount of evaluations.
+     */
+    int getCount(ZeusResult.Outcome outcome);
+
+    /**
+     * Gets the amount of statements all evaluations evaluated together.
+     * @return The amount of statements.
+     */
+    long getStatements();
+
+}
@@ -1,8 +1,11 @@
 package de.arraying.zeus.runtime;
 
 import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.variable.ZeusVariable;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -40,6 +43,100 @@ public interface ZeusRuntime {
      */
     ZeusTask evaluate(File file, Consumer<ZeusException> error) throws ZeusException;
 
+    /**
+     * Evaluates a compiled script.
+     * @param script The script, compiled by this runtime.
+     * @param error The consumer for when an error occurs.
+     * @return The Zeus evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    ZeusTask evaluate(ZeusScript script, Consumer<ZeusException> error) throws ZeusException;
+
+    /**
+     * Evaluates a compiled script with a priority.
+     * Should the runtime schedule tasks, tasks with a higher priority are evaluated first, without starving tasks with a lower priority.
+     * Otherwise, the priority has no effect.
+     * @param script The script, compiled by this runtime.
+     * @param priority The priority, the default priority is 0.
+     * @param error The consumer for when an error occurs.
+     * @return The Zeus evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    ZeusTask evaluate(ZeusScript script, int priority, Consumer<ZeusException> error) throws ZeusException;
+
+    /**
+     * Evaluates a compiled script with a priority and a timeout.
+     * The task is killed once the timeout has passed, this takes precedence over the maximum runtime.
+     * @param script The script, compiled by this runtime.
+     * @param priority The priority, the default priority is 0.
+     * @param timeout The timeout in milliseconds, between 1 and 43200000, or -1 to use the maximum runtime.
+     * @param error The consumer for when an error occurs.
+     * @return The Zeus evaluation task.
+     * @throws ZeusException If an error occurs.
+     */
+    ZeusTask evaluate(ZeusScript script, int priority, int timeout, Consumer<ZeusException> error) throws ZeusException;
+
+    /**
+     * Evaluates a compiled script on the current thread and waits for it to end.
+     * This avoids handing the task to another thread, which is worth it for short scripts.
+     * The maximum runtime and the limits still apply, sleeping blocks the current thread.
+     * @param script The script, compiled by this runtime.
+     * @return The result, which also contains the error the task may have ended with.
+     * @throws ZeusException If the script could not be evaluated.
+     */
+    ZeusResult evaluateSync(ZeusScript script) throws ZeusException;
+
+    /**
+     * Evaluates a compiled script on the current thread with a timeout and waits for it to end.
+     * @param script The script, compiled by this runtime.
+     * @param timeout The timeout in milliseconds, between 1 and 43200000, or -1 to use the maximum runtime.
+     * @return The result, which also contains the error the task may have ended with.
+     * @throws ZeusException If the script could not be evaluated.
+     */
+    ZeusResult evaluateSync(ZeusScript script, int timeout) throws ZeusException;
+
+    /**
+     * Evaluates a compiled script once for every set of bindings and waits for all of them to end.
+     * The bindings of an evaluation are declared like predefined variables, overwriting those with the same identifier.
+     * Evaluations are run on the current thread one after another, reusing their variable frame, unless
+     * they are evaluated in parallel, in which case they are split across the workers of the fork/join pool.
+     * The maximum runtime and the limits apply to every evaluation.
+     * @param script The script, compiled by this runtime.
+     * @param bindings A list of variable arrays, one per evaluation.
+     * @param parallel Whether or not to evaluate them in parallel.
+     * @return The aggregated results, in the order of the bindings.
+     * @throws ZeusException If the script could not be evaluated.
+     */
+    ZeusResults evaluateBatch(ZeusScript script, List<ZeusVariable[]> bindings, boolean parallel) throws ZeusException;
+
+    /**
+     * Evaluates a collection of compiled scripts in parallel and waits for all of them to end.
+     * The scripts are split across the workers of the fork/join pool, idle workers steal scripts from busy ones.
+     * The maximum runtime and the limits apply to every evaluation.
+     * @param scripts The scripts, compiled by this runtime.
+     * @return The aggregated results, in the iteration order of the scripts.
+     * @throws ZeusException If the scripts could not be evaluated.
+     */
+    ZeusResults evaluateAll(Collection<? extends ZeusScript> scripts) throws ZeusException;
+
+    /**
+     * Compiles the code given.
+     * The resulting script is immutable and can be evaluated any amount of times, also concurrently.
+     * @param code The code. Each array entry represents one line of code.
+     * @return The compiled script.
+     * @throws ZeusException If the code could not be compiled.
+     */
+    ZeusScript compile(String[] code) throws ZeusException;
+
+    /**
+     * Compiles the code given.
+     * The resulting script is immutable and can be evaluated any amount of times, also concurrently.
+     * @param file The file containing the code.
+     * @return The compiled script.
+     * @throws ZeusException If the code could not be compiled.
+     */
+    ZeusScript compile(File file) throws ZeusException;
+
     /**
      * Completely shuts down the runtime.
      * All current evaluations will at finish the line they are processing and then shut down.
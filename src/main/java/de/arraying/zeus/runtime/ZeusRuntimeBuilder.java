@@ -1,20 +1,26 @@
 package de.arraying.zeus.runtime;
 
+import de.arraying.zeus.backend.MethodTarget;
 import de.arraying.zeus.backend.ZeusException;
 import de.arraying.zeus.backend.ZeusMethods;
 import de.arraying.zeus.backend.annotations.ZeusMethod;
 import de.arraying.zeus.backend.annotations.ZeusStandard;
 import de.arraying.zeus.event.ZeusEventListener;
+import de.arraying.zeus.impl.ZeusLimits;
 import de.arraying.zeus.impl.ZeusRuntimeImpl;
+import de.arraying.zeus.impl.ZeusScheduler;
 import de.arraying.zeus.standard.component.ZeusComponent;
 import de.arraying.zeus.standard.component.ZeusStandardComponent;
 import de.arraying.zeus.standard.component.components.MethodComponent;
 import de.arraying.zeus.standard.component.components.VariableComponent;
 import de.arraying.zeus.standard.component.components.condition.ElseComponent;
+import de.arraying.zeus.standard.component.components.condition.ElseIfComponent;
 import de.arraying.zeus.standard.component.components.condition.IfComponent;
 import de.arraying.zeus.standard.component.components.control.EndComponent;
 import de.arraying.zeus.standard.component.components.control.SleepComponent;
 import de.arraying.zeus.standard.component.components.control.StopComponent;
+import de.arraying.zeus.standard.component.components.loop.ForComponent;
+import de.arraying.zeus.standard.component.components.loop.WhileComponent;
 import de.arraying.zeus.standard.method.ZeusStandardMethod;
 import de.arraying.zeus.standard.method.methods.*;
 import de.arraying.zeus.variable.ZeusVariable;
@@ -24,6 +30,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Copyright 2017 Arraying
@@ -58,14 +70,31 @@ public class ZeusRuntimeBuilder {
     };
     private final ZeusStandardComponent[] standardComponents = new ZeusStandardComponent[] {
             new ElseComponent(),
+            new ElseIfComponent(),
             new IfComponent(),
             new EndComponent(),
             new MethodComponent(),
             new SleepComponent(),
             new StopComponent(),
-            new VariableComponent()
+            new VariableComponent(),
+            new WhileComponent(),
+            new ForComponent()
     };
     private int timeoutThreshold = -1;
+    private int compilationThreshold = -1;
+    private Executor taskExecutor = null;
+    private int workerThreads = -1;
+    private int workerQueueCapacity = -1;
+    private int timeSlice = -1;
+    private Method virtualThreadFactory = null;
+    private int maximumTasks = -1;
+    private int admissionTimeout = 0;
+    private boolean suspendSleep = false;
+    private int parallelism = -1;
+    private long maximumStatements = -1;
+    private long maximumInvocations = -1;
+    private long maximumStringBytes = -1;
+    private long maximumVariables = -1;
 
     /**
      * Creates a new runtime builder.
@@ -84,6 +113,7 @@ public class ZeusRuntimeBuilder {
 
     /**
      * Registers methods annotated with the ZeusMethod annotation.
+     * The methods are checked to be accessible here, so that a container of a non-public class is rejected right away.
      * @param methodContainers An array of objects.
      * @return The builder.
      * @throws ZeusException If an error occurs.
@@ -104,6 +134,7 @@ public class ZeusRuntimeBuilder {
                             continue methodIteration;
                         }
                     }
+                    MethodTarget.checkAccess(method);
                     methods.add(method);
                     this.methodContainers.put(method, methodContainer);
                 }
@@ -116,6 +147,7 @@ public class ZeusRuntimeBuilder {
                 if(!de.arraying.zeus.backend.ZeusMethod.isValidMethod(method)) {
                     throw new ZeusException("The provided method (" + method.getName() + ", " + method.getParameterCount() + " parameters) is invalid.");
                 }
+                MethodTarget.checkAccess(method);
                 methods.add(method);
                 this.methodContainers.put(method, methodContainer);
             }
@@ -192,6 +224,247 @@ public class ZeusRuntimeBuilder {
         return this;
     }
 
+    /**
+     * Limits the amount of statements every task can evaluate.
+     * Unlike the maximum runtime, this limit does not depend on the load of the machine.
+     * Exceeding the limit aborts the task with a ZeusLimitException.
+     * @param statements The maximum amount of statements. Must be at least 1.
+     * @return The builder.
+     * @throws ZeusException If the provided maximum is out of the supported range.
+     */
+    public ZeusRuntimeBuilder withMaximumStatements(long statements)
+            throws ZeusException {
+        if(statements < 1) {
+            throw new ZeusException("The provided maximum amount of statements must be at least 1.");
+        }
+        this.maximumStatements = statements;
+        return this;
+    }
+
+    /**
+     * Limits the amount of methods every task can invoke, including methods of the standard library.
+     * Exceeding the limit aborts the task with a ZeusLimitException.
+     * Scripts are not compiled into JVM classes while this limit is set.
+     * @param invocations The maximum amount of invocations. Must be at least 1.
+     * @return The builder.
+     * @throws ZeusException If the provided maximum is out of the supported range.
+     */
+    public ZeusRuntimeBuilder withMaximumInvocations(long invocations)
+            throws ZeusException {
+        if(invocations < 1) {
+            throw new ZeusException("The provided maximum amount of invocations must be at least 1.");
+        }
+        this.maximumInvocations = invocations;
+        return this;
+    }
+
+    /**
+     * Limits the size of all strings every task can create by invoking methods, two bytes per character.
+     * Exceeding the limit aborts the task with a ZeusLimitException.
+     * Scripts are not compiled into JVM classes while this limit is set.
+     * @param bytes The maximum amount of bytes. Must be at least 1.
+     * @return The builder.
+     * @throws ZeusException If the provided maximum is out of the supported range.
+     */
+    public ZeusRuntimeBuilder withMaximumStringBytes(long bytes)
+            throws ZeusException {
+        if(bytes < 1) {
+            throw new ZeusException("The provided maximum amount of string bytes must be at least 1.");
+        }
+        this.maximumStringBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Limits the amount of variables every task can declare, predefined variables are not included.
+     * Exceeding the limit aborts the task with a ZeusLimitException.
+     * @param variables The maximum amount of variables. Must be at least 0.
+     * @return The builder.
+     * @throws ZeusException If the provided maximum is out of the supported range.
+     */
+    public ZeusRuntimeBuilder withMaximumVariables(long variables)
+            throws ZeusException {
+        if(variables < 0) {
+            throw new ZeusException("The provided maximum amount of variables must not be negative.");
+        }
+        this.maximumVariables = variables;
+        return this;
+    }
+
+    /**
+     * Sets whether or not compiled scripts are also compiled into JVM classes right away.
+     * Compiled classes run considerably faster than the interpreter, but take longer to compile.
+     * Scripts are only compiled if no custom components are registered, otherwise they are interpreted.
+     * @param compilation True to compile scripts, false to always interpret them.
+     * @return The builder.
+     */
+    public ZeusRuntimeBuilder withCompilation(boolean compilation) {
+        this.compilationThreshold = compilation ? 0 : -1;
+        return this;
+    }
+
+    /**
+     * Sets the amount of evaluations after which a script is compiled into a JVM class.
+     * Scripts are interpreted until then, the compilation happens in the background and
+     * all tasks evaluated once it has finished use the compiled class.
+     * This way scripts that only run a couple of times do not pay for the compilation.
+     * @param evaluations The amount of evaluations. Must be at least 1.
+     * @return The builder.
+     * @throws ZeusException If the provided amount is out of the supported range.
+     */
+    public ZeusRuntimeBuilder withCompilationThreshold(int evaluations)
+            throws ZeusException {
+        if(evaluations < 1) {
+            throw new ZeusException("The provided compilation threshold must be at least 1 evaluation.");
+        }
+        this.compilationThreshold = evaluations;
+        return this;
+    }
+
+    /**
+     * Evaluates tasks on a bounded pool of worker threads, instead of starting a new thread for every task.
+     * Idle workers are stopped after a minute. Should all workers be busy and the queue be full,
+     * evaluating another task fails right away. Workers are daemon threads, so they do not keep the JVM alive.
+     * @param threads The maximum amount of worker threads. Must be at least 1.
+     * @param queueCapacity The amount of tasks that can wait for a worker. Must be at least 0.
+     * @return The builder.
+     * @throws ZeusException If the provided sizes are out of the supported range.
+     */
+    public ZeusRuntimeBuilder withWorkerPool(int threads, int queueCapacity)
+            throws ZeusException {
+        if(threads < 1) {
+            throw new ZeusException("The provided amount of worker threads must be at least 1.");
+        }
+        if(queueCapacity < 0) {
+            throw new ZeusException("The provided queue capacity must not be negative.");
+        }
+        this.taskExecutor = null;
+        this.virtualThreadFactory = null;
+        this.timeSlice = -1;
+        this.workerThreads = threads;
+        this.workerQueueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Evaluates tasks on the provided executor, instead of starting a new thread for every task.
+     * The executor is owned by the caller, so it is not shut down together with the runtime.
+     * Should the executor reject a task, evaluating the task fails.
+     * @param executor The executor.
+     * @return The builder.
+     * @throws ZeusException If the executor is null.
+     */
+    public ZeusRuntimeBuilder withExecutor(Executor executor)
+            throws ZeusException {
+        if(executor == null) {
+            throw new ZeusException("The provided executor cannot be null.");
+        }
+        this.taskExecutor = executor;
+        this.virtualThreadFactory = null;
+        this.workerThreads = -1;
+        this.timeSlice = -1;
+        return this;
+    }
+
+    /**
+     * Evaluates every task on its own virtual thread.
+     * Virtual threads are cheap to create and do not occupy a platform thread while a task sleeps.
+     * @return The builder.
+     * @throws ZeusException If the Java runtime does not support virtual threads, which requires Java 21 or newer.
+     */
+    public ZeusRuntimeBuilder withVirtualThreads()
+            throws ZeusException {
+        try {
+            this.virtualThreadFactory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch(NoSuchMethodException exception) {
+            throw new ZeusException("Virtual threads are not supported by the Java runtime.");
+        }
+        this.taskExecutor = null;
+        this.workerThreads = -1;
+        this.timeSlice = -1;
+        return this;
+    }
+
+    /**
+     * Evaluates tasks on a fixed pool of worker threads that share them by time slicing.
+     * A task evaluates a number of statements, then yields and is queued again behind the other tasks
+     * of its priority. This way short tasks do not wait for long running ones to finish.
+     * Tasks with a higher priority go first, but can not starve tasks with a lower priority.
+     * The worker threads are daemon threads.
+     * Compiled scripts are not sliced, they are evaluated in one go.
+     * @param threads The amount of worker threads. Must be at least 1.
+     * @param timeSlice The amount of statements a task evaluates before it yields. Must be at least 1.
+     * @return The builder.
+     * @throws ZeusException If the provided values are out of the supported range.
+     */
+    public ZeusRuntimeBuilder withScheduler(int threads, int timeSlice)
+            throws ZeusException {
+        if(threads < 1) {
+            throw new ZeusException("The provided amount of worker threads must be at least 1.");
+        }
+        if(timeSlice < 1) {
+            throw new ZeusException("The provided time slice must be at least 1 statement.");
+        }
+        this.taskExecutor = null;
+        this.virtualThreadFactory = null;
+        this.workerThreads = threads;
+        this.timeSlice = timeSlice;
+        return this;
+    }
+
+    /**
+     * Sets whether or not sleeping tasks are suspended instead of blocking their thread.
+     * A suspended task does not occupy a thread, once the sleep is over it is handed to the
+     * execution strategy again and continues with the next line. This way many mostly sleeping
+     * tasks can share a small worker pool. Scripts that sleep are not compiled into JVM classes
+     * while this is enabled, as compiled scripts can not be suspended.
+     * @param suspend True to suspend sleeping tasks, false to let them block.
+     * @return The builder.
+     */
+    public ZeusRuntimeBuilder withSuspendingSleep(boolean suspend) {
+        this.suspendSleep = suspend;
+        return this;
+    }
+
+    /**
+     * Limits the amount of tasks that are evaluated at the same time, including tasks that wait for a worker.
+     * Once the limit is reached, evaluating another task blocks the caller until a task finishes.
+     * Should no task finish in time, evaluating the task fails.
+     * @param maximum The maximum amount of tasks. Must be at least 1.
+     * @param timeout The time in milliseconds to wait for a task to finish. Must be at least 0.
+     * @return The builder.
+     * @throws ZeusException If the provided values are out of the supported range.
+     */
+    public ZeusRuntimeBuilder withMaximumTasks(int maximum, int timeout)
+            throws ZeusException {
+        if(maximum < 1) {
+            throw new ZeusException("The provided maximum amount of tasks must be at least 1.");
+        }
+        if(timeout < 0) {
+            throw new ZeusException("The provided admission timeout must not be negative.");
+        }
+        this.maximumTasks = maximum;
+        this.admissionTimeout = timeout;
+        return this;
+    }
+
+    /**
+     * Sets the parallelism of batches that are evaluated in parallel.
+     * The runtime then evaluates them on its own work-stealing fork/join pool with the specified amount of workers,
+     * which is shut down together with the runtime. Otherwise, they are evaluated on the common pool.
+     * @param parallelism The amount of workers. Must be between 1 and 32767.
+     * @return The builder.
+     * @throws ZeusException If the provided value is out of the supported range.
+     */
+    public ZeusRuntimeBuilder withParallelism(int parallelism)
+            throws ZeusException {
+        if(parallelism < 1 || parallelism > 32767) {
+            throw new ZeusException("The provided parallelism must be between 1 and 32767.");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * Unregisters a method.
      * @param method The method.
@@ -242,8 +515,34 @@ public class ZeusRuntimeBuilder {
      * @return A valid Zeus runtime.
      */
     public ZeusRuntime build() {
+        Executor executor = taskExecutor;
+        boolean owned = false;
+        if(timeSlice != -1) {
+            executor = new ZeusScheduler(workerThreads, timeSlice);
+            owned = true;
+        } else if(workerThreads != -1) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                    workerQueueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(workerQueueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "Zeus Worker");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            owned = true;
+        } else if(virtualThreadFactory != null) {
+            try {
+                executor = (Executor) virtualThreadFactory.invoke(null);
+            } catch(ReflectiveOperationException exception) {
+                throw new IllegalStateException("Could not create the virtual thread executor.", exception);
+            }
+            owned = true;
+        }
         return new ZeusRuntimeImpl(variables, new ZeusMethods(methods, methodContainers), components.toArray(new ZeusComponent[components.size()]),
-                listeners.toArray(new ZeusEventListener[listeners.size()]), timeoutThreshold);
+                listeners.toArray(new ZeusEventListener[listeners.size()]), timeoutThreshold, compilationThreshold,
+                executor, owned, maximumTasks, admissionTimeout, suspendSleep,
+                new ZeusLimits(maximumStatements, maximumInvocations, maximumStringBytes, maximumVariables), parallelism);
     }
 
     /**
@@ -0,0 +1,34 @@
+package de.arraying.zeus.runtime;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface ZeusScript {
+
+    /**
+     * Gets the amount of lines the script consists of.
+     * This includes empty lines and comments.
+     * @return The line count.
+     */
+    int getLineCount();
+
+    /**
+     * Gets the runtime the script has been compiled for.
+     * A script can only be evaluated by the runtime that compiled it.
+     * @return The runtime.
+     */
+    ZeusRuntime getRuntime();
+
+}
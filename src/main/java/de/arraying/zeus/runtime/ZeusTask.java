@@ -1,5 +1,7 @@
 package de.arraying.zeus.runtime;
 
+import java.util.concurrent.CompletionStage;
+
 /**
  * Copyright 2017 Arraying
  * <p>
@@ -28,4 +30,12 @@ public interface ZeusTask extends Runnable {
      */
     void kill();
 
+    /**
+     * Gets the completion of the task.
+     * It completes with the result once the task has ended, whether it evaluated every line,
+     * was stopped, killed or aborted by an error. It never completes exceptionally.
+     * @return The completion stage.
+     */
+    CompletionStage<ZeusResult> getCompletion();
+
 }
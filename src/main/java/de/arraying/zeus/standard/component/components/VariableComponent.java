@@ -3,13 +3,11 @@ package de.arraying.zeus.standard.component.components;
 import de.arraying.zeus.backend.Keyword;
 import de.arraying.zeus.backend.Patterns;
 import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.expression.Expression;
 import de.arraying.zeus.impl.ZeusTaskImpl;
 import de.arraying.zeus.standard.component.ZeusStandardComponent;
 import de.arraying.zeus.token.Token;
-import de.arraying.zeus.utils.ZeusUtil;
-import de.arraying.zeus.utils.ZeusVariableUtil;
 import de.arraying.zeus.variable.VariableType;
-import de.arraying.zeus.variable.ZeusVariable;
 
 /**
  * Copyright 2017 Arraying
@@ -47,12 +45,11 @@ public class VariableComponent implements ZeusStandardComponent {
         if(type == null) {
             if(tokens.length >= 3
                     && isEquals(tokens[1])) {
-                ZeusVariable variable = task.getVariable(first.getToken());
-                if(variable == null) {
+                int slot = task.getSlot(tokens, 0);
+                if(!task.isDeclared(slot)) {
                     throw new ZeusException("Cannot update non-existent variable \"" + first.getToken() + "\".", lineNumber);
                 }
-                Object value = ZeusUtil.handleValue(task, tokens, 2, lineNumber);
-                task.updateVariable(ZeusVariableUtil.createVariable(variable.type(), variable.identifier(), value), lineNumber);
+                task.reassignVariable(slot, task.getExpression(tokens, 2, lineNumber), lineNumber);
                 return true;
             }
             return false;
@@ -85,8 +82,8 @@ public class VariableComponent implements ZeusStandardComponent {
         if(tokens.length < 4) {
             throw new ZeusException("Expected a variable value.", lineNumber);
         }
-        Object variableValue = ZeusUtil.handleValue(task, tokens, 3, lineNumber);
-        task.updateVariable(ZeusVariableUtil.createVariable(type, name, variableValue), lineNumber);
+        Expression variableValue = task.getExpression(tokens, 3, lineNumber);
+        task.declareVariable(task.getSlot(tokens, 1), type, variableValue, lineNumber);
         return true;
     }
 
@@ -0,0 +1,56 @@
+package de.arraying.zeus.standard.component.components.condition;
+
+import de.arraying.zeus.backend.Keyword;
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.standard.component.ZeusScopeComponent;
+import de.arraying.zeus.token.Token;
+import de.arraying.zeus.utils.ZeusUtil;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ElseIfComponent implements ZeusScopeComponent {
+
+    /**
+     * Invokes the component.
+     * The component is only invoked if the condition of the previous branch was false. Should a previous branch
+     * have been taken, the elif line jumps to the end right away and its condition is never evaluated.
+     * @param task The impl of the task in order to access some impl only methods.
+     * @param tokens An array of all tokens that have been tokenized.
+     * @param lineNumber The line number.
+     * @return True if successful, false otherwise.
+     * @throws ZeusException if an error occurs.
+     */
+    @Override
+    public boolean invoke(ZeusTaskImpl task, Token[] tokens, int lineNumber)
+            throws ZeusException {
+        Token identifier = tokens[0];
+        if(identifier.getType() != Patterns.IDENTIFIER
+                || !identifier.getToken().equals(Keyword.CONDITIONAL_ELSE_IF.getIdentifier())) {
+            return false;
+        }
+        if(!task.isStructured()) {
+            throw new ZeusException("The elif keyword can not be used while custom scope components are registered.", lineNumber);
+        }
+        boolean condition = ZeusUtil.evaluateCondition(task, task.getExpression(tokens, 1, lineNumber), "elif statement", lineNumber);
+        if(!condition) {
+            task.skipBranch();
+        }
+        return true;
+    }
+
+}
@@ -41,11 +41,13 @@ public class IfComponent implements ZeusScopeComponent {
                 || !identifier.getToken().equals(Keyword.CONDITIONAL_IF.getIdentifier())) {
             return false;
         }
-        Object value = ZeusUtil.handleValue(task, tokens, 1, lineNumber);
-        if(!(value instanceof Boolean)) {
-            throw new ZeusException("The condition in the if statement does not return a boolean.", lineNumber);
+        boolean condition = ZeusUtil.evaluateCondition(task, task.getExpression(tokens, 1, lineNumber), "if statement", lineNumber);
+        if(task.isStructured()) {
+            if(!condition) {
+                task.skipBranch();
+            }
+            return true;
         }
-        boolean condition = (boolean) value;
         int scope = task.getScope() + 1;
         task.setParsing(scope, (condition && task.isParsing(task.getScope())));
         task.setScope(scope);
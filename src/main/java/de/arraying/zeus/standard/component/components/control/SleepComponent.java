@@ -58,11 +58,7 @@ public class SleepComponent implements ZeusStandardComponent {
             throw new ZeusException("The provided sleep duration is not a valid duration.", lineNumber);
         }
         task.onEvent(new SleepEvent(sleep, lineNumber));
-        try {
-            Thread.sleep(sleep);
-        } catch(InterruptedException exception) {
-            throw new ZeusException("Attempted to sleep the code, but hit an interrupted exception.", lineNumber);
-        }
+        task.sleep(sleep, lineNumber);
         return true;
     }
 
@@ -45,7 +45,7 @@ public class StopComponent implements ZeusStandardComponent {
             throw new ZeusException("Expected just the stop keyword, nothing else.", lineNumber);
         }
         task.onEvent(new StopEvent(lineNumber));
-        task.kill();
+        task.stop();
         return true;
     }
 
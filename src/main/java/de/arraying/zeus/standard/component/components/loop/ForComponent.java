@@ -0,0 +1,104 @@
+package de.arraying.zeus.standard.component.components.loop;
+
+import de.arraying.zeus.backend.Keyword;
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.impl.ZeusTaskImpl;
+import de.arraying.zeus.standard.component.ZeusScopeComponent;
+import de.arraying.zeus.token.Token;
+import de.arraying.zeus.utils.ZeusUtil;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ForComponent implements ZeusScopeComponent {
+
+    /**
+     * The error message of a start or end that is not an integer.
+     */
+    public static final String BOUND_ERROR = "The start and end of the for loop must be integers.";
+
+    /**
+     * Gets the index of the comma that separates the start and the end of a for loop.
+     * The loop has to be in the form "for variable = start, end".
+     * @param tokens An array of all tokens of the line.
+     * @return The index of the comma, or -1 if the line is not a valid for loop.
+     */
+    public static int getSeparator(Token[] tokens) {
+        if(tokens.length < 6
+                || tokens[1].getType() != Patterns.IDENTIFIER
+                || Keyword.isKeyword(tokens[1].getToken())
+                || tokens[2].getType() != Patterns.TOKEN
+                || !tokens[2].getToken().equals("=")) {
+            return -1;
+        }
+        int depth = 0;
+        for(int i = 3; i < tokens.length; i++) {
+            Token token = tokens[i];
+            if(token.getType() != Patterns.TOKEN) {
+                continue;
+            }
+            if(token.getToken().equals("(")) {
+                depth++;
+            } else if(token.getToken().equals(")")) {
+                depth--;
+            } else if(token.getToken().equals(",")
+                    && depth == 0) {
+                return i > 3 && i < tokens.length - 1 ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Invokes the component.
+     * Entering the loop declares the variable as a mutable integer holding the start, every time the end jumps back
+     * the variable is incremented. The body is skipped once the variable is greater than the end, which is evaluated
+     * again every time, so the end is inclusive.
+     * @param task The impl of the task in order to access some impl only methods.
+     * @param tokens An array of all tokens that have been tokenized.
+     * @param lineNumber The line number.
+     * @return True if successful, false otherwise.
+     * @throws ZeusException if an error occurs.
+     */
+    @Override
+    public boolean invoke(ZeusTaskImpl task, Token[] tokens, int lineNumber)
+            throws ZeusException {
+        Token identifier = tokens[0];
+        if(identifier.getType() != Patterns.IDENTIFIER
+                || !identifier.getToken().equals(Keyword.LOOP_FOR.getIdentifier())) {
+            return false;
+        }
+        if(!task.isStructured()) {
+            throw new ZeusException("Loops can not be used while custom scope components are registered.", lineNumber);
+        }
+        int separator = getSeparator(tokens);
+        if(separator == -1) {
+            throw new ZeusException("Expected the for loop to be in the form \"for variable = start, end\".", lineNumber);
+        }
+        int slot = task.getSlot(tokens, 1);
+        int value;
+        if(task.isIterating()) {
+            value = task.advanceLoop(slot, lineNumber);
+        } else {
+            value = task.startLoop(slot, ZeusUtil.evaluateInteger(task, task.getExpression(tokens, 3, separator, lineNumber), BOUND_ERROR, lineNumber), lineNumber);
+        }
+        if(value > ZeusUtil.evaluateInteger(task, task.getExpression(tokens, separator + 1, lineNumber), BOUND_ERROR, lineNumber)) {
+            task.skipBranch();
+        }
+        return true;
+    }
+
+}
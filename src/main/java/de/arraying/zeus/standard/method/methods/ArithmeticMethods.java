@@ -35,10 +35,11 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Integer)) {
-            throw new IllegalArgumentException("Expected type integer while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type integer while adding, found \"" + first + "\".");
         }
         i = (Integer) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Integer)) {
                 throw new IllegalArgumentException("Expected type integer while adding, found \"" + entry + "\".");
             }
@@ -63,7 +64,8 @@ public class ArithmeticMethods implements ZeusStandardMethod {
             throw new IllegalArgumentException("Expected type integer while subtracting, found \"" + first + "\".");
         }
         i = (Integer) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Integer)) {
                 throw new IllegalArgumentException("Expected type integer while subtracting, found \"" + entry + "\".");
             }
@@ -85,10 +87,11 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Integer)) {
-            throw new IllegalArgumentException("Expected type integer while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type integer while multiplying, found \"" + first + "\".");
         }
         i = (Integer) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Integer)) {
                 throw new IllegalArgumentException("Expected type integer while multiplying, found \"" + entry + "\".");
             }
@@ -110,14 +113,15 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Integer)) {
-            throw new IllegalArgumentException("Expected type integer while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type integer while dividing, found \"" + first + "\".");
         }
         i = (Integer) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Integer)) {
                 throw new IllegalArgumentException("Expected type integer while dividing, found \"" + entry + "\".");
             }
-            i *= (Integer) entry;
+            i /= (Integer) entry;
         }
         return i;
     }
@@ -212,10 +216,11 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Long)) {
-            throw new IllegalArgumentException("Expected type Long while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type Long while adding, found \"" + first + "\".");
         }
         i = (Long) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Long)) {
                 throw new IllegalArgumentException("Expected type Long while adding, found \"" + entry + "\".");
             }
@@ -240,7 +245,8 @@ public class ArithmeticMethods implements ZeusStandardMethod {
             throw new IllegalArgumentException("Expected type Long while subtracting, found \"" + first + "\".");
         }
         i = (Long) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Long)) {
                 throw new IllegalArgumentException("Expected type Long while subtracting, found \"" + entry + "\".");
             }
@@ -262,10 +268,11 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Long)) {
-            throw new IllegalArgumentException("Expected type Long while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type Long while multiplying, found \"" + first + "\".");
         }
         i = (Long) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Long)) {
                 throw new IllegalArgumentException("Expected type Long while multiplying, found \"" + entry + "\".");
             }
@@ -287,14 +294,15 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Long)) {
-            throw new IllegalArgumentException("Expected type Long while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type Long while dividing, found \"" + first + "\".");
         }
         i = (Long) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Long)) {
                 throw new IllegalArgumentException("Expected type Long while dividing, found \"" + entry + "\".");
             }
-            i *= (Long) entry;
+            i /= (Long) entry;
         }
         return i;
     }
@@ -340,10 +348,11 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Double)) {
-            throw new IllegalArgumentException("Expected type Double while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type Double while adding, found \"" + first + "\".");
         }
         i = (Double) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Double)) {
                 throw new IllegalArgumentException("Expected type Double while adding, found \"" + entry + "\".");
             }
@@ -368,7 +377,8 @@ public class ArithmeticMethods implements ZeusStandardMethod {
             throw new IllegalArgumentException("Expected type Double while subtracting, found \"" + first + "\".");
         }
         i = (Double) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Double)) {
                 throw new IllegalArgumentException("Expected type Double while subtracting, found \"" + entry + "\".");
             }
@@ -390,10 +400,11 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Double)) {
-            throw new IllegalArgumentException("Expected type Double while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type Double while multiplying, found \"" + first + "\".");
         }
         i = (Double) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Double)) {
                 throw new IllegalArgumentException("Expected type Double while multiplying, found \"" + entry + "\".");
             }
@@ -415,14 +426,15 @@ public class ArithmeticMethods implements ZeusStandardMethod {
         }
         Object first = entries[0];
         if(!(first instanceof Double)) {
-            throw new IllegalArgumentException("Expected type Double while subtracting, found \"" + first + "\".");
+            throw new IllegalArgumentException("Expected type Double while dividing, found \"" + first + "\".");
         }
         i = (Double) first;
-        for(Object entry : entries) {
+        for(int j = 1; j < entries.length; j++) {
+            Object entry = entries[j];
             if(!(entry instanceof Double)) {
                 throw new IllegalArgumentException("Expected type Double while dividing, found \"" + entry + "\".");
             }
-            i *= (Double) entry;
+            i /= (Double) entry;
         }
         return i;
     }
@@ -41,6 +41,43 @@ public @ZeusStandard class LogicMethods implements ZeusStandardMethod {
         return one || two;
     }
 
+    /**
+     * The AND logical operator for any amount of booleans.
+     * The booleans are checked in order, the first false one decides the result.
+     * @param inputs An array of booleans.
+     * @return The result, or true if none were specified.
+     * @throws IllegalArgumentException If a checked object in the array is not a Boolean.
+     */
+    public boolean and(Object... inputs) {
+        for(Object input : inputs) {
+            if(!(input instanceof Boolean)) {
+                throw new IllegalArgumentException("Expected type boolean in the AND logical operator, found \"" + input + "\".");
+            }
+            if(!(Boolean) input) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The OR logical operator for any amount of booleans.
+     * The booleans are checked in order, the first true one decides the result.
+     * @param inputs An array of booleans.
+     * @return The result, or false if none were specified.
+     * @throws IllegalArgumentException If a checked object in the array is not a Boolean.
+     */
+    public boolean or(Object... inputs) {
+        for(Object input : inputs) {
+            if(!(input instanceof Boolean)) {
+                throw new IllegalArgumentException("Expected type boolean in the OR logical operator, found \"" + input + "\".");
+            }
+            if((Boolean) input) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     /**
      * The NOT logical operator.
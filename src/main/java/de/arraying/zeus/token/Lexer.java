@@ -0,0 +1,301 @@
+package de.arraying.zeus.token;
+
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+
+import java.util.ArrayList;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class Lexer {
+
+    private final String line;
+    private final int lineNumber;
+    private Token[] cachedTokens;
+
+    /**
+     * Creates a new lexer.
+     * The lexer scans the line character by character and produces the exact same tokens as
+     * the regular expression based Tokenizer, which is kept as the reference implementation.
+     * @param line The line to tokenize.
+     * @param lineNumber The line number.
+     */
+    public Lexer(String line, int lineNumber) {
+        this.line = line;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Gets all the tokens of the current line.
+     * @return An array of tokens.
+     * @throws ZeusException If an error occurs.
+     */
+    public Token[] getTokens()
+            throws ZeusException {
+        if(cachedTokens != null) {
+            return cachedTokens;
+        }
+        ArrayList<Token> tokens = new ArrayList<>();
+        int length = line.length();
+        int position = skipComment();
+        while(true) {
+            while(position < length
+                    && line.charAt(position) <= ' ') {
+                position++;
+            }
+            if(position >= length) {
+                break;
+            }
+            Patterns type;
+            int end;
+            if((end = scanBoolean(position)) != -1) {
+                type = Patterns.TYPE_BOOL;
+            } else if((end = scanLong(position)) != -1) {
+                type = Patterns.TYPE_LONG;
+            } else if((end = scanDouble(position)) != -1) {
+                type = Patterns.TYPE_DOUBLE;
+            } else if((end = scanInteger(position)) != -1) {
+                type = Patterns.TYPE_INT;
+            } else if((end = scanString(position)) != -1) {
+                type = Patterns.TYPE_STRING;
+            } else if((end = scanIdentifier(position)) != -1) {
+                type = Patterns.IDENTIFIER;
+            } else if(isGeneralToken(line.charAt(position))) {
+                type = Patterns.TOKEN;
+                end = position + 1;
+            } else {
+                throw new ZeusException("Unknown token \"" + line.substring(position).trim() + "\".", lineNumber);
+            }
+            tokens.add(new Token(line.substring(position, end), type));
+            position = end;
+        }
+        cachedTokens = tokens.toArray(new Token[tokens.size()]);
+        return cachedTokens;
+    }
+
+    /**
+     * Skips a single line comment, if the line starts with one.
+     * @return The index to start scanning at.
+     */
+    private int skipComment() {
+        int length = line.length();
+        int position = 0;
+        while(position < length
+                && isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        if(position + 1 >= length
+                || line.charAt(position) != '/'
+                || line.charAt(position + 1) != '/') {
+            return 0;
+        }
+        position += 2;
+        while(position < length
+                && !isLineTerminator(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Scans a boolean literal.
+     * @param start The index to start at.
+     * @return The end index (exclusive), or -1 if there is no match.
+     */
+    private int scanBoolean(int start) {
+        if(line.startsWith("true", start)) {
+            return start + 4;
+        }
+        if(line.startsWith("false", start)) {
+            return start + 5;
+        }
+        return -1;
+    }
+
+    /**
+     * Scans a long literal, such as "-5L".
+     * @param start The index to start at.
+     * @return The end index (exclusive), or -1 if there is no match.
+     */
+    private int scanLong(int start) {
+        int digits = skipSign(start);
+        int end = skipDigits(digits);
+        if(end == digits
+                || end >= line.length()) {
+            return -1;
+        }
+        char suffix = line.charAt(end);
+        return suffix == 'L' || suffix == 'l' ? end + 1 : -1;
+    }
+
+    /**
+     * Scans a double literal, such as "-0.5" or ".5".
+     * @param start The index to start at.
+     * @return The end index (exclusive), or -1 if there is no match.
+     */
+    private int scanDouble(int start) {
+        int point = skipDigits(skipSign(start));
+        if(point >= line.length()
+                || line.charAt(point) != '.') {
+            return -1;
+        }
+        int end = skipDigits(point + 1);
+        return end == point + 1 ? -1 : end;
+    }
+
+    /**
+     * Scans an integer literal.
+     * @param start The index to start at.
+     * @return The end index (exclusive), or -1 if there is no match.
+     */
+    private int scanInteger(int start) {
+        int digits = skipSign(start);
+        int end = skipDigits(digits);
+        return end == digits ? -1 : end;
+    }
+
+    /**
+     * Scans a string literal.
+     * A quotation mark directly preceded by a backslash is escaped. Should the line not contain an
+     * unescaped closing quotation mark, the last escaped one closes the string instead.
+     * @param start The index to start at.
+     * @return The end index (exclusive), or -1 if there is no match.
+     */
+    private int scanString(int start) {
+        if(line.charAt(start) != '"') {
+            return -1;
+        }
+        int lastEscaped = -1;
+        for(int i = start + 1; i < line.length(); i++) {
+            if(line.charAt(i) != '"') {
+                continue;
+            }
+            if(i - 1 > start
+                    && line.charAt(i - 1) == '\\') {
+                lastEscaped = i;
+                continue;
+            }
+            return i + 1;
+        }
+        return lastEscaped == -1 ? -1 : lastEscaped + 1;
+    }
+
+    /**
+     * Scans an identifier.
+     * @param start The index to start at.
+     * @return The end index (exclusive), or -1 if there is no match.
+     */
+    private int scanIdentifier(int start) {
+        char first = line.charAt(start);
+        if(!isLetter(first)
+                && first != '_') {
+            return -1;
+        }
+        int end = start + 1;
+        while(end < line.length()) {
+            char character = line.charAt(end);
+            if(!isLetter(character)
+                    && !isDigit(character)
+                    && character != '_') {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Skips an optional minus sign.
+     * @param start The index to start at.
+     * @return The index after the sign.
+     */
+    private int skipSign(int start) {
+        return line.charAt(start) == '-' ? start + 1 : start;
+    }
+
+    /**
+     * Skips all digits.
+     * @param start The index to start at.
+     * @return The index of the first character that is not a digit.
+     */
+    private int skipDigits(int start) {
+        int end = start;
+        while(end < line.length()
+                && isDigit(line.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Whether or not the character is an ASCII digit.
+     * @param character The character.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Whether or not the character is an ASCII letter.
+     * @param character The character.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isLetter(char character) {
+        return (character >= 'a' && character <= 'z')
+                || (character >= 'A' && character <= 'Z');
+    }
+
+    /**
+     * Whether or not the character is a general token.
+     * @param character The character.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isGeneralToken(char character) {
+        return character == '='
+                || character == '('
+                || character == ')'
+                || character == ',';
+    }
+
+    /**
+     * Whether or not the character is whitespace, as defined by the regular expression "\s".
+     * @param character The character.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isWhitespace(char character) {
+        return character == ' '
+                || character == '\t'
+                || character == '\n'
+                || character == '\u000B'
+                || character == '\f'
+                || character == '\r';
+    }
+
+    /**
+     * Whether or not the character terminates a line, as defined by the regular expression ".".
+     * @param character The character.
+     * @return True if it is, false otherwise.
+     */
+    private static boolean isLineTerminator(char character) {
+        return character == '\n'
+                || character == '\r'
+                || character == '\u0085'
+                || character == '\u2028'
+                || character == '\u2029';
+    }
+
+}
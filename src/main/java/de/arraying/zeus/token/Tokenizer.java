@@ -58,9 +58,9 @@ public class Tokenizer {
             return cachedTokens;
         }
         LinkedList<Token> tokens = new LinkedList<>();
+        line = line.trim();
         whileLoop:
         while(!line.isEmpty()) {
-            line = line.trim();
             for(TokenEntry entry : entries) {
                 Matcher matcher = entry.getPattern().matcher(line);
                 if(!matcher.find()) {
@@ -68,7 +68,7 @@ public class Tokenizer {
                 }
                 String tokenString = matcher.group().trim();
                 tokens.add(new Token(tokenString, entry.getType()));
-                line = matcher.replaceFirst("");
+                line = matcher.replaceFirst("").trim();
                 continue whileLoop;
             }
             throw new ZeusException("Unknown token \"" + line + "\".", lineNumber);
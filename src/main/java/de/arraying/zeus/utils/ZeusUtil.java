@@ -1,13 +1,10 @@
 package de.arraying.zeus.utils;
 
-import de.arraying.zeus.backend.Patterns;
 import de.arraying.zeus.backend.ZeusException;
-import de.arraying.zeus.backend.ZeusMethod;
+import de.arraying.zeus.backend.expression.Expression;
 import de.arraying.zeus.impl.ZeusTaskImpl;
 import de.arraying.zeus.token.Token;
-import de.arraying.zeus.variable.ZeusVariable;
-
-import java.util.Arrays;
+import de.arraying.zeus.variable.VariableValues;
 
 /**
  * Copyright 2017 Arraying
@@ -57,46 +54,186 @@ public class ZeusUtil {
     public static boolean compare(Number a, Number b, int comparison) {
         if(a instanceof Integer
                 && b instanceof Integer) {
-            switch(comparison) {
-                case COMP_LESS:
-                    return (int) a < (int) b;
-                case COMP_LESS_OR_EQUAL:
-                    return (int) a <= (int) b;
-                case COMP_MORE_OR_EQUAL:
-                    return (int) a >= (int) b;
-                case COMP_MORE:
-                    return (int) a > (int) b;
-            }
+            return compare(a.intValue(), b.intValue(), comparison);
         } else if(a instanceof Double
                 && b instanceof Double) {
-            switch(comparison) {
-                case COMP_LESS:
-                    return (double) a < (double) b;
-                case COMP_LESS_OR_EQUAL:
-                    return (double) a <= (double) b;
-                case COMP_MORE_OR_EQUAL:
-                    return (double) a >= (double) b;
-                case COMP_MORE:
-                    return (double) a > (double) b;
-            }
-            return false;
+            return compare(a.doubleValue(), b.doubleValue(), comparison);
         } else if(a instanceof Long
                 && b instanceof Long) {
-            switch(comparison) {
-                case COMP_LESS:
-                    return (long) a < (long) b;
-                case COMP_LESS_OR_EQUAL:
-                    return (long) a <= (long) b;
-                case COMP_MORE_OR_EQUAL:
-                    return (long) a >= (long) b;
-                case COMP_MORE:
-                    return (long) a > (long) b;
-            }
-            return false;
+            return compare(a.longValue(), b.longValue(), comparison);
+        }
+        return false;
+    }
+
+    /**
+     * Compares two integers with each other.
+     * @param a The first integer.
+     * @param b The second integer.
+     * @param comparison The type of comparison.
+     * @return Whether or not the comparison is met.
+     */
+    public static boolean compare(int a, int b, int comparison) {
+        switch(comparison) {
+            case COMP_LESS:
+                return a < b;
+            case COMP_LESS_OR_EQUAL:
+                return a <= b;
+            case COMP_MORE_OR_EQUAL:
+                return a >= b;
+            case COMP_MORE:
+                return a > b;
+        }
+        return false;
+    }
+
+    /**
+     * Compares two longs with each other.
+     * @param a The first long.
+     * @param b The second long.
+     * @param comparison The type of comparison.
+     * @return Whether or not the comparison is met.
+     */
+    public static boolean compare(long a, long b, int comparison) {
+        switch(comparison) {
+            case COMP_LESS:
+                return a < b;
+            case COMP_LESS_OR_EQUAL:
+                return a <= b;
+            case COMP_MORE_OR_EQUAL:
+                return a >= b;
+            case COMP_MORE:
+                return a > b;
         }
         return false;
     }
 
+    /**
+     * Compares two doubles with each other.
+     * @param a The first double.
+     * @param b The second double.
+     * @param comparison The type of comparison.
+     * @return Whether or not the comparison is met.
+     */
+    public static boolean compare(double a, double b, int comparison) {
+        switch(comparison) {
+            case COMP_LESS:
+                return a < b;
+            case COMP_LESS_OR_EQUAL:
+                return a <= b;
+            case COMP_MORE_OR_EQUAL:
+                return a >= b;
+            case COMP_MORE:
+                return a > b;
+        }
+        return false;
+    }
+
+    /**
+     * Converts a number or boolean into its raw bits, so it can be stored unboxed.
+     * Integers and longs are stored as they are, doubles as their IEEE 754 bits and booleans as 1 or 0.
+     * @param value The value.
+     * @return The bits, or 0 if the value is neither a number nor a boolean.
+     */
+    public static long toBits(Object value) {
+        if(value instanceof Integer
+                || value instanceof Long) {
+            return ((Number) value).longValue();
+        } else if(value instanceof Double) {
+            return Double.doubleToRawLongBits((Double) value);
+        } else if(value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Converts raw bits back into a boxed value.
+     * @param type The type of the value, which must not be a string.
+     * @param bits The bits.
+     * @return The boxed value.
+     */
+    public static Object fromBits(VariableValues type, long bits) {
+        switch(type) {
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            case BOOL:
+                return bits != 0;
+        }
+        throw new IllegalArgumentException("The type " + type + " can not be represented by bits.");
+    }
+
+    /**
+     * Evaluates an expression that is used as the value of a statement.
+     * @param task The task impl. Used to access impl-only methods.
+     * @param expression The expression.
+     * @param lineNumber The line number.
+     * @return An object.
+     * @throws ZeusException If an error occurs, or the expression does not have a value.
+     */
+    public static Object evaluateValue(ZeusTaskImpl task, Expression expression, int lineNumber)
+            throws ZeusException {
+        Object value = expression.evaluate(task);
+        if(value == null) {
+            throw new ZeusException("The method in declaration returned null.", lineNumber);
+        }
+        return value;
+    }
+
+    /**
+     * Evaluates the condition of an if statement, an elif statement or a while loop, which has to be a boolean.
+     * @param task The task impl. Used to access impl-only methods.
+     * @param expression The condition.
+     * @param statement The statement the condition belongs to, as used in the error message.
+     * @param lineNumber The line number.
+     * @return The condition.
+     * @throws ZeusException If an error occurs, or the condition is not a boolean.
+     */
+    public static boolean evaluateCondition(ZeusTaskImpl task, Expression expression, String statement, int lineNumber)
+            throws ZeusException {
+        if(expression.getType() == VariableValues.BOOL) {
+            return expression.evaluateBoolean(task);
+        }
+        Object value = evaluateValue(task, expression, lineNumber);
+        if(!(value instanceof Boolean)) {
+            throw new ZeusException(getConditionError(statement), lineNumber);
+        }
+        return (boolean) value;
+    }
+
+    /**
+     * Gets the error message of a condition that is not a boolean.
+     * @param statement The statement the condition belongs to.
+     * @return The message.
+     */
+    public static String getConditionError(String statement) {
+        return "The condition in the " + statement + " does not return a boolean.";
+    }
+
+    /**
+     * Evaluates a value that has to be an integer.
+     * @param task The task impl. Used to access impl-only methods.
+     * @param expression The expression.
+     * @param error The error message should the value not be an integer.
+     * @param lineNumber The line number.
+     * @return The integer.
+     * @throws ZeusException If an error occurs, or the value is not an integer.
+     */
+    public static int evaluateInteger(ZeusTaskImpl task, Expression expression, String error, int lineNumber)
+            throws ZeusException {
+        if(expression.getType() == VariableValues.INT) {
+            return expression.evaluateInt(task);
+        }
+        Object value = evaluateValue(task, expression, lineNumber);
+        if(!(value instanceof Integer)) {
+            throw new ZeusException(error, lineNumber);
+        }
+        return (int) value;
+    }
+
     /**
      * Handles the variable value and gets an Object as a value.
      * @param task The task impl. Used to access impl-only methods.
@@ -108,32 +245,7 @@ public class ZeusUtil {
      */
     public static Object handleValue(ZeusTaskImpl task, Token[] tokens, int valueIndex, int lineNumber)
             throws ZeusException {
-        Token value = tokens[valueIndex];
-        Object variableValue;
-        if(value.getType().isDataType()) {
-            variableValue = ZeusVariableUtil.getVariableValue(value);
-            if(variableValue == null) {
-                throw new ZeusException("Invalid value.", lineNumber);
-            }
-        } else if(value.getType() == Patterns.IDENTIFIER) {
-            if(tokens.length == (valueIndex + 1)) {
-                ZeusVariable variable = task.getVariable(value.getToken());
-                if(variable == null) {
-                    throw new ZeusException("The variable \"" + value.getToken() + "\" defined does not exist.", lineNumber);
-                }
-                variableValue = variable.value();
-            } else {
-                Token[] methodTokens = Arrays.copyOfRange(tokens, valueIndex, tokens.length);
-                ZeusMethod method = ZeusMethod.processMethod(task, methodTokens, lineNumber);
-                if(method.getReturnValue() == null) {
-                    throw new ZeusException("The method in declaration returned null.", lineNumber);
-                }
-                variableValue = method.getReturnValue();
-            }
-        } else {
-            throw new ZeusException("Found unexpected token as a value.", lineNumber);
-        }
-        return variableValue;
+        return evaluateValue(task, task.getExpression(tokens, valueIndex, lineNumber), lineNumber);
     }
 
 }
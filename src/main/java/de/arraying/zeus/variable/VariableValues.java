@@ -65,4 +65,18 @@ public enum VariableValues {
         return valueClass;
     }
 
+    /**
+     * Gets the variable value by its value class.
+     * @param clazz The class of the value.
+     * @return The variable value, or null if the class is not a supported value class.
+     */
+    public static VariableValues fromClass(Class<?> clazz) {
+        for(VariableValues value : values()) {
+            if(value.valueClass == clazz) {
+                return value;
+            }
+        }
+        return null;
+    }
+
 }
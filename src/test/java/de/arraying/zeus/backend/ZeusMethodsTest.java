@@ -0,0 +1,142 @@
+package de.arraying.zeus.backend;
+
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusMethodsTest {
+
+    /**
+     * Methods with the exact parameter count take precedence over variable argument methods.
+     * @throws Exception If the methods can not be registered or invoked.
+     */
+    @Test
+    public void resolve()
+            throws Exception {
+        Methods container = new Methods();
+        ZeusMethods methods = create(container);
+        MethodTarget exact = methods.resolve("pick", 1);
+        assertEquals(Methods.class.getMethod("pick", String.class), exact.getMethod());
+        assertSame(container, exact.getContainer());
+        assertEquals("exact a", exact.invoke(new Object[] {"a"}, 1));
+        MethodTarget varargs = methods.resolve("pick", 2);
+        assertEquals(Methods.class.getMethod("pick", Object[].class), varargs.getMethod());
+        assertEquals("varargs 2", varargs.invoke(new Object[] {"a", "b"}, 1));
+        assertEquals("varargs 0", methods.resolve("pick", 0).invoke(new Object[0], 1));
+        assertNull(methods.resolve("fail", 2));
+        assertNull(methods.resolve("missing", 0));
+        assertNull(methods.getTarget("pick", 2));
+        assertSame(container, methods.getContainer(exact.getMethod()));
+    }
+
+    /**
+     * Invocations return the result, or fail with the same errors the reflective invocation caused.
+     * @throws Exception If the methods can not be registered.
+     */
+    @Test
+    public void invoke()
+            throws Exception {
+        ZeusMethods methods = create(new Methods());
+        assertNull(methods.resolve("nothing", 0).invoke(new Object[0], 1));
+        assertInvocationError(methods.resolve("fail", 0), new Object[0], "Invoking the method caused an error.");
+        assertInvocationError(methods.resolve("pick", 1), new Object[] {1},
+                "Encountered java.lang.ClassCastException: Cannot cast java.lang.Integer to java.lang.String");
+    }
+
+    /**
+     * Creates a method collection with every method of a container.
+     * @param container The container.
+     * @return The method collection.
+     */
+    private static ZeusMethods create(Object container) {
+        Map<Method, Object> containers = new HashMap<>();
+        for(Method method : container.getClass().getDeclaredMethods()) {
+            if(method.isAnnotationPresent(ZeusMethod.class)) {
+                containers.put(method, container);
+            }
+        }
+        return new ZeusMethods(new HashSet<>(containers.keySet()), containers);
+    }
+
+    /**
+     * Asserts that invoking a method fails.
+     * @param target The target.
+     * @param parameters The parameters.
+     * @param message The expected message.
+     */
+    private static void assertInvocationError(MethodTarget target, Object[] parameters, String message) {
+        try {
+            target.invoke(parameters, 7);
+            fail("The invocation did not fail.");
+        } catch(ZeusException exception) {
+            assertEquals(message, exception.getMessage());
+            assertEquals(7, exception.getLineNumber());
+        }
+    }
+
+    /**
+     * A method container.
+     */
+    public static class Methods {
+
+        /**
+         * Takes exactly one parameter.
+         * @param value The parameter.
+         * @return A description.
+         */
+        @ZeusMethod
+        public String pick(String value) {
+            return "exact " + value;
+        }
+
+        /**
+         * Takes any amount of parameters.
+         * @param values The parameters.
+         * @return A description.
+         */
+        @ZeusMethod
+        public String pick(Object... values) {
+            return "varargs " + values.length;
+        }
+
+        /**
+         * Does nothing.
+         */
+        @ZeusMethod
+        public void nothing() {}
+
+        /**
+         * Always fails.
+         */
+        @ZeusMethod
+        public void fail() {
+            throw new IllegalStateException();
+        }
+
+    }
+
+}
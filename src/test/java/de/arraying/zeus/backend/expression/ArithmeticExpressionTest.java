@@ -0,0 +1,133 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.standard.method.methods.ArithmeticMethods;
+import de.arraying.zeus.standard.method.methods.ComparisonMethods;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ArithmeticExpressionTest {
+
+    /**
+     * The variables the expressions operate on, so that their types are only known at runtime.
+     */
+    private static final String[] VARIABLES = {
+            "mut i = 7", "mut j = -3", "mut max = 2147483647", "mut l = 9223372036854775807L", "mut m = 4L",
+            "mut d = 7.5", "mut e = 2.0", "mut zero = 0.0", "mut nan = divide_d(0.0, 0.0)"
+    };
+
+    /**
+     * The unboxed intrinsics return the same values, of the same types, as invoking the standard methods.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void sameAsStandardMethods()
+            throws ZeusException {
+        ArithmeticMethods arithmetic = new ArithmeticMethods();
+        ComparisonMethods comparison = new ComparisonMethods();
+        double nan = Double.NaN;
+        Object[][] cases = {
+                {"add(i, j, 1)", arithmetic.add(7, -3, 1)},
+                {"add(max, 1)", arithmetic.add(2147483647, 1)},
+                {"subtract(i, j)", arithmetic.subtract(7, -3)},
+                {"multiply(max, 2)", arithmetic.multiply(2147483647, 2)},
+                {"divide(i, j)", arithmetic.divide(7, -3)},
+                {"modulo(j, i)", arithmetic.modulo(-3, 7)},
+                {"incr(max)", arithmetic.incr(2147483647)},
+                {"decr(j)", arithmetic.decr(-3)},
+                {"add_l(l, m)", arithmetic.add_l(9223372036854775807L, 4L)},
+                {"divide_l(l, m)", arithmetic.divide_l(9223372036854775807L, 4L)},
+                {"modulo_l(l, m)", arithmetic.modulo_l(9223372036854775807L, 4L)},
+                {"incr_l(l)", arithmetic.incr_l(9223372036854775807L)},
+                {"multiply_d(d, e)", arithmetic.multiply_d(7.5, 2.0)},
+                {"divide_d(d, zero)", arithmetic.divide_d(7.5, 0.0)},
+                {"modulo_d(d, e)", arithmetic.modulo_d(7.5, 2.0)},
+                {"decr_d(d)", arithmetic.decr_d(7.5)},
+                {"less(i, j)", comparison.less(7, -3)},
+                {"more(l, m)", comparison.more(9223372036854775807L, 4L)},
+                {"less_or_equal(d, d)", comparison.less_or_equal(7.5, 7.5)},
+                {"more_or_equal(nan, d)", comparison.more_or_equal(nan, 7.5)},
+                {"less(i, m)", comparison.less(7, 4L)},
+                {"equals(i, i)", comparison.equals(7, 7)},
+                {"equals(i, m)", comparison.equals(7, 4L)},
+                {"equals(nan, nan)", comparison.equals(nan, nan)},
+                {"equals(zero, multiply_d(-1.0, zero))", comparison.equals(0.0, -0.0)}
+        };
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withCompilation(compilation)
+                    .build();
+            for(Object[] entry : cases) {
+                ZeusResult result = evaluate(runtime, (String) entry[0]);
+                assertEquals(entry[0] + " " + result.getError(), ZeusResult.Outcome.COMPLETED, result.getOutcome());
+                Object value = result.getVariables().get("x").value();
+                assertEquals((String) entry[0], entry[1], value);
+                assertEquals((String) entry[0], entry[1].getClass(), value.getClass());
+            }
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * The intrinsics fail with the same errors as invoking the standard methods.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void sameErrorsAsStandardMethods()
+            throws ZeusException {
+        String[][] cases = {
+                {"divide(i, 0)", "Invoking the method caused an error."},
+                {"modulo_l(m, 0L)", "Invoking the method caused an error."},
+                {"add(i, m)", "Invoking the method caused an error."},
+                {"incr(m)", "Encountered java.lang.ClassCastException: Cannot cast java.lang.Long to java.lang.Integer"},
+                {"decr_d(i)", "Encountered java.lang.ClassCastException: Cannot cast java.lang.Integer to java.lang.Double"}
+        };
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withCompilation(compilation)
+                    .build();
+            for(String[] entry : cases) {
+                ZeusResult result = evaluate(runtime, entry[0]);
+                assertEquals(entry[0], ZeusResult.Outcome.ERROR, result.getOutcome());
+                assertEquals(entry[0], entry[1], result.getError().getMessage());
+                assertEquals(entry[0], VARIABLES.length + 1, result.getError().getLineNumber());
+            }
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Evaluates an expression after declaring the variables.
+     * @param runtime The runtime.
+     * @param expression The expression.
+     * @return The result, the value is assigned to the variable "x".
+     * @throws ZeusException If the script can not be compiled.
+     */
+    private static ZeusResult evaluate(ZeusRuntime runtime, String expression)
+            throws ZeusException {
+        String[] code = new String[VARIABLES.length + 1];
+        System.arraycopy(VARIABLES, 0, code, 0, VARIABLES.length);
+        code[VARIABLES.length] = "mut x = " + expression;
+        return runtime.evaluateSync(runtime.compile(code));
+    }
+
+}
@@ -0,0 +1,144 @@
+package de.arraying.zeus.backend.expression;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class LogicExpressionTest {
+
+    private final Counter counter = new Counter();
+    private ZeusRuntime runtime;
+
+    /**
+     * Creates the runtime.
+     * @throws ZeusException If the runtime can not be created.
+     */
+    @Before
+    public void setUp()
+            throws ZeusException {
+        runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(counter)
+                .build();
+    }
+
+    /**
+     * Shuts the runtime down.
+     * @throws ZeusException If the runtime has already been shut down.
+     */
+    @After
+    public void tearDown()
+            throws ZeusException {
+        runtime.shutdown();
+    }
+
+    /**
+     * Operands that are known not to be booleans are rejected when the script is compiled,
+     * even if they would be skipped.
+     */
+    @Test
+    public void staticallyTypedOperands() {
+        String[] rejected = {
+                "mut x = and(false, 5)",
+                "mut x = or(true, \"a\")",
+                "mut x = and(false, true, 1L)",
+                "mut x = not(1.5)",
+                "mut x = and(false, add(1, 2))",
+                "if or(true, 1)"
+        };
+        for(String line : rejected) {
+            try {
+                runtime.compile(new String[] {line, "end"});
+                fail("Compiled: " + line);
+            } catch(ZeusException exception) {
+                assertEquals(line, 1, exception.getLineNumber());
+            }
+        }
+    }
+
+    /**
+     * Operands are evaluated from left to right, up to the one that decides the result.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void shortCircuit()
+            throws ZeusException {
+        assertEquals(Boolean.FALSE, evaluate("and(false, count())"));
+        assertEquals(0, counter.count);
+        assertEquals(Boolean.TRUE, evaluate("or(true, count())"));
+        assertEquals(0, counter.count);
+        assertEquals(Boolean.TRUE, evaluate("and(true, count(), count())"));
+        assertEquals(2, counter.count);
+        assertEquals(Boolean.TRUE, evaluate("or(false, count(), count())"));
+        assertEquals(3, counter.count);
+        assertEquals(Boolean.FALSE, evaluate("not(count())"));
+        assertEquals(4, counter.count);
+    }
+
+    /**
+     * Evaluated operands that turn out not to be booleans fail the script.
+     * @throws ZeusException If the script can not be compiled.
+     */
+    @Test
+    public void dynamicallyTypedOperands()
+            throws ZeusException {
+        ZeusResult result = runtime.evaluateSync(runtime.compile(new String[] {"mut y = 1", "mut x = and(true, y)"}));
+        assertEquals(ZeusResult.Outcome.ERROR, result.getOutcome());
+        assertEquals(2, result.getError().getLineNumber());
+    }
+
+    /**
+     * Evaluates a value.
+     * @param value The value.
+     * @return The value of the variable it is assigned to.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    private Object evaluate(String value)
+            throws ZeusException {
+        ZeusResult result = runtime.evaluateSync(runtime.compile(new String[] {"mut x = " + value}));
+        assertEquals(value, ZeusResult.Outcome.COMPLETED, result.getOutcome());
+        return result.getVariables().get("x").value();
+    }
+
+    /**
+     * A method that counts its invocations.
+     */
+    public static class Counter {
+
+        private int count;
+
+        /**
+         * Counts an invocation.
+         * @return Always true.
+         */
+        @ZeusMethod
+        public Boolean count() {
+            count++;
+            return true;
+        }
+
+    }
+
+}
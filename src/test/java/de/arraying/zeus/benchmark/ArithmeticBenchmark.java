@@ -0,0 +1,156 @@
+package de.arraying.zeus.benchmark;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.runtime.ZeusScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticBenchmark {
+
+    /**
+     * The amount of operations every evaluation of a script performs.
+     */
+    private static final int OPERATIONS = 1000;
+
+    /**
+     * The standard methods use the unboxed intrinsics, the boxed user methods do the same
+     * through a regular method invocation, like the standard methods used to.
+     */
+    @Param({"intrinsic", "boxed"})
+    public String representation;
+
+    @Param({"false", "true"})
+    public boolean compilation;
+
+    private ZeusRuntime runtime;
+    private ZeusScript arithmetic;
+    private ZeusScript comparison;
+
+    /**
+     * Compiles the scripts.
+     * @throws ZeusException If a script can not be compiled.
+     */
+    @Setup
+    public void setup()
+            throws ZeusException {
+        boolean intrinsic = representation.equals("intrinsic");
+        runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(new BoxedMethods())
+                .withCompilation(compilation)
+                .build();
+        arithmetic = runtime.compile(new String[] {
+                "mut x = 0",
+                "for i = 1, " + OPERATIONS,
+                "x = " + (intrinsic ? "add" : "boxed_add") + "(x, i)",
+                "end"
+        });
+        comparison = runtime.compile(new String[] {
+                "mut b = false",
+                "for i = 1, " + OPERATIONS,
+                "b = " + (intrinsic ? "less" : "boxed_less") + "(i, 500)",
+                "end"
+        });
+    }
+
+    /**
+     * Shuts the runtime down.
+     * @throws ZeusException If the runtime has already been shut down.
+     */
+    @TearDown
+    public void tearDown()
+            throws ZeusException {
+        runtime.shutdown();
+    }
+
+    /**
+     * Adds integers, the score is the amount of additions per second.
+     * @return The result.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public ZeusResult arithmetic()
+            throws ZeusException {
+        return runtime.evaluateSync(arithmetic);
+    }
+
+    /**
+     * Compares integers, the score is the amount of comparisons per second.
+     * @return The result.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public ZeusResult comparison()
+            throws ZeusException {
+        return runtime.evaluateSync(comparison);
+    }
+
+    /**
+     * Boxed equivalents of standard methods, which are always invoked.
+     */
+    public static class BoxedMethods {
+
+        /**
+         * Adds two integers.
+         * @param left The left operand.
+         * @param right The right operand.
+         * @return The sum.
+         */
+        @ZeusMethod
+        public Integer boxed_add(Integer left, Integer right) {
+            return left + right;
+        }
+
+        /**
+         * Compares two integers.
+         * @param left The left operand.
+         * @param right The right operand.
+         * @return Whether or not the left operand is less than the right one.
+         */
+        @ZeusMethod
+        public Boolean boxed_less(Integer left, Integer right) {
+            return left < right;
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package de.arraying.zeus.benchmark;
+
+import de.arraying.zeus.backend.Patterns;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.runtime.ZeusScript;
+import de.arraying.zeus.utils.ZeusVariableUtil;
+import de.arraying.zeus.variable.VariableType;
+import de.arraying.zeus.variable.ZeusVariable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignmentBenchmark {
+
+    /**
+     * The amount of assignments every evaluation of the script performs.
+     */
+    private static final int ASSIGNMENTS = 1000;
+
+    /**
+     * Evaluates the script, the score is the amount of assignments per second.
+     * @param state The state holding the script.
+     * @return The result.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ASSIGNMENTS)
+    public ZeusResult assignments(Script state)
+            throws ZeusException {
+        return state.runtime.evaluateSync(state.script);
+    }
+
+    /**
+     * Does what every assignment used to do before the value was stored in a slot: compiling the identifier
+     * pattern and creating a validated variable. Together with the loop this is the assignment rate before.
+     * @return The variable.
+     * @throws ZeusException If the variable is invalid.
+     */
+    @Benchmark
+    public ZeusVariable validatedVariable()
+            throws ZeusException {
+        if(!Pattern.compile(Patterns.IDENTIFIER.getStringPattern()).matcher("x").find()) {
+            throw new ZeusException("The variable identifier is invalid.");
+        }
+        return ZeusVariableUtil.createVariable(VariableType.MUTABLE, "x", 1);
+    }
+
+    /**
+     * A script that reassigns a variable in a loop, interpreted or compiled.
+     */
+    @State(Scope.Thread)
+    public static class Script {
+
+        @Param({"false", "true"})
+        public boolean compilation;
+
+        private ZeusRuntime runtime;
+        private ZeusScript script;
+
+        /**
+         * Compiles the script.
+         * @throws ZeusException If the script can not be compiled.
+         */
+        @Setup
+        public void setup()
+                throws ZeusException {
+            runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withCompilation(compilation)
+                    .build();
+            script = runtime.compile(new String[] {"mut x = 0", "for i = 1, " + ASSIGNMENTS, "x = i", "end"});
+        }
+
+        /**
+         * Shuts the runtime down.
+         * @throws ZeusException If the runtime has already been shut down.
+         */
+        @TearDown
+        public void tearDown()
+                throws ZeusException {
+            runtime.shutdown();
+        }
+
+    }
+
+}
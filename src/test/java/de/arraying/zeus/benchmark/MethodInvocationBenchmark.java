@@ -0,0 +1,137 @@
+package de.arraying.zeus.benchmark;
+
+import de.arraying.zeus.backend.MethodTarget;
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusMethods;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.standard.method.methods.ArithmeticMethods;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodInvocationBenchmark {
+
+    private final Map<Method, Object> containers = new HashMap<>();
+    private Method userMethod;
+    private Method standardMethod;
+    private MethodTarget userTarget;
+    private MethodTarget standardTarget;
+    private Object[] userParameters;
+    private Object[] standardParameters;
+
+    /**
+     * Binds a user method and a variable argument standard method, the way the runtime does when it is built.
+     * @throws NoSuchMethodException If a method does not exist.
+     */
+    @Setup
+    public void setup()
+            throws NoSuchMethodException {
+        userMethod = Methods.class.getMethod("twice", Integer.class);
+        standardMethod = ArithmeticMethods.class.getMethod("add", Object[].class);
+        containers.put(userMethod, new Methods());
+        containers.put(standardMethod, new ArithmeticMethods());
+        Set<Method> methods = new HashSet<>(containers.keySet());
+        ZeusMethods zeusMethods = new ZeusMethods(methods, containers);
+        userTarget = zeusMethods.getTarget("twice", 1);
+        standardTarget = zeusMethods.getTarget("add", -1);
+        userParameters = new Object[] {21};
+        standardParameters = new Object[] {1, 2, 3};
+    }
+
+    /**
+     * Invokes the user method reflectively, looking up its container on every call, like the runtime used to.
+     * @return The result.
+     * @throws ReflectiveOperationException If the invocation fails.
+     */
+    @Benchmark
+    public Object reflectiveUserMethod()
+            throws ReflectiveOperationException {
+        return userMethod.invoke(containers.get(userMethod), userParameters);
+    }
+
+    /**
+     * Invokes the user method through its bound method handle.
+     * @return The result.
+     * @throws ZeusException If the invocation fails.
+     */
+    @Benchmark
+    public Object boundUserMethod()
+            throws ZeusException {
+        return userTarget.invoke(userParameters, 1);
+    }
+
+    /**
+     * Invokes the variable argument standard method reflectively, looking up its container on every call.
+     * @return The result.
+     * @throws ReflectiveOperationException If the invocation fails.
+     */
+    @Benchmark
+    public Object reflectiveStandardMethod()
+            throws ReflectiveOperationException {
+        return standardMethod.invoke(containers.get(standardMethod), (Object) standardParameters);
+    }
+
+    /**
+     * Invokes the variable argument standard method through its bound method handle.
+     * @return The result.
+     * @throws ZeusException If the invocation fails.
+     */
+    @Benchmark
+    public Object boundStandardMethod()
+            throws ZeusException {
+        return standardTarget.invoke(standardParameters, 1);
+    }
+
+    /**
+     * A user method container.
+     */
+    public static class Methods {
+
+        /**
+         * Doubles a number.
+         * @param value The number.
+         * @return The doubled number.
+         */
+        @ZeusMethod
+        public Integer twice(Integer value) {
+            return value * 2;
+        }
+
+    }
+
+}
@@ -0,0 +1,369 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.runtime.ZeusScript;
+import de.arraying.zeus.variable.ZeusVariable;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class CompilationTest {
+
+    /**
+     * Scripts that complete, covering every kind of line the compiler emits itself.
+     */
+    private static final String[][] COMPLETING = {
+            {"const i = 1", "const l = 2L", "const d = 1.5", "const b = true", "const s = \"str\""},
+            {"mut x = 1", "x = 2", "x = add(x, 3)", "x = subtract(x, 1)", "x = multiply(x, 4)", "x = divide(x, 3)", "x = modulo(x, 3)"},
+            {"mut z = add_i(1, 2)", "mut w = multiply_d(2.0, 3.0)", "mut v = add_l(1L, 2L)", "mut x = 1", "x = \"str\""},
+            {"mut x = incr(1)", "mut y = decr_l(5L)", "mut z = incr_d(1.5)", "x = incr(x)", "y = decr_l(y)"},
+            {"mut x = 1", "mut x = 2L"},
+            {"mut a = less(1, 2)", "mut b = less_or_equal(2L, 2)", "mut c = more(1.5, 2)", "mut d = more_or_equal(3, 3)"},
+            {"mut a = equals(1, 1)", "mut b = equals(\"a\", \"b\")", "mut c = equals(1, 1L)", "mut d = equals(true, true)"},
+            {"mut x = 7", "mut l = 7L", "mut d = 2.5", "mut t = true", "mut a = equals(x, x)", "mut b = equals(l, x)", "mut c = equals(d, d)", "mut e = equals(t, false)", "mut f = equals(x, d)"},
+            {"mut nan = divide_d(0.0, 0.0)", "mut zero = 0.0", "mut negative = multiply_d(-1.0, 0.0)", "mut a = equals(nan, nan)", "mut b = equals(zero, negative)", "mut c = equals(zero, 0.0)"},
+            {"mut a = and(true, false)", "mut b = or(false, true)", "mut c = not(a)", "mut d = and(b, c, true)", "mut e = or(a, false)"},
+            {"mut r = 0", "if less(1, 2)", "r = 1", "elif true", "r = 2", "else", "r = 3", "end"},
+            {"mut r = 0", "if false", "r = 1", "elif more(1, 2)", "r = 2", "elif equals(r, 0)", "r = 3", "else", "r = 4", "end"},
+            {"mut r = 0", "if false", "r = 1", "else", "r = 4", "end"},
+            {"mut s = 0", "mut i = 0", "while less(i, 100)", "i = incr(i)", "s = add(s, i)", "end"},
+            {"mut s = 0", "for i = 1, 10", "for j = i, 10", "s = add(s, j)", "end", "end"},
+            {"mut s = 0L", "for i = 10, 1", "s = add(s, i)", "end"},
+            {"mut s = \"\"", "for i = 1, 5", "if equals(modulo(i, 2), 0)", "s = concat(s, to_str(i))", "end", "end"},
+            {"mut s = str_upper(\"abc\")", "mut l = str_len(s)", "mut c = str_contains(s, \"B\")", "mut t = str_substr(s, 1)"},
+            {"mut x = to_int(\"42\")", "mut y = to_double(x)", "mut z = is_int(x)", "mut w = to_bool(\"true\")"},
+            {"mut x = twice(21)", "mut y = greet(\"Zeus\")", "touch()", "mut z = twice(twice(x))"}
+    };
+
+    /**
+     * Scripts that stop themselves.
+     */
+    private static final String[][] STOPPING = {
+            {"mut x = 1", "stop", "x = 2"},
+            {"mut x = 0", "while true", "x = incr(x)", "if equals(x, 5)", "stop", "end", "end"}
+    };
+
+    /**
+     * Scripts that end with an error.
+     */
+    private static final String[][] FAILING = {
+            {"mut x = divide(1, 0)"},
+            {"mut x = add(1, \"a\")"},
+            {"mut x = add(1, 2L)"},
+            {"mut x = add(1, 2.5)"},
+            {"const x = 1", "x = 2"},
+            {"mut x = less(\"a\", 1)"},
+            {"if to_int(\"1\")", "end"},
+            {"while to_str(1)", "end"},
+            {"for i = 1, to_str(2)", "end"},
+            {"mut x = not(to_int(\"1\"))"},
+            {"mut x = and(true, to_int(\"1\"))"},
+            {"mut x = nothing()"},
+            {"mut x = 1", "mut y = add(x, nothing())"},
+            {"mut x = fail(1)"},
+            {"mut y = decr(5L)"}
+    };
+
+    /**
+     * Every completing script is compiled and produces the same result on both tiers.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void completingScripts()
+            throws ZeusException {
+        for(String[] code : COMPLETING) {
+            ZeusResult result = assertSameResult(code, new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD));
+            assertEquals(String.join("; ", code), ZeusResult.Outcome.COMPLETED, result.getOutcome());
+        }
+    }
+
+    /**
+     * Every stopping script is compiled and stops at the same line on both tiers.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void stoppingScripts()
+            throws ZeusException {
+        for(String[] code : STOPPING) {
+            ZeusResult result = assertSameResult(code, new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD));
+            assertEquals(String.join("; ", code), ZeusResult.Outcome.STOPPED, result.getOutcome());
+        }
+    }
+
+    /**
+     * Every failing script is compiled and fails with the same error on both tiers.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void failingScripts()
+            throws ZeusException {
+        for(String[] code : FAILING) {
+            ZeusResult result = assertSameResult(code, new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD));
+            assertEquals(String.join("; ", code), ZeusResult.Outcome.ERROR, result.getOutcome());
+        }
+    }
+
+    /**
+     * Conditions and loop bounds of the wrong type fail with the same message on both tiers.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void conditionErrors()
+            throws ZeusException {
+        String[][] scripts = {
+                {"if to_int(\"1\")", "end"},
+                {"if false", "elif to_str(1)", "end"},
+                {"while to_long(\"1\")", "end"},
+                {"for i = to_str(1), 2", "end"}
+        };
+        String[] messages = {
+                "The condition in the if statement does not return a boolean.",
+                "The condition in the elif statement does not return a boolean.",
+                "The condition in the while loop does not return a boolean.",
+                "The start and end of the for loop must be integers."
+        };
+        for(int i = 0; i < scripts.length; i++) {
+            ZeusResult result = assertSameResult(scripts[i], new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD));
+            assertEquals(messages[i], result.getError().getMessage());
+        }
+    }
+
+    /**
+     * The statement and variable limits end scripts at the same statement on both tiers.
+     * @throws ZeusException If a script can not be evaluated.
+     */
+    @Test
+    public void limits()
+            throws ZeusException {
+        String[] loop = {"mut s = 0", "for i = 1, 1000", "s = add(s, i)", "end"};
+        ZeusResult result = assertSameResult(loop, new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMaximumStatements(100));
+        assertEquals(ZeusResult.Outcome.ERROR, result.getOutcome());
+        String[] declarations = {"mut a = 1", "mut b = 2", "mut c = 3"};
+        result = assertSameResult(declarations, new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMaximumVariables(2));
+        assertEquals(ZeusResult.Outcome.ERROR, result.getOutcome());
+    }
+
+    /**
+     * A script that never ends is killed on both tiers once its runtime is exceeded.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void kill()
+            throws ZeusException {
+        String[] code = {"mut x = 0", "while true", "x = incr(x)", "end"};
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withCompilation(compilation)
+                    .build();
+            ZeusScript script = runtime.compile(code);
+            assertCompiled(script, compilation, code);
+            ZeusResult result = runtime.evaluateSync(script, 50);
+            assertEquals(ZeusResult.Outcome.KILLED, result.getOutcome());
+            assertNull(result.getError());
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Scripts are interpreted until the compilation threshold is reached, then compiled in the background.
+     * @throws Exception If the script can not be evaluated or is not compiled in time.
+     */
+    @Test
+    public void compilationThreshold()
+            throws Exception {
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withCompilationThreshold(3)
+                .build();
+        ZeusScriptImpl script = (ZeusScriptImpl) runtime.compile(new String[] {"mut x = 0", "for i = 1, 10", "x = add(x, i)", "end"});
+        for(int i = 0; i < 2; i++) {
+            assertEquals(55, runtime.evaluateSync(script).getVariables().get("x").value());
+            assertNull(script.getCompiled());
+        }
+        assertEquals(55, runtime.evaluateSync(script).getVariables().get("x").value());
+        long deadline = System.currentTimeMillis() + 10000;
+        while(script.getCompiled() == null
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(script.getCompiled());
+        assertEquals(55, runtime.evaluateSync(script).getVariables().get("x").value());
+        runtime.shutdown();
+    }
+
+    /**
+     * Scripts that sleep stay interpreted while sleeping tasks are suspended, as compiled scripts can not be suspended.
+     * @throws ZeusException If a script can not be compiled.
+     */
+    @Test
+    public void suspendingSleep()
+            throws ZeusException {
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withSuspendingSleep(true)
+                .withCompilation(true)
+                .build();
+        assertNull(((ZeusScriptImpl) runtime.compile(new String[] {"mut x = 1", "sleep 1L"})).getCompiled());
+        assertNotNull(((ZeusScriptImpl) runtime.compile(new String[] {"mut x = 1"})).getCompiled());
+        runtime.shutdown();
+    }
+
+    /**
+     * Scripts with components the compiler does not know stay interpreted.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void customComponents()
+            throws ZeusException {
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withComponents((task, tokens, lineNumber) -> false)
+                .withCompilation(true)
+                .build();
+        ZeusScript script = runtime.compile(new String[] {"mut x = 1"});
+        assertNull(((ZeusScriptImpl) script).getCompiled());
+        assertEquals(ZeusResult.Outcome.COMPLETED, runtime.evaluateSync(script).getOutcome());
+        runtime.shutdown();
+    }
+
+    /**
+     * Evaluates a script on both tiers and asserts that the results are the same.
+     * @param code The lines of the script.
+     * @param builder The builder to create both runtimes with.
+     * @return The result of the interpreted evaluation.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    private static ZeusResult assertSameResult(String[] code, ZeusRuntimeBuilder builder)
+            throws ZeusException {
+        String description = String.join("; ", code);
+        builder.withMethods(new TestMethods());
+        ZeusRuntime interpreter = builder.withCompilation(false).build();
+        ZeusRuntime compiler = builder.withCompilation(true).build();
+        ZeusScript interpreted = interpreter.compile(code);
+        ZeusScript compiled = compiler.compile(code);
+        assertCompiled(interpreted, false, code);
+        assertCompiled(compiled, true, code);
+        ZeusResult expected = interpreter.evaluateSync(interpreted);
+        ZeusResult actual = compiler.evaluateSync(compiled);
+        interpreter.shutdown();
+        compiler.shutdown();
+        assertEquals(description, expected.getOutcome(), actual.getOutcome());
+        assertEquals(description, describe(expected.getError()), describe(actual.getError()));
+        assertEquals(description, describe(expected.getVariables()), describe(actual.getVariables()));
+        assertEquals(description, expected.getStatements(), actual.getStatements());
+        return expected;
+    }
+
+    /**
+     * Asserts which tier a script runs on.
+     * @param script The script.
+     * @param compiled Whether or not the script should be compiled.
+     * @param code The lines of the script.
+     */
+    private static void assertCompiled(ZeusScript script, boolean compiled, String[] code) {
+        if(compiled) {
+            assertNotNull("Not compiled: " + String.join("; ", code), ((ZeusScriptImpl) script).getCompiled());
+        } else {
+            assertNull(((ZeusScriptImpl) script).getCompiled());
+        }
+    }
+
+    /**
+     * Describes an error, including its line number.
+     * @param error The error, or null.
+     * @return The description.
+     */
+    private static String describe(ZeusException error) {
+        return error == null ? "none" : error.getLineNumber() + ": " + error.getMessage();
+    }
+
+    /**
+     * Describes variables, ordered by their identifier.
+     * @param variables A map of variables.
+     * @return The types, identifiers and values of the variables.
+     */
+    private static String describe(Map<String, ZeusVariable> variables) {
+        Map<String, String> described = new TreeMap<>();
+        for(ZeusVariable variable : variables.values()) {
+            Object value = variable.value();
+            described.put(variable.identifier(), variable.type() + " " + (value == null ? "null" : value.getClass().getSimpleName() + " " + value));
+        }
+        return described.toString();
+    }
+
+    /**
+     * Methods that are invoked directly by compiled scripts.
+     */
+    public static class TestMethods {
+
+        /**
+         * Doubles a number.
+         * @param value The number.
+         * @return The doubled number.
+         */
+        @ZeusMethod
+        public Integer twice(Integer value) {
+            return value * 2;
+        }
+
+        /**
+         * Greets someone.
+         * @param name The name.
+         * @return The greeting.
+         */
+        @ZeusMethod
+        public String greet(String name) {
+            return "Hello, " + name;
+        }
+
+        /**
+         * Does nothing.
+         */
+        @ZeusMethod
+        public void touch() {}
+
+        /**
+         * Returns nothing.
+         * @return Always null.
+         */
+        @ZeusMethod
+        public Integer nothing() {
+            return null;
+        }
+
+        /**
+         * Fails.
+         * @param value Any number.
+         * @return Never returns.
+         */
+        @ZeusMethod
+        public Integer fail(Integer value) {
+            throw new IllegalStateException("Failed with " + value + ".");
+        }
+
+    }
+
+}
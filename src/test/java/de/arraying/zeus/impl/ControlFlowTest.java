@@ -0,0 +1,224 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ControlFlowTest {
+
+    private final Conditions conditions = new Conditions();
+    private ZeusRuntime interpreter;
+    private ZeusRuntime compiler;
+
+    /**
+     * Creates a runtime for each tier.
+     * @throws ZeusException If a runtime can not be created.
+     */
+    @Before
+    public void setUp()
+            throws ZeusException {
+        interpreter = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(conditions)
+                .withCompilation(false)
+                .build();
+        compiler = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(conditions)
+                .withCompilation(true)
+                .build();
+    }
+
+    /**
+     * Shuts the runtimes down.
+     * @throws ZeusException If a runtime has already been shut down.
+     */
+    @After
+    public void tearDown()
+            throws ZeusException {
+        interpreter.shutdown();
+        compiler.shutdown();
+    }
+
+    /**
+     * Blocks that are not closed, or keywords that do not belong to a block, are rejected when the script is compiled.
+     */
+    @Test
+    public void unbalancedBlocks() {
+        assertCompileError(1, "The if keyword is never closed by an end keyword.", "if true");
+        assertCompileError(1, "The if keyword is never closed by an end keyword.", "if true", "mut x = 1", "if false", "end");
+        assertCompileError(2, "The end keyword does not belong to an if statement or loop.", "mut x = 1", "end");
+        assertCompileError(1, "The else keyword does not belong to an if statement.", "else");
+        assertCompileError(3, "The if statement already has an else keyword.", "if true", "else", "else", "end");
+    }
+
+    /**
+     * Skipped branches are jumped over, nothing in them is evaluated.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void nestedBranches()
+            throws ZeusException {
+        String[] code = {
+                "mut r = 0",
+                "if false",
+                "r = divide(1, 0)",
+                "if true",
+                "r = divide(1, 0)",
+                "end",
+                "else",
+                "if true",
+                "r = 1",
+                "else",
+                "r = divide(1, 0)",
+                "end",
+                "end"
+        };
+        assertEquals(1, evaluate(code).getVariables().get("r").value());
+    }
+
+    /**
+     * Loops repeat their body until the condition is false or the end of the range is passed.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void loops()
+            throws ZeusException {
+        ZeusResult result = evaluate(
+                "mut sum = 0",
+                "mut n = 0",
+                "while less(n, 10)",
+                "n = incr(n)",
+                "for i = 1, n",
+                "sum = add(sum, i)",
+                "end",
+                "end"
+        );
+        assertEquals(220, result.getVariables().get("sum").value());
+        assertEquals(10, result.getVariables().get("n").value());
+        assertEquals(5, evaluate("mut r = 0", "for i = 5, 1", "r = 1", "end").getVariables().get("i").value());
+        assertEquals(0, evaluate("mut r = 0", "for i = 5, 1", "r = 1", "end").getVariables().get("r").value());
+        assertEquals(0, evaluate("mut r = 0", "while false", "r = 1", "end").getVariables().get("r").value());
+        assertEquals(11, evaluate("for i = 1, 3", "i = 10", "end").getVariables().get("i").value());
+    }
+
+    /**
+     * Loops that are not closed are rejected when the script is compiled.
+     */
+    @Test
+    public void unclosedLoops() {
+        assertCompileError(1, "The while keyword is never closed by an end keyword.", "while true");
+        assertCompileError(1, "The for keyword is never closed by an end keyword.", "for i = 1, 3", "if true", "end");
+    }
+
+    /**
+     * The conditions of an elif chain are evaluated in order, up to the first one that is true.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void elifChains()
+            throws ZeusException {
+        String[] code = {
+                "mut r = 0",
+                "if check(false)",
+                "r = 1",
+                "elif check(true)",
+                "r = 2",
+                "elif check(true)",
+                "r = 3",
+                "else",
+                "r = 4",
+                "end"
+        };
+        for(ZeusRuntime runtime : new ZeusRuntime[] {interpreter, compiler}) {
+            conditions.checked = 0;
+            assertEquals(2, runtime.evaluateSync(runtime.compile(code)).getVariables().get("r").value());
+            assertEquals(2, conditions.checked);
+            conditions.checked = 0;
+            assertEquals(4, runtime.evaluateSync(runtime.compile(new String[] {
+                    "mut r = 0", "if check(false)", "r = 1", "elif check(false)", "r = 2", "else", "r = 4", "end"
+            })).getVariables().get("r").value());
+            assertEquals(2, conditions.checked);
+        }
+        assertCompileError(1, "The elif keyword does not belong to an if statement.", "elif true");
+        assertCompileError(3, "The elif keyword can not come after the else keyword.", "if true", "else", "elif true", "end");
+    }
+
+    /**
+     * Compiles a script that is expected to be rejected.
+     * @param lineNumber The expected line number.
+     * @param message The expected message.
+     * @param code The lines of the script.
+     */
+    private void assertCompileError(int lineNumber, String message, String... code) {
+        try {
+            interpreter.compile(code);
+            fail("Compiled: " + String.join(" | ", code));
+        } catch(ZeusException exception) {
+            assertEquals(message, exception.getMessage());
+            assertEquals(lineNumber, exception.getLineNumber());
+        }
+    }
+
+    /**
+     * Evaluates a script on both tiers, which have to end with the same variables.
+     * @param code The lines of the script.
+     * @return The result of the interpreter.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    private ZeusResult evaluate(String... code)
+            throws ZeusException {
+        ZeusResult interpreted = interpreter.evaluateSync(interpreter.compile(code));
+        ZeusResult compiled = compiler.evaluateSync(compiler.compile(code));
+        assertEquals(ZeusResult.Outcome.COMPLETED, interpreted.getOutcome());
+        assertEquals(ZeusResult.Outcome.COMPLETED, compiled.getOutcome());
+        assertEquals(interpreted.getStatements(), compiled.getStatements());
+        for(String identifier : interpreted.getVariables().keySet()) {
+            assertEquals(identifier, interpreted.getVariables().get(identifier).value(), compiled.getVariables().get(identifier).value());
+        }
+        assertEquals(interpreted.getVariables().keySet(), compiled.getVariables().keySet());
+        return interpreted;
+    }
+
+    /**
+     * A method that counts the conditions it checks.
+     */
+    public static class Conditions {
+
+        private int checked;
+
+        /**
+         * Checks a condition.
+         * @param condition The condition.
+         * @return The condition.
+         */
+        @ZeusMethod
+        public Boolean check(Boolean condition) {
+            checked++;
+            return condition;
+        }
+
+    }
+
+}
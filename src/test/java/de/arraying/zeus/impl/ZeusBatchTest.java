@@ -0,0 +1,159 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusResults;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.runtime.ZeusScript;
+import de.arraying.zeus.utils.ZeusVariableUtil;
+import de.arraying.zeus.variable.VariableType;
+import de.arraying.zeus.variable.ZeusVariable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusBatchTest {
+
+    /**
+     * Every evaluation of a batch sees its own bindings, sequentially and in parallel, on both tiers.
+     * Errors are reported by the index of the evaluation.
+     * @throws ZeusException If the batch can not be evaluated.
+     */
+    @Test
+    public void bindings()
+            throws ZeusException {
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withVariables(ZeusVariableUtil.createVariable(VariableType.MUTABLE, "n", 0))
+                    .withCompilation(compilation)
+                    .build();
+            ZeusScript script = runtime.compile(new String[] {"mut y = multiply(n, 2)", "n = incr(n)"});
+            List<ZeusVariable[]> bindings = new ArrayList<>();
+            for(int i = 0; i < 100; i++) {
+                Object value = i == 42 ? "text" : i;
+                bindings.add(new ZeusVariable[] {ZeusVariableUtil.createVariable(VariableType.MUTABLE, "n", value)});
+            }
+            for(boolean parallel : new boolean[] {false, true}) {
+                ZeusResults results = runtime.evaluateBatch(script, bindings, parallel);
+                assertEquals(100, results.getResults().size());
+                assertEquals(99, results.getCount(ZeusResult.Outcome.COMPLETED));
+                assertEquals(1, results.getCount(ZeusResult.Outcome.ERROR));
+                assertEquals(Collections.singleton(42), results.getErrors().keySet());
+                for(int i = 0; i < 100; i++) {
+                    if(i == 42) {
+                        continue;
+                    }
+                    ZeusResult result = results.getResults().get(i);
+                    assertEquals(i * 2, result.getVariables().get("y").value());
+                    assertEquals(i + 1, result.getVariables().get("n").value());
+                }
+                long statements = 0;
+                for(ZeusResult result : results.getResults()) {
+                    statements += result.getStatements();
+                }
+                assertEquals(statements, results.getStatements());
+            }
+            assertEquals(0, runtime.evaluateSync(script).getVariables().get("y").value());
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Scripts are evaluated on the own fork/join pool of the runtime and the results keep their order.
+     * @throws ZeusException If the scripts can not be evaluated.
+     */
+    @Test
+    public void evaluateAll()
+            throws ZeusException {
+        ThreadRecorder recorder = new ThreadRecorder();
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(recorder)
+                .withParallelism(3)
+                .build();
+        List<ZeusScript> scripts = new ArrayList<>();
+        for(int i = 0; i < 50; i++) {
+            scripts.add(runtime.compile(new String[] {"record()", "mut x = " + i}));
+        }
+        ZeusResults results = runtime.evaluateAll(scripts);
+        for(int i = 0; i < 50; i++) {
+            assertEquals(i, results.getResults().get(i).getVariables().get("x").value());
+        }
+        assertFalse(recorder.threads.isEmpty());
+        for(Thread thread : recorder.threads) {
+            assertTrue(thread instanceof ForkJoinWorkerThread);
+            ForkJoinPool pool = ((ForkJoinWorkerThread) thread).getPool();
+            assertNotSame(ForkJoinPool.commonPool(), pool);
+            assertEquals(3, pool.getParallelism());
+        }
+        ZeusRuntime other = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD).build();
+        try {
+            other.evaluateAll(scripts);
+            fail("Evaluated scripts compiled by another runtime.");
+        } catch(ZeusException expected) {}
+        other.shutdown();
+        runtime.shutdown();
+    }
+
+    /**
+     * The parallelism has to be between 1 and 32767.
+     * @throws ZeusException If the builder can not be created.
+     */
+    @Test
+    public void parallelismRange()
+            throws ZeusException {
+        ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD);
+        for(int parallelism : new int[] {0, 32768}) {
+            try {
+                builder.withParallelism(parallelism);
+                fail("Accepted a parallelism of " + parallelism + ".");
+            } catch(ZeusException expected) {}
+        }
+    }
+
+    /**
+     * A method that records the threads it is invoked on.
+     */
+    public static class ThreadRecorder {
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Records the current thread.
+         */
+        @ZeusMethod
+        public void record() {
+            threads.add(Thread.currentThread());
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.utils.ZeusVariableUtil;
+import de.arraying.zeus.variable.VariableType;
+import de.arraying.zeus.variable.VariableValues;
+import de.arraying.zeus.variable.ZeusVariable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusFrameTest {
+
+    /**
+     * Predefined variables are read from the base until they are written to, which only changes the frame.
+     * @throws ZeusException If the script can not be compiled.
+     */
+    @Test
+    public void predefinedSlots()
+            throws ZeusException {
+        ZeusVariable predefined = ZeusVariableUtil.createVariable(VariableType.MUTABLE, "p", 5);
+        ZeusScriptImpl script = compile(predefined, "p = 6");
+        int slot = script.getSlot("p");
+        assertEquals(0, slot);
+        ZeusFrame.Base base = new ZeusFrame.Base(new ZeusVariable[] {predefined});
+        ZeusFrame frame = new ZeusFrame(script, base);
+        ZeusFrame other = new ZeusFrame(script, base);
+        assertEquals(VariableType.MUTABLE, frame.getType(slot));
+        assertEquals(5, frame.getValue(slot));
+        frame.setBits(slot, VariableValues.INT, 6);
+        assertEquals(6, frame.getValue(slot));
+        assertEquals(VariableType.MUTABLE, frame.getType(slot));
+        assertEquals(5, other.getValue(slot));
+        frame.reset();
+        assertEquals(5, frame.getValue(slot));
+    }
+
+    /**
+     * Numbers are stored as bits and boxed once on the first read after they changed.
+     * @throws ZeusException If the script can not be compiled.
+     */
+    @Test
+    public void unboxedSlots()
+            throws ZeusException {
+        ZeusScriptImpl script = compile(null, "mut x = 1.5");
+        ZeusFrame frame = new ZeusFrame(script, new ZeusFrame.Base(new ZeusVariable[0]));
+        int slot = script.getSlot("x");
+        assertNull(frame.getType(slot));
+        assertNull(frame.getValue(slot));
+        frame.declare(slot, VariableType.MUTABLE, VariableValues.DOUBLE, Double.doubleToRawLongBits(1.5));
+        assertEquals(VariableValues.DOUBLE, frame.getKind(slot));
+        Object boxed = frame.getValue(slot);
+        assertEquals(1.5, boxed);
+        assertSame(boxed, frame.getValue(slot));
+        frame.setValue(slot, "text");
+        assertEquals(VariableValues.STRING, frame.getKind(slot));
+        assertEquals("text", frame.getValue(slot));
+        frame.setBits(slot, VariableValues.BOOL, 1);
+        assertEquals(true, frame.getValue(slot));
+    }
+
+    /**
+     * Variables that do not appear in the script get slots on demand, which are dropped once the frame is reset.
+     * @throws ZeusException If the script can not be compiled.
+     */
+    @Test
+    public void dynamicSlots()
+            throws ZeusException {
+        ZeusScriptImpl script = compile(null, "mut x = 1");
+        ZeusFrame frame = new ZeusFrame(script, new ZeusFrame.Base(new ZeusVariable[0]));
+        int size = frame.getSize();
+        assertEquals(-1, frame.getSlot("y", false));
+        int slot = frame.getSlot("y", true);
+        assertEquals(size, slot);
+        assertEquals(slot, frame.getSlot("y", false));
+        assertEquals("y", frame.getIdentifier(slot));
+        frame.declare(slot, VariableType.CONSTANT, "value");
+        assertEquals("value", frame.getValue(slot));
+        frame.reset();
+        assertEquals(size, frame.getSize());
+        assertEquals(-1, frame.getSlot("y", false));
+    }
+
+    /**
+     * Reassigning a variable in a loop keeps its type and ends with the last value, on both tiers.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void reassignment()
+            throws ZeusException {
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withCompilation(compilation)
+                    .build();
+            ZeusResult result = runtime.evaluateSync(runtime.compile(new String[] {"mut x = 0", "for i = 1, 100", "x = i", "end"}));
+            assertEquals(ZeusResult.Outcome.COMPLETED, result.getOutcome());
+            assertEquals(100, result.getVariables().get("x").value());
+            assertEquals(VariableType.MUTABLE, result.getVariables().get("x").type());
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Compiles a script.
+     * @param predefined The predefined variable, or null.
+     * @param code The lines of the script.
+     * @return The script.
+     * @throws ZeusException If the script can not be compiled.
+     */
+    private static ZeusScriptImpl compile(ZeusVariable predefined, String... code)
+            throws ZeusException {
+        ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withCompilation(false);
+        if(predefined != null) {
+            builder.withVariables(predefined);
+        }
+        ZeusRuntime runtime = builder.build();
+        ZeusScriptImpl script = (ZeusScriptImpl) runtime.compile(code);
+        runtime.shutdown();
+        return script;
+    }
+
+}
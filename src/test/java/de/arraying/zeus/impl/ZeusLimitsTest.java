@@ -0,0 +1,167 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.ZeusLimitException;
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.utils.ZeusVariableUtil;
+import de.arraying.zeus.variable.VariableType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusLimitsTest {
+
+    /**
+     * A task that evaluates too many statements is aborted, on both tiers.
+     * The statement that exceeds the limit is counted, but not evaluated.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void statements()
+            throws ZeusException {
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withMaximumStatements(50)
+                    .withCompilation(compilation);
+            ZeusResult result = evaluate(builder, compilation, "mut x = 0", "while true", "x = incr(x)", "end");
+            assertLimit(result, ZeusLimitException.Limit.STATEMENTS, 50, 3);
+            assertEquals(51, result.getStatements());
+        }
+    }
+
+    /**
+     * A task that invokes too many methods is aborted, the script stays interpreted in order to count them.
+     * The invocation that exceeds the limit is counted, but its result is not assigned.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void invocations()
+            throws ZeusException {
+        ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMaximumInvocations(3)
+                .withCompilation(true);
+        ZeusResult result = evaluate(builder, false, "mut x = 0", "for i = 1, 10", "x = incr(x)", "end");
+        assertLimit(result, ZeusLimitException.Limit.INVOCATIONS, 3, 3);
+        assertEquals(4, result.getInvocations());
+        assertEquals(3, result.getVariables().get("x").value());
+    }
+
+    /**
+     * A task that creates too many bytes of strings is aborted, the script stays interpreted in order to count them.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void stringBytes()
+            throws ZeusException {
+        ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMaximumStringBytes(16)
+                .withCompilation(true);
+        ZeusResult result = evaluate(builder, false, "mut s = concat(\"abc\", \"de\")", "s = concat(s, \"fgh\")");
+        assertLimit(result, ZeusLimitException.Limit.STRING_BYTES, 16, 2);
+        assertEquals("abcde", result.getVariables().get("s").value());
+    }
+
+    /**
+     * A task that declares too many variables is aborted, on both tiers. Predefined variables do not count.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    @Test
+    public void variables()
+            throws ZeusException {
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withVariables(ZeusVariableUtil.createVariable(VariableType.CONSTANT, "p", 1))
+                    .withMaximumVariables(2)
+                    .withCompilation(compilation);
+            ZeusResult result = evaluate(builder, compilation, "mut a = p", "mut b = a", "mut c = b");
+            assertLimit(result, ZeusLimitException.Limit.VARIABLES, 2, 3);
+            assertNotNull(result.getVariables().get("b"));
+        }
+    }
+
+    /**
+     * Limits out of the supported range are rejected by the builder.
+     * @throws ZeusException If the builder can not be created.
+     */
+    @Test
+    public void ranges()
+            throws ZeusException {
+        ZeusRuntimeBuilder builder = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD);
+        try {
+            builder.withMaximumStatements(0);
+            fail("Accepted a maximum of 0 statements.");
+        } catch(ZeusException expected) {}
+        try {
+            builder.withMaximumInvocations(0);
+            fail("Accepted a maximum of 0 invocations.");
+        } catch(ZeusException expected) {}
+        try {
+            builder.withMaximumStringBytes(0);
+            fail("Accepted a maximum of 0 string bytes.");
+        } catch(ZeusException expected) {}
+        try {
+            builder.withMaximumVariables(-1);
+            fail("Accepted a negative maximum of variables.");
+        } catch(ZeusException expected) {}
+    }
+
+    /**
+     * Evaluates a script.
+     * @param builder The builder of the runtime.
+     * @param compiled Whether or not the script is expected to be compiled.
+     * @param code The lines of the script.
+     * @return The result.
+     * @throws ZeusException If the script can not be evaluated.
+     */
+    private static ZeusResult evaluate(ZeusRuntimeBuilder builder, boolean compiled, String... code)
+            throws ZeusException {
+        ZeusRuntime runtime = builder.build();
+        ZeusScriptImpl script = (ZeusScriptImpl) runtime.compile(code);
+        if(compiled) {
+            assertNotNull(script.getCompiled());
+        } else {
+            assertNull(script.getCompiled());
+        }
+        ZeusResult result = runtime.evaluateSync(script);
+        runtime.shutdown();
+        return result;
+    }
+
+    /**
+     * Asserts that a task was aborted because it exceeded a limit.
+     * @param result The result of the task.
+     * @param limit The limit.
+     * @param maximum The maximum.
+     * @param lineNumber The line the limit was exceeded on.
+     */
+    private static void assertLimit(ZeusResult result, ZeusLimitException.Limit limit, long maximum, int lineNumber) {
+        assertEquals(ZeusResult.Outcome.ERROR, result.getOutcome());
+        assertTrue(result.getError() instanceof ZeusLimitException);
+        ZeusLimitException exception = (ZeusLimitException) result.getError();
+        assertEquals(limit, exception.getLimit());
+        assertEquals(maximum, exception.getMaximum());
+        assertEquals(lineNumber, exception.getLineNumber());
+    }
+
+}
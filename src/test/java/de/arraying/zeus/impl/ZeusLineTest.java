@@ -0,0 +1,55 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.expression.CallExpression;
+import de.arraying.zeus.backend.expression.Expression;
+import de.arraying.zeus.backend.expression.VariableExpression;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.token.Lexer;
+import de.arraying.zeus.token.Token;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusLineTest {
+
+    /**
+     * Values with the same start but different ends are different values.
+     * @throws ZeusException If the line can not be parsed.
+     */
+    @Test
+    public void sameStartDifferentEnd()
+            throws ZeusException {
+        ZeusRuntimeImpl runtime = (ZeusRuntimeImpl) new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD).build();
+        Token[] tokens = new Lexer("incr(1)", 1).getTokens();
+        int[] slots = new int[tokens.length];
+        Arrays.fill(slots, -1);
+        ZeusLine line = new ZeusLine(runtime.getMethods(), 1, tokens, slots);
+        Expression variable = line.getExpression(0, 1);
+        Expression call = line.getExpression(0, tokens.length);
+        assertTrue(variable instanceof VariableExpression);
+        assertTrue(call instanceof CallExpression);
+        assertSame(variable, line.getExpression(0, 1));
+        assertTrue(line.getExpression(0) instanceof CallExpression);
+        runtime.shutdown();
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.arraying.zeus.impl;
+
+import org.junit.Test;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusSchedulerTest {
+
+    /**
+     * Slices of the same priority run in the order they were queued.
+     */
+    @Test
+    public void samePriorityIsFirstInFirstOut() {
+        PriorityQueue<ZeusScheduler.Slice> queue = new PriorityQueue<>();
+        ZeusScheduler.Slice[] slices = new ZeusScheduler.Slice[100];
+        for(int i = 0; i < slices.length; i++) {
+            slices[i] = new ZeusScheduler.Slice(() -> {}, 3, i);
+            queue.add(slices[i]);
+        }
+        for(ZeusScheduler.Slice slice : slices) {
+            assertEquals(slice, queue.poll());
+        }
+    }
+
+    /**
+     * A slice with a higher priority overtakes slices with a lower priority that were queued shortly before it.
+     */
+    @Test
+    public void higherPriorityGoesFirst() {
+        PriorityQueue<ZeusScheduler.Slice> queue = new PriorityQueue<>();
+        queue.add(new ZeusScheduler.Slice(() -> {}, 0, 0));
+        queue.add(new ZeusScheduler.Slice(() -> {}, 0, 1));
+        ZeusScheduler.Slice important = new ZeusScheduler.Slice(() -> {}, 1, 2);
+        queue.add(important);
+        assertEquals(important, queue.poll());
+    }
+
+    /**
+     * A slice with a low priority runs eventually, even if slices with a higher priority keep being queued.
+     */
+    @Test
+    public void lowerPriorityIsNotStarved() {
+        PriorityQueue<ZeusScheduler.Slice> queue = new PriorityQueue<>();
+        ZeusScheduler.Slice starving = new ZeusScheduler.Slice(() -> {}, 0, 0);
+        queue.add(starving);
+        long sequence = 1;
+        for(int i = 0; i < 2; i++) {
+            queue.add(new ZeusScheduler.Slice(() -> {}, 10, sequence++));
+        }
+        int polled = 0;
+        while(queue.poll() != starving) {
+            queue.add(new ZeusScheduler.Slice(() -> {}, 10, sequence++));
+            polled++;
+            assertTrue("The slice was starved.", polled <= 10 * ZeusScheduler.PRIORITY_WEIGHT + 2);
+        }
+    }
+
+    /**
+     * The scheduler threads do not keep the JVM alive.
+     * @throws Exception If the probe does not complete.
+     */
+    @Test
+    public void daemonThreads()
+            throws Exception {
+        ZeusScheduler scheduler = new ZeusScheduler(1, 10);
+        try {
+            CompletableFuture<Thread> thread = new CompletableFuture<>();
+            scheduler.execute(() -> thread.complete(Thread.currentThread()));
+            Thread worker = thread.get(10, TimeUnit.SECONDS);
+            assertEquals("Zeus Scheduler", worker.getName());
+            assertTrue(worker.isDaemon());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+}
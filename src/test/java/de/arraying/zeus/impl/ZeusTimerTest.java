@@ -0,0 +1,112 @@
+package de.arraying.zeus.impl;
+
+import de.arraying.zeus.runtime.ZeusResult;
+import de.arraying.zeus.runtime.ZeusRuntime;
+import de.arraying.zeus.runtime.ZeusRuntimeBuilder;
+import de.arraying.zeus.runtime.ZeusTask;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusTimerTest {
+
+    private final ZeusTimer timer = new ZeusTimer(5, 8);
+
+    /**
+     * Stops the timer.
+     */
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    /**
+     * A timeout expires no earlier than its delay, also if the delay spans several rounds of the wheel.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    @Test
+    public void expire()
+            throws InterruptedException {
+        long[] delays = {0, 5, 20, 100, 200};
+        CountDownLatch expired = new CountDownLatch(delays.length);
+        AtomicInteger early = new AtomicInteger();
+        for(long delay : delays) {
+            long start = System.nanoTime();
+            timer.schedule(() -> {
+                if(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < delay) {
+                    early.incrementAndGet();
+                }
+                expired.countDown();
+            }, delay);
+        }
+        assertTrue(expired.await(10, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+    }
+
+    /**
+     * A cancelled timeout never expires.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    @Test
+    public void cancel()
+            throws InterruptedException {
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+        timer.schedule(cancelledRuns::incrementAndGet, 0).cancel();
+        timer.schedule(cancelledRuns::incrementAndGet, 50).cancel();
+        timer.schedule(later::countDown, 100);
+        assertTrue(later.await(10, TimeUnit.SECONDS));
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    /**
+     * A stopped timer does not accept timeouts.
+     */
+    @Test
+    public void stop() {
+        timer.stop();
+        try {
+            timer.schedule(() -> {}, 10);
+            fail("The stopped timer accepted a timeout.");
+        } catch(RejectedExecutionException expected) {}
+    }
+
+    /**
+     * Tasks are killed by the timer once their timeout has passed.
+     * @throws Exception If the script can not be evaluated.
+     */
+    @Test
+    public void taskTimeout()
+            throws Exception {
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD).build();
+        ZeusTask task = runtime.evaluate(runtime.compile(new String[] {"while true", "end"}), 0, 100, null);
+        ZeusResult result = task.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(ZeusResult.Outcome.KILLED, result.getOutcome());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(result.getElapsedTime()) >= 100);
+        runtime.shutdown();
+    }
+
+}
@@ -0,0 +1,332 @@
+package de.arraying.zeus.runtime;
+
+import de.arraying.zeus.backend.ZeusException;
+import de.arraying.zeus.backend.annotations.ZeusMethod;
+import de.arraying.zeus.standard.component.components.control.SleepComponent;
+import de.arraying.zeus.standard.method.methods.ArithmeticMethods;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ZeusRuntimeBuilderTest {
+
+    /**
+     * Tasks evaluated by a worker pool run on daemon threads.
+     * @throws Exception If the evaluation fails.
+     */
+    @Test
+    public void workerPool()
+            throws Exception {
+        ThreadRecorder recorder = new ThreadRecorder();
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(recorder)
+                .withWorkerPool(1, 0)
+                .build();
+        assertEquals(ZeusResult.Outcome.COMPLETED, evaluate(runtime, "record()").getOutcome());
+        assertEquals("Zeus Worker", recorder.thread.getName());
+        assertTrue(recorder.thread.isDaemon());
+        runtime.shutdown();
+    }
+
+    /**
+     * Tasks are handed to the provided executor, should it reject one, evaluating the task fails.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void executor()
+            throws Exception {
+        ThreadRecorder recorder = new ThreadRecorder();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "Custom Executor"));
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(recorder)
+                .withExecutor(executor)
+                .build();
+        assertEquals(ZeusResult.Outcome.COMPLETED, evaluate(runtime, "record()").getOutcome());
+        assertEquals("Custom Executor", recorder.thread.getName());
+        runtime.shutdown();
+        assertFalse(executor.isShutdown());
+        executor.shutdown();
+        ZeusRuntime rejecting = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withExecutor(runnable -> {
+                    throw new RejectedExecutionException();
+                })
+                .build();
+        assertEvaluationFails(rejecting, "The runtime is saturated, the task could not be evaluated.");
+        rejecting.shutdown();
+    }
+
+    /**
+     * Once all workers are busy and the queue is full, evaluating another task fails right away.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void workerPoolSaturation()
+            throws Exception {
+        Gate gate = new Gate();
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(gate)
+                .withWorkerPool(1, 0)
+                .build();
+        try {
+            ZeusTask blocked = runtime.evaluate(runtime.compile(new String[] {"pass()"}), null);
+            assertTrue(gate.entered.await(10, TimeUnit.SECONDS));
+            assertEvaluationFails(runtime, "The runtime is saturated, the task could not be evaluated.");
+            gate.open.countDown();
+            assertEquals(ZeusResult.Outcome.COMPLETED, blocked.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS).getOutcome());
+        } finally {
+            gate.open.countDown();
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Virtual threads are used on Java 21 or newer, older runtimes reject the option.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void virtualThreads()
+            throws Exception {
+        Method isVirtual;
+        try {
+            isVirtual = Thread.class.getMethod("isVirtual");
+        } catch(NoSuchMethodException exception) {
+            try {
+                new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD).withVirtualThreads();
+                fail("Virtual threads were enabled on a runtime that does not support them.");
+            } catch(ZeusException expected) {
+                assertEquals("Virtual threads are not supported by the Java runtime.", expected.getMessage());
+            }
+            return;
+        }
+        ThreadRecorder recorder = new ThreadRecorder();
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(recorder)
+                .withVirtualThreads()
+                .build();
+        assertEquals(ZeusResult.Outcome.COMPLETED, evaluate(runtime, "record()").getOutcome());
+        assertEquals(Boolean.TRUE, isVirtual.invoke(recorder.thread));
+        runtime.shutdown();
+    }
+
+    /**
+     * Once the maximum amount of tasks is reached, evaluating another task waits for one to finish and fails should none finish in time.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void maximumTasks()
+            throws Exception {
+        Gate gate = new Gate();
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(gate)
+                .withMaximumTasks(1, 50)
+                .build();
+        try {
+            ZeusTask blocked = runtime.evaluate(runtime.compile(new String[] {"pass()"}), null);
+            assertTrue(gate.entered.await(10, TimeUnit.SECONDS));
+            assertEvaluationFails(runtime, "The maximum amount of tasks are being evaluated, the task could not be admitted.");
+            gate.open.countDown();
+            blocked.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            assertEquals(ZeusResult.Outcome.COMPLETED, evaluate(runtime, "mut x = 1").getOutcome());
+        } finally {
+            gate.open.countDown();
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Sleeping tasks are suspended, so they do not occupy the only worker while they sleep.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void suspendingSleep()
+            throws Exception {
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withWorkerPool(1, 10)
+                .withSuspendingSleep(true)
+                .build();
+        ZeusScript script = runtime.compile(new String[] {"mut x = 1", "sleep 500L", "x = incr(x)"});
+        long start = System.nanoTime();
+        List<ZeusTask> tasks = new ArrayList<>();
+        for(int i = 0; i < 4; i++) {
+            tasks.add(runtime.evaluate(script, null));
+        }
+        for(ZeusTask task : tasks) {
+            ZeusResult result = task.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            assertEquals(ZeusResult.Outcome.COMPLETED, result.getOutcome());
+            assertEquals(2, result.getVariables().get("x").value());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+        runtime.shutdown();
+    }
+
+    /**
+     * A short task is not held up by a task that never ends, even though they share the only scheduler thread.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void scheduler()
+            throws Exception {
+        ThreadRecorder recorder = new ThreadRecorder();
+        ZeusRuntime runtime = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                .withMethods(recorder)
+                .withScheduler(1, 10)
+                .withCompilation(false)
+                .build();
+        ZeusTask endless = runtime.evaluate(runtime.compile(new String[] {"mut x = 0", "while true", "x = incr(x)", "end"}), null);
+        ZeusResult result = evaluate(runtime, "record()");
+        assertEquals(ZeusResult.Outcome.COMPLETED, result.getOutcome());
+        assertEquals("Zeus Scheduler", recorder.thread.getName());
+        assertTrue(recorder.thread.isDaemon());
+        assertFalse(endless.getCompletion().toCompletableFuture().isDone());
+        endless.kill();
+        assertEquals(ZeusResult.Outcome.KILLED, endless.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS).getOutcome());
+        runtime.shutdown();
+    }
+
+    /**
+     * Invocations of unregistered methods are rejected when the script is compiled,
+     * lines no registered component claims fail when they are evaluated.
+     * @throws Exception If a script can not be evaluated.
+     */
+    @Test
+    public void unregistering()
+            throws Exception {
+        for(boolean compilation : new boolean[] {false, true}) {
+            ZeusRuntime withoutContainer = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withoutMethodContainer(ArithmeticMethods.class)
+                    .withCompilation(compilation)
+                    .build();
+            assertCompileError(withoutContainer, 2, "A method with the identifier \"add\" and 2 parameter(s) does not exist.",
+                    "mut x = 1", "mut y = add(x, 1)");
+            withoutContainer.shutdown();
+            ZeusRuntime withoutMethod = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withoutMethod(ArithmeticMethods.class.getMethod("incr", Integer.class))
+                    .withCompilation(compilation)
+                    .build();
+            assertCompileError(withoutMethod, 1, "A method with the identifier \"incr\" and 1 parameter(s) does not exist.",
+                    "mut x = incr(1)");
+            assertEquals(0, withoutMethod.evaluateSync(withoutMethod.compile(new String[] {"mut x = decr(1)"})).getVariables().get("x").value());
+            withoutMethod.shutdown();
+            ZeusRuntime withoutComponent = new ZeusRuntimeBuilder(ZeusRuntimeBuilder.Configuration.STANDARD)
+                    .withoutComponent(SleepComponent.class)
+                    .withCompilation(compilation)
+                    .build();
+            ZeusResult result = withoutComponent.evaluateSync(withoutComponent.compile(new String[] {"mut x = 1", "sleep 1L"}));
+            assertEquals(ZeusResult.Outcome.ERROR, result.getOutcome());
+            assertEquals(2, result.getError().getLineNumber());
+            withoutComponent.shutdown();
+        }
+    }
+
+    /**
+     * Asserts that compiling a script fails.
+     * @param runtime The runtime.
+     * @param lineNumber The expected line number.
+     * @param message The expected message.
+     * @param code The lines of the script.
+     */
+    private static void assertCompileError(ZeusRuntime runtime, int lineNumber, String message, String... code) {
+        try {
+            runtime.compile(code);
+            fail("Compiled: " + String.join(" | ", code));
+        } catch(ZeusException exception) {
+            assertEquals(message, exception.getMessage());
+            assertEquals(lineNumber, exception.getLineNumber());
+        }
+    }
+
+    /**
+     * Asserts that evaluating a script fails.
+     * @param runtime The runtime.
+     * @param message The expected message.
+     * @throws ZeusException If the script can not be compiled.
+     */
+    private static void assertEvaluationFails(ZeusRuntime runtime, String message)
+            throws ZeusException {
+        ZeusScript script = runtime.compile(new String[] {"mut x = 1"});
+        try {
+            runtime.evaluate(script, null);
+            fail("The task was evaluated.");
+        } catch(ZeusException exception) {
+            assertEquals(message, exception.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates a script asynchronously and waits for its result.
+     * @param runtime The runtime.
+     * @param code The lines of the script.
+     * @return The result.
+     * @throws Exception If the evaluation fails.
+     */
+    private static ZeusResult evaluate(ZeusRuntime runtime, String... code)
+            throws Exception {
+        return runtime.evaluate(runtime.compile(code), null).getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A method that blocks until the gate is opened.
+     */
+    public static class Gate {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch open = new CountDownLatch(1);
+
+        /**
+         * Waits for the gate to be opened.
+         * @throws InterruptedException If the thread is interrupted.
+         */
+        @ZeusMethod
+        public void pass()
+                throws InterruptedException {
+            entered.countDown();
+            open.await();
+        }
+
+    }
+
+    /**
+     * A method that records the thread it is invoked on.
+     */
+    public static class ThreadRecorder {
+
+        private volatile Thread thread;
+
+        /**
+         * Records the current thread.
+         */
+        @ZeusMethod
+        public void record() {
+            thread = Thread.currentThread();
+        }
+
+    }
+
+}
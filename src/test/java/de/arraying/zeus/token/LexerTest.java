@@ -0,0 +1,146 @@
+package de.arraying.zeus.token;
+
+import de.arraying.zeus.backend.ZeusException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Copyright 2017 Arraying
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class LexerTest {
+
+    /**
+     * Lines that cover the edge cases of every token type.
+     */
+    private static final String[] EDGE_CASES = {
+            "",
+            "   ",
+            "\t mut x = 1 \t",
+            "const s = \"Hello, World!\"",
+            "const s = \"\"",
+            "const s = \"escaped \\\" quote\"",
+            "const s = \"back\\\\slash\"",
+            "const s = \"\u00fcn\u00efc\u00f6d\u00e9 \u2013 \u65e5\u672c\u8a9e \ud83d\ude42\"",
+            "const s = \"// not a comment\"",
+            "const s = \"a\" \"b\"",
+            "const s = \"unterminated",
+            "mut i = -1",
+            "mut i = -0",
+            "mut l = -12L",
+            "mut l = 12l",
+            "mut d = -1.5",
+            "mut d = .5",
+            "mut d = -.5",
+            "mut d = 1.",
+            "mut i = 1-2",
+            "mut i = --1",
+            "x=add(x,-1)",
+            "x=add(1,2)",
+            "f(g(h(1),\"x\"),true)",
+            "truex = falsey",
+            "true_var = 1",
+            "x1=1a",
+            "1x",
+            "_a = __b",
+            "x = a.b",
+            "x = 1 + 2",
+            "x = #",
+            "// a comment",
+            "   // an indented comment",
+            "//",
+            "x = 1 // a trailing comment",
+            "x = \"a\" // a trailing comment",
+            "for i = 1, 10",
+            "elif and(true, not(false))",
+            "end",
+            "mut \u00fc = 1"
+    };
+
+    /**
+     * Both tokenizers produce the same tokens for every line of the example script.
+     * @throws IOException If the example script can not be read.
+     */
+    @Test
+    public void exampleScript()
+            throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get("example.zeus"), StandardCharsets.UTF_8);
+        assertTrue(lines.size() > 0);
+        for(int i = 0; i < lines.size(); i++) {
+            assertSameTokens(lines.get(i), i + 1);
+        }
+    }
+
+    /**
+     * Both tokenizers produce the same tokens, or the same error, for every edge case.
+     */
+    @Test
+    public void edgeCases() {
+        for(int i = 0; i < EDGE_CASES.length; i++) {
+            assertSameTokens(EDGE_CASES[i], i + 1);
+        }
+    }
+
+    /**
+     * Asserts that the lexer produces the same tokens as the regular expression based tokenizer.
+     * @param line The line.
+     * @param lineNumber The line number.
+     */
+    private static void assertSameTokens(String line, int lineNumber) {
+        Token[] expected = null;
+        ZeusException expectedError = null;
+        try {
+            expected = new Tokenizer(line, lineNumber).getTokens();
+        } catch(ZeusException exception) {
+            expectedError = exception;
+        }
+        Token[] actual;
+        try {
+            actual = new Lexer(line, lineNumber).getTokens();
+        } catch(ZeusException exception) {
+            assertNotNull("Only the lexer failed on: " + line, expectedError);
+            assertEquals(line, expectedError.getMessage(), exception.getMessage());
+            assertEquals(line, expectedError.getLineNumber(), exception.getLineNumber());
+            return;
+        }
+        if(expectedError != null) {
+            fail("Only the tokenizer failed on: " + line);
+        }
+        assertEquals(line, describe(expected), describe(actual));
+    }
+
+    /**
+     * Describes tokens, so that differences show up in assertion messages.
+     * @param tokens An array of tokens.
+     * @return The types and contents of the tokens.
+     */
+    private static String describe(Token[] tokens) {
+        StringBuilder builder = new StringBuilder();
+        for(Token token : tokens) {
+            builder.append(token.getType()).append('[').append(token.getToken()).append("] ");
+        }
+        return builder.toString();
+    }
+
+}